@@ -74,4 +74,13 @@ public interface Configuration extends Config {
     @Key("screenshots.enabled")
     @DefaultValue("true")
     boolean screenshotsEnabled();
+
+    // Traffic recording - replay the log as load with TrafficReplayer
+    @Key("traffic.record.enabled")
+    @DefaultValue("false")
+    boolean trafficRecordEnabled();
+
+    @Key("traffic.record.file")
+    @DefaultValue("target/traffic/functional-tests.traffic")
+    String trafficRecordFile();
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package org.mlesyk.automation.data;
+
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+// Pre-generated test data served from a lock-free ring buffer.
+// A background thread fills the pool before the run and tops it up whenever it drops below
+// the refill threshold, so Faker and map building stay off the request threads.
+// When the pool runs dry next() falls back to generating inline and records a starvation.
+public class DataPool<T> implements AutoCloseable {
+
+    private final String name;
+    private final Supplier<T> generator;
+    private final RingBuffer<T> buffer;
+    private final int refillThreshold;
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder starvations = new LongAdder();
+    private final AtomicLong lowestLevel = new AtomicLong(Long.MAX_VALUE);
+
+    private volatile boolean running;
+    private volatile Thread refiller;
+
+    public DataPool(String name, Supplier<T> generator, int capacity) {
+        this(name, generator, capacity, capacity / 2);
+    }
+
+    public DataPool(String name, Supplier<T> generator, int capacity, int refillThreshold) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be >= 1, got " + capacity);
+        }
+        this.name = name;
+        this.generator = generator;
+        this.buffer = new RingBuffer<>(capacity);
+        this.refillThreshold = Math.max(1, Math.min(refillThreshold, buffer.capacity()));
+    }
+
+    public static DataPool<Map<String, Object>> users(int capacity) {
+        return new DataPool<>("users", TestDataUtil::generateUserData, capacity);
+    }
+
+    public static DataPool<Map<String, Object>> posts(int userId, int capacity) {
+        return new DataPool<>("posts", () -> TestDataUtil.generatePostData(userId), capacity);
+    }
+
+    public static DataPool<Map<String, Object>> comments(int postId, int capacity) {
+        return new DataPool<>("comments", () -> TestDataUtil.generateCommentData(postId), capacity);
+    }
+
+    // Starts the background refiller; the pool begins filling immediately
+    public synchronized DataPool<T> start() {
+        if (running) {
+            return this;
+        }
+        running = true;
+        refiller = new Thread(this::refillLoop, "data-pool-" + name);
+        refiller.setDaemon(true);
+        refiller.start();
+        LoggerUtil.info("Data pool '{}' started with capacity {}", name, buffer.capacity());
+        return this;
+    }
+
+    // Blocks until the pool is full or the timeout elapses; call before the measured window
+    public boolean awaitFilled(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (buffer.size() < buffer.capacity()) {
+            if (System.nanoTime() >= deadline) {
+                LoggerUtil.warn("Data pool '{}' not filled in time: {}/{}", name, buffer.size(), buffer.capacity());
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        LoggerUtil.info("Data pool '{}' filled with {} records", name, buffer.size());
+        return true;
+    }
+
+    // Next record, generated inline if the pool is empty
+    public T next() {
+        T item = poll();
+        if (item == null) {
+            starvations.increment();
+            generated.increment();
+            served.increment();
+            return generator.get();
+        }
+        return item;
+    }
+
+    // Next record or null if the pool is empty; never generates on the caller thread
+    public T poll() {
+        T item = buffer.poll();
+        if (item == null) {
+            wakeRefiller();
+            return null;
+        }
+        served.increment();
+
+        int level = buffer.size();
+        lowestLevel.accumulateAndGet(level, Math::min);
+        if (level < refillThreshold) {
+            wakeRefiller();
+        }
+        return item;
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    public DataPoolStats getStats() {
+        long lowest = lowestLevel.get();
+        return DataPoolStats.builder()
+                .name(name)
+                .capacity(buffer.capacity())
+                .currentSize(buffer.size())
+                .generated(generated.sum())
+                .served(served.sum())
+                .starvations(starvations.sum())
+                .lowestLevel(lowest == Long.MAX_VALUE ? buffer.size() : lowest)
+                .build();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        Thread thread = refiller;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            refiller = null;
+        }
+
+        DataPoolStats stats = getStats();
+        LoggerUtil.info("Data pool '{}' closed - served: {}, generated: {}, starvations: {}, lowest level: {}",
+                name, stats.getServed(), stats.getGenerated(), stats.getStarvations(), stats.getLowestLevel());
+    }
+
+    private void refillLoop() {
+        T pending = null;
+        try {
+            while (running) {
+                if (pending == null) {
+                    pending = generator.get();
+                    generated.increment();
+                }
+                if (buffer.offer(pending)) {
+                    pending = null;
+                    continue;
+                }
+                // Full - sleep until consumers drain below the threshold (poll() unparks us)
+                while (running && buffer.size() >= refillThreshold) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                }
+            }
+        } catch (RuntimeException e) {
+            running = false;
+            LoggerUtil.error("Data pool '{}' generator failed, refilling stopped", name, e);
+        }
+    }
+
+    private void wakeRefiller() {
+        Thread thread = refiller;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Data
+    @Builder
+    public static class DataPoolStats {
+        private String name;
+        private int capacity;
+        private int currentSize;
+        private long generated;
+        private long served;
+        private long starvations; // next() calls that found the pool empty
+        private long lowestLevel;
+
+        public double getStarvationRate() {
+            if (served == 0) return 0.0;
+            return (double) starvations / served * 100;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.mlesyk.automation.data;
+
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Lazy test data streams: records are generated on demand, so a million-user volume run
+// keeps only the records currently in flight on the heap.
+public class DataStreams {
+
+    // Seeded streams produce the same records as the seeded TestDataUtil generators
+    public static Stream<User> users(long count, long seed) {
+        return LongStream.range(0, count).mapToObj(i -> TestDataUtil.generateUser(seed, i));
+    }
+
+    public static Stream<Post> posts(int userId, long count, long seed) {
+        return LongStream.range(0, count).mapToObj(i -> TestDataUtil.generatePost(userId, seed, i));
+    }
+
+    public static Stream<Comment> comments(int postId, long count, long seed) {
+        return LongStream.range(0, count).mapToObj(i -> TestDataUtil.generateComment(postId, seed, i));
+    }
+
+    // Unbounded, unseeded streams - combine with limit()
+    public static Stream<User> users() {
+        return Stream.generate(TestDataUtil::generateUser);
+    }
+
+    public static Stream<Post> posts(int userId) {
+        return Stream.generate(() -> TestDataUtil.generatePost(userId));
+    }
+
+    // Groups a stream into lists of at most batchSize elements, still lazily
+    public static <T> Stream<List<T>> batched(Stream<T> source, int batchSize) {
+        Iterator<List<T>> batches = batched(source.iterator(), batchSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(source::close);
+    }
+
+    public static <T> Iterator<List<T>> batched(Iterator<T> source, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be >= 1, got " + batchSize);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                while (batch.size() < batchSize && source.hasNext()) {
+                    batch.add(source.next());
+                }
+                return batch;
+            }
+        };
+    }
+
+    // Pulls records from the stream on the calling thread and runs the action on a pool of
+    // `concurrency` workers. At most 2 x concurrency records are generated ahead of the
+    // workers: the producer blocks on a semaphore until a worker finishes (backpressure).
+    public static <T> FeedResult feedConcurrently(Stream<T> source, int concurrency, Consumer<? super T> action) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be >= 1, got " + concurrency);
+        }
+
+        Semaphore inFlight = new Semaphore(concurrency * 2);
+        LongAdder submitted = new LongAdder();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long startTime = System.currentTimeMillis();
+        try (source) {
+            Iterator<T> records = source.iterator();
+            while (records.hasNext()) {
+                inFlight.acquire();
+                T record = records.next();
+                submitted.increment();
+                executor.execute(() -> {
+                    try {
+                        action.accept(record);
+                        succeeded.increment();
+                    } catch (Throwable e) {
+                        failed.increment();
+                        firstError.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            LoggerUtil.warn("Concurrent feed interrupted after {} records", submitted.sum());
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        FeedResult result = FeedResult.builder()
+                .submitted(submitted.sum())
+                .succeeded(succeeded.sum())
+                .failed(failed.sum())
+                .elapsedMillis(elapsed)
+                .firstError(firstError.get() != null ? String.valueOf(firstError.get().getMessage()) : null)
+                .build();
+
+        LoggerUtil.info("Fed {} records with concurrency {} in {}ms - succeeded: {}, failed: {}",
+                result.getSubmitted(), concurrency, elapsed, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    @Data
+    @Builder
+    public static class FeedResult {
+        private long submitted;
+        private long succeeded;
+        private long failed;
+        private long elapsedMillis;
+        private String firstError;
+
+        public double getThroughput() {
+            if (elapsedMillis == 0) return 0.0;
+            return submitted * 1000.0 / elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package org.mlesyk.automation.data;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+// Pre-built request bodies stored in a length-prefixed binary file and read through a
+// memory-mapped FileChannel, so large corpora live in the page cache instead of the heap.
+//
+// File layout (big endian):
+//   header  : magic "PCOR" (int), version (int), record count (int), index offset (long)
+//   records : [length (int)][payload bytes] ...
+//   index   : offset of each record's length prefix (long) ...
+//
+// Records are served as read-only ByteBuffer views over the mapping (no copy). The whole
+// file is mapped at once, which limits a corpus to 2GB.
+public class PayloadCorpus implements AutoCloseable {
+
+    private static final int MAGIC = 0x50434F52; // "PCOR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final int recordCount;
+    private final int indexOffset;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private PayloadCorpus(Path path, FileChannel channel, MappedByteBuffer mapped, int recordCount, int indexOffset) {
+        this.path = path;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.recordCount = recordCount;
+        this.indexOffset = indexOffset;
+    }
+
+    public static PayloadCorpus open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Corpus larger than 2GB is not supported: " + path);
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            mapped.order(ByteOrder.BIG_ENDIAN);
+            if (fileSize < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a payload corpus file: " + path);
+            }
+            if (mapped.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Unsupported corpus version " + mapped.getInt(4) + ": " + path);
+            }
+
+            int recordCount = mapped.getInt(8);
+            int indexOffset = (int) mapped.getLong(12);
+
+            LoggerUtil.info("Opened payload corpus {} - {} records, {} bytes mapped", path, recordCount, fileSize);
+            return new PayloadCorpus(path, channel, mapped, recordCount, indexOffset);
+
+        } catch (IOException e) {
+            closeQuietly(channel, path);
+            LoggerUtil.error("Failed to open payload corpus: {}", path, e);
+            throw new UncheckedIOException("Payload corpus open failed", e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel, path);
+            throw e;
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Read-only view of record i backed by the mapping
+    public ByteBuffer get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " out of " + recordCount);
+        }
+        int recordOffset = (int) mapped.getLong(indexOffset + index * 8);
+        int length = mapped.getInt(recordOffset);
+        return mapped.slice(recordOffset + 4, length).asReadOnlyBuffer();
+    }
+
+    // Copy of record i, for APIs that need a byte[]
+    public byte[] getBytes(int index) {
+        ByteBuffer record = get(index);
+        byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        return bytes;
+    }
+
+    // Sequential access shared by all threads, wrapping around at the end
+    public ByteBuffer next() {
+        requireRecords();
+        return get((int) (cursor.getAndIncrement() % recordCount));
+    }
+
+    public ByteBuffer random() {
+        requireRecords();
+        return get(ThreadLocalRandom.current().nextInt(recordCount));
+    }
+
+    private void requireRecords() {
+        if (recordCount == 0) {
+            throw new IllegalStateException("Payload corpus is empty: " + path);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(channel, path);
+    }
+
+    private static void closeQuietly(FileChannel channel, Path path) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to close payload corpus {}: {}", path, e.getMessage());
+        }
+    }
+
+    // Corpus generation - run once, outside of the measured window
+    public static Writer writer(Path path) {
+        return new Writer(path);
+    }
+
+    public static Path generate(Path path, int count, LongFunction<?> recordFactory) {
+        long startTime = System.currentTimeMillis();
+        try (Writer writer = writer(path)) {
+            for (int i = 0; i < count; i++) {
+                writer.append(TestDataUtil.toJsonBytes(recordFactory.apply(i)));
+            }
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to generate payload corpus: {}", path, e);
+            throw new UncheckedIOException("Payload corpus generation failed", e);
+        }
+        LoggerUtil.info("Generated payload corpus {} with {} records in {}ms",
+                path, count, System.currentTimeMillis() - startTime);
+        return path;
+    }
+
+    // Seeded, so the same seed always yields the same corpus
+    public static Path generateUsers(Path path, int count, long seed) {
+        return generate(path, count, i -> TestDataUtil.generateUser(seed, i));
+    }
+
+    public static Path generatePosts(Path path, int userId, int count, long seed) {
+        return generate(path, count, i -> TestDataUtil.generatePost(userId, seed, i));
+    }
+
+    public static Path generateComments(Path path, int postId, int count, long seed) {
+        return generate(path, count, i -> TestDataUtil.generateComment(postId, seed, i));
+    }
+
+    public static class Writer implements AutoCloseable {
+
+        private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long[] offsets = new long[1024];
+        private int count;
+        private long position = HEADER_SIZE;
+        private boolean failed;
+
+        private Writer(Path path) {
+            this.path = path;
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                channel.position(HEADER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create payload corpus: " + path, e);
+            }
+        }
+
+        // After a failed append the records and index no longer match; close() then leaves the
+        // file without a header, so open() rejects it instead of serving a corrupt corpus
+        public void append(byte[] payload) throws IOException {
+            if (failed) {
+                throw new IllegalStateException("Payload corpus writer failed earlier: " + path);
+            }
+            try {
+                if (position + 4 + payload.length > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Payload corpus would exceed 2GB: " + path);
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+
+                ensureSpace(4);
+                writeBuffer.putInt(payload.length);
+                int written = 0;
+                while (written < payload.length) {
+                    ensureSpace(1);
+                    int chunk = Math.min(writeBuffer.remaining(), payload.length - written);
+                    writeBuffer.put(payload, written, chunk);
+                    written += chunk;
+                }
+                position += 4 + payload.length;
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (failed) {
+                    LoggerUtil.warn("Payload corpus {} left without a header after a failed append", path);
+                    return;
+                }
+                long indexOffset = position;
+                if (indexOffset + (long) count * 8 > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Payload corpus index would exceed 2GB: " + path);
+                }
+                for (int i = 0; i < count; i++) {
+                    ensureSpace(8);
+                    writeBuffer.putLong(offsets[i]);
+                }
+                flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(VERSION).putInt(count).putLong(indexOffset).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void ensureSpace(int bytes) throws IOException {
+            if (writeBuffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            writeBuffer.flip();
+            while (writeBuffer.hasRemaining()) {
+                channel.write(writeBuffer);
+            }
+            writeBuffer.clear();
+        }
+    }
+}
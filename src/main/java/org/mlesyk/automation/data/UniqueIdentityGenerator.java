@@ -0,0 +1,144 @@
+package org.mlesyk.automation.data;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Collision-free identities for seeding real environments at volume. Every token combines
+//   run id    - time-based, unique per test run (override with -Ddata.run.id)
+//   node id   - distinguishes JVMs sharing a run (override with -Ddata.node.id)
+//   worker id - assigned once per thread
+//   sequence  - per-thread counter
+// Workers never share a counter, so generation is lock-free and contention-free: one
+// ThreadLocal lookup, one increment and a short string build per identity.
+public class UniqueIdentityGenerator {
+
+    private static final String DEFAULT_EMAIL_DOMAIN = "example.com";
+    private static final int MAX_BASE_LENGTH = 20;
+
+    private static final UniqueIdentityGenerator DEFAULT = new UniqueIdentityGenerator(
+            System.getProperty("data.run.id", generateRunId()),
+            Integer.getInteger("data.node.id", 0));
+
+    private final String runId;
+    private final String nodeId;
+    private final String emailDomain;
+    private final AtomicInteger nextWorkerId = new AtomicInteger();
+    private final ThreadLocal<Worker> worker = ThreadLocal.withInitial(this::newWorker);
+
+    public UniqueIdentityGenerator(String runId, int nodeId) {
+        this(runId, nodeId, DEFAULT_EMAIL_DOMAIN);
+    }
+
+    public UniqueIdentityGenerator(String runId, int nodeId, String emailDomain) {
+        if (runId == null || !runId.matches("[a-z0-9]+")) {
+            throw new IllegalArgumentException("Run id must be lowercase alphanumeric, got: " + runId);
+        }
+        if (nodeId < 0) {
+            throw new IllegalArgumentException("Node id must be >= 0, got " + nodeId);
+        }
+        this.runId = runId;
+        this.nodeId = Integer.toString(nodeId, 36);
+        this.emailDomain = emailDomain;
+        LoggerUtil.debug("Unique identity generator created - run: {}, node: {}", runId, nodeId);
+    }
+
+    public static UniqueIdentityGenerator getDefault() {
+        return DEFAULT;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    // Bare token, e.g. "lq3k9x2a7f-0-3-1z"
+    public String nextId() {
+        return appendToken(new StringBuilder(32)).toString();
+    }
+
+    // Readable username: the base is kept, the token makes it unique, e.g. "jane.doe_lq3k9x2a7f-0-3-1z"
+    public String username(String base) {
+        StringBuilder username = new StringBuilder(48);
+        appendBase(username, base, "user").append('_');
+        return appendToken(username).toString();
+    }
+
+    // Plus-addressed email, e.g. "jane.doe+lq3k9x2a7f-0-3-1z@example.com"
+    public String email(String base) {
+        StringBuilder email = new StringBuilder(64);
+        appendBase(email, base, "user").append('+');
+        return appendToken(email).append('@').append(emailDomain).toString();
+    }
+
+    // Username and email that share one token, for records that need both
+    public Identity next(String base) {
+        String token = nextId();
+        StringBuilder cleanBase = appendBase(new StringBuilder(MAX_BASE_LENGTH), base, "user");
+        return new Identity(token, cleanBase + "_" + token, cleanBase + "+" + token + "@" + emailDomain);
+    }
+
+    private StringBuilder appendToken(StringBuilder target) {
+        Worker current = worker.get();
+        return target.append(runId).append('-')
+                .append(nodeId).append('-')
+                .append(current.id).append('-')
+                .append(Long.toString(current.sequence++, 36));
+    }
+
+    // Keeps only characters that are valid in both usernames and email local parts,
+    // and truncates long Faker values so identities stay readable
+    private static StringBuilder appendBase(StringBuilder target, String base, String fallback) {
+        int start = target.length();
+        if (base != null) {
+            for (int i = 0; i < base.length() && target.length() - start < MAX_BASE_LENGTH; i++) {
+                char c = Character.toLowerCase(base.charAt(i));
+                if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '_') {
+                    target.append(c);
+                }
+            }
+        }
+        if (target.length() == start) {
+            target.append(fallback);
+        }
+        return target;
+    }
+
+    private Worker newWorker() {
+        return new Worker(Integer.toString(nextWorkerId.getAndIncrement(), 36));
+    }
+
+    // Millisecond timestamp plus two random base36 chars for runs started in the same millisecond
+    private static String generateRunId() {
+        int suffix = ThreadLocalRandom.current().nextInt(36 * 36);
+        return Long.toString(System.currentTimeMillis(), 36)
+                + String.format(Locale.ROOT, "%2s", Integer.toString(suffix, 36)).replace(' ', '0');
+    }
+
+    // Thread-confined, so the sequence needs no synchronization
+    private static class Worker {
+        private final String id;
+        private long sequence;
+
+        private Worker(String id) {
+            this.id = id;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Identity {
+        private final String token;
+        private final String username;
+        private final String email;
+
+        @Override
+        public String toString() {
+            return username + " <" + email + ">";
+        }
+    }
+}
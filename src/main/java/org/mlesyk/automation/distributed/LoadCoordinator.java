@@ -0,0 +1,338 @@
+package org.mlesyk.automation.distributed;
+
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.data.UniqueIdentityGenerator;
+import org.mlesyk.automation.performance.LatencyHistogram;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Drives one load test from several worker JVMs. The coordinator listens on a loopback port,
+// starts the workers (LoadWorker) as child JVMs with the current classpath, waits until all
+// of them are connected and sends every worker the same start instant, so load begins in
+// the same millisecond everywhere. Workers stream cumulative snapshots back; the coordinator
+// merges the latest snapshot of each worker into a live view every interval and into the
+// final result once all workers are done.
+//
+//   PerformanceTestResult result = new LoadCoordinator(workload).workers(4).run("distributed_load");
+public class LoadCoordinator {
+
+    private final Workload workload;
+    private int workers = 2;
+    private Duration snapshotInterval = Duration.ofSeconds(1);
+    private Duration startDelay = Duration.ofSeconds(2);
+    private Duration connectTimeout = Duration.ofSeconds(60);
+    private Duration maxDuration = Duration.ofHours(1);
+    private Path logDirectory = Paths.get("target", "distributed");
+
+    public LoadCoordinator(Workload workload) {
+        this.workload = workload;
+    }
+
+    public LoadCoordinator workers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be >= 1, got " + workers);
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    public LoadCoordinator snapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+        return this;
+    }
+
+    // Time between the start signal and the start of the load, long enough for every worker to receive it
+    public LoadCoordinator startDelay(Duration startDelay) {
+        this.startDelay = startDelay;
+        return this;
+    }
+
+    public LoadCoordinator connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    // Upper bound for the run after the start; workers still running then are stopped
+    public LoadCoordinator maxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    // Output of the worker JVMs, one log file per worker
+    public LoadCoordinator logDirectory(Path logDirectory) {
+        this.logDirectory = logDirectory;
+        return this;
+    }
+
+    public PerformanceTestResult run(String testName) {
+        LoggerUtil.info("Starting distributed test {} - {} workers, {} engine", testName, workers, workload.getEngine());
+
+        LocalDateTime startTime = LocalDateTime.now();
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        ExecutorService readers = Executors.newFixedThreadPool(workers);
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        Map<Integer, WorkerSnapshot> latest = new ConcurrentHashMap<>();
+        List<LiveSample> liveSamples = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        try (ServerSocket server = new ServerSocket(0, workers, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) connectTimeout.toMillis());
+            Files.createDirectories(logDirectory);
+            for (int i = 0; i < workers; i++) {
+                processes.add(startWorker(testName, server.getLocalPort(), i));
+            }
+
+            List<DataInputStream> inputs = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                Socket socket = accept(server, i);
+                sockets.add(socket);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                if (in.readByte() != Protocol.HELLO) {
+                    throw new IllegalStateException("Unexpected message from worker instead of HELLO");
+                }
+                LoggerUtil.info("Worker {} connected", in.readInt());
+                inputs.add(in);
+            }
+
+            // Synchronized start: every worker gets the same wall-clock instant
+            long startAt = System.currentTimeMillis() + startDelay.toMillis();
+            for (int index = 0; index < workers; index++) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(sockets.get(index).getOutputStream()));
+                out.writeByte(Protocol.START);
+                out.writeLong(startAt);
+                out.writeLong(snapshotInterval.toMillis());
+                out.writeInt(index);
+                out.writeInt(workers);
+                workload.writeTo(out);
+                out.flush();
+            }
+
+            CountDownLatch finished = new CountDownLatch(workers);
+            for (DataInputStream in : inputs) {
+                readers.execute(() -> readSnapshots(in, latest, failure, finished));
+            }
+            // Sampled half an interval after the workers report, so every sample sees fresh snapshots
+            long intervalMillis = snapshotInterval.toMillis();
+            ticker.scheduleAtFixedRate(() -> liveSamples.add(sample(latest, startAt, liveSamples)),
+                    startDelay.toMillis() + intervalMillis + intervalMillis / 2, intervalMillis, TimeUnit.MILLISECONDS);
+
+            // A failed worker ends the run right away instead of waiting for the others
+            long deadline = startAt + maxDuration.toMillis();
+            while (!finished.await(100, TimeUnit.MILLISECONDS) && failure.get() == null) {
+                if (System.currentTimeMillis() > deadline) {
+                    failure.compareAndSet(null, "Workers still running after " + maxDuration.toSeconds() + "s");
+                }
+            }
+            ticker.shutdownNow();
+
+            if (failure.get() != null) {
+                throw new IllegalStateException(failure.get());
+            }
+            return buildResult(testName, startTime, latest, new ArrayList<>(liveSamples));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Distributed test interrupted", e);
+        } catch (Exception e) {
+            LoggerUtil.error("Distributed test failed: {}, worker logs in {}", testName, logDirectory, e);
+            throw new RuntimeException("Distributed test execution failed", e);
+        } finally {
+            ticker.shutdownNow();
+            readers.shutdownNow();
+            sockets.forEach(LoadCoordinator::closeQuietly);
+            stopWorkers(processes, failure.get() == null);
+        }
+    }
+
+    // Workers share the coordinator's test data run and take the node ids after its own, so no
+    // two JVMs of the test generate the same identities (see UniqueIdentityGenerator)
+    private Process startWorker(String testName, int port, int workerId) throws IOException {
+        List<String> command = List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Ddata.run.id=" + UniqueIdentityGenerator.getDefault().getRunId(),
+                "-Ddata.node.id=" + (Integer.getInteger("data.node.id", 0) + 1 + workerId),
+                LoadWorker.class.getName(),
+                InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(port), String.valueOf(workerId));
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve(testName + "_worker" + workerId + ".log").toFile())
+                .start();
+    }
+
+    private Socket accept(ServerSocket server, int connected) throws IOException {
+        try {
+            Socket socket = server.accept();
+            socket.setTcpNoDelay(true);
+            return socket;
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException("Only " + connected + " of " + workers + " workers connected within "
+                    + connectTimeout.toSeconds() + "s", e);
+        }
+    }
+
+    private static void readSnapshots(DataInputStream in, Map<Integer, WorkerSnapshot> latest,
+                                      AtomicReference<String> failure, CountDownLatch finished) {
+        try {
+            while (true) {
+                byte type = in.readByte();
+                if (type == Protocol.FAILED) {
+                    failure.compareAndSet(null, "Worker failed: " + in.readUTF());
+                    return;
+                }
+                WorkerSnapshot snapshot = WorkerSnapshot.readFrom(in);
+                latest.put(snapshot.getWorkerId(), snapshot);
+                if (type == Protocol.DONE) {
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            failure.compareAndSet(null, "Worker disconnected before it was done");
+        } catch (IOException e) {
+            failure.compareAndSet(null, "Lost connection to worker: " + e.getMessage());
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private static LiveSample sample(Map<Integer, WorkerSnapshot> latest, long startAt, List<LiveSample> previous) {
+        LatencyHistogram merged = new LatencyHistogram();
+        long requests = 0;
+        long failures = 0;
+        for (WorkerSnapshot snapshot : latest.values()) {
+            merged.add(snapshot.getLatency());
+            requests += snapshot.getRequests();
+            failures += snapshot.getFailures();
+        }
+        long elapsedMillis = System.currentTimeMillis() - startAt;
+        LiveSample last = previous.isEmpty() ? null : previous.get(previous.size() - 1);
+        long intervalRequests = requests - (last != null ? last.getRequests() : 0);
+        long intervalMillis = elapsedMillis - (last != null ? last.getElapsedMillis() : 0);
+
+        LiveSample sample = LiveSample.builder()
+                .elapsedMillis(elapsedMillis)
+                .reportingWorkers(latest.size())
+                .requests(requests)
+                .failures(failures)
+                .throughput(intervalMillis > 0 ? intervalRequests * 1000.0 / intervalMillis : 0.0)
+                .p95Millis(merged.getPercentile(95) / 1000.0)
+                .build();
+        LoggerUtil.info("Live {}s - {} workers, {} requests, {} req/s, p95 {}ms, {} failed",
+                String.format("%.1f", elapsedMillis / 1000.0), sample.getReportingWorkers(), requests,
+                String.format("%.1f", sample.getThroughput()), String.format("%.1f", sample.getP95Millis()), failures);
+        return sample;
+    }
+
+    private PerformanceTestResult buildResult(String testName, LocalDateTime startTime,
+                                              Map<Integer, WorkerSnapshot> latest, List<LiveSample> liveSamples) {
+        LatencyHistogram latency = new LatencyHistogram();
+        Map<Integer, Long> workerRequests = new TreeMap<>();
+        long requests = 0;
+        long failures = 0;
+        long elapsedMillis = 0;
+        for (WorkerSnapshot snapshot : latest.values()) {
+            latency.add(snapshot.getLatency());
+            workerRequests.put(snapshot.getWorkerId(), snapshot.getRequests());
+            requests += snapshot.getRequests();
+            failures += snapshot.getFailures();
+            elapsedMillis = Math.max(elapsedMillis, snapshot.getElapsedMillis());
+        }
+
+        Map<String, Object> customMetrics = new LinkedHashMap<>();
+        customMetrics.put("engine", workload.getEngine().name());
+        customMetrics.put("workers", workers);
+        customMetrics.put("workerRequests", workerRequests);
+        customMetrics.put("liveSamples", liveSamples);
+
+        LocalDateTime endTime = LocalDateTime.now();
+        PerformanceTestResult result = PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("DISTRIBUTED")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(Duration.between(startTime, endTime).getSeconds())
+                .totalRequests(requests)
+                .successfulRequests(requests - failures)
+                .failedRequests(failures)
+                .errorRate(requests == 0 ? 0.0 : (double) failures / requests * 100)
+                .throughput(elapsedMillis == 0 ? 0.0 : requests * 1000.0 / elapsedMillis)
+                .averageResponseTime(Math.round(latency.getMean() / 1000))
+                .minResponseTime(latency.getMin() / 1000)
+                .maxResponseTime(latency.getMax() / 1000)
+                .p50ResponseTime(latency.getPercentile(50) / 1000)
+                .p90ResponseTime(latency.getPercentile(90) / 1000)
+                .p95ResponseTime(latency.getPercentile(95) / 1000)
+                .p99ResponseTime(latency.getPercentile(99) / 1000)
+                .customMetrics(customMetrics)
+                .build();
+
+        LoggerUtil.info("Distributed test {} completed - {} requests from {} workers, {} failed",
+                testName, requests, workers, failures);
+        return result;
+    }
+
+    // Finished workers exit on their own; after a failure the rest are killed right away
+    private static void stopWorkers(List<Process> processes, boolean graceful) {
+        for (Process process : processes) {
+            try {
+                if (!graceful || !process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LoggerUtil.debug("Failed to close worker connection: {}", e.getMessage());
+        }
+    }
+
+    // Merged view of all workers at one point of the run
+    @Data
+    @Builder
+    public static class LiveSample {
+        private long elapsedMillis;
+        private int reportingWorkers;
+        private long requests;
+        private long failures;
+        private double throughput;  // requests per second since the previous sample
+        private double p95Millis;   // cumulative since the start
+    }
+}
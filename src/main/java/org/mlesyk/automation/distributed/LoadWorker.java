@@ -0,0 +1,282 @@
+package org.mlesyk.automation.distributed;
+
+import org.mlesyk.automation.performance.K6Metrics;
+import org.mlesyk.automation.performance.K6OutputTail;
+import org.mlesyk.automation.performance.K6TestRunner;
+import org.mlesyk.automation.performance.LatencyHistogram;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.restassured.response.Response;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+// A load generating node. LoadCoordinator starts workers as separate JVMs; on other machines
+// they can be started by hand with the coordinator's address:
+//
+//   java -cp <test classpath> org.mlesyk.automation.distributed.LoadWorker <host> <port> <worker id>
+//
+// The worker connects, waits for the common start instant sent by the coordinator, runs the
+// workload and reports a cumulative snapshot every interval until it is done.
+public class LoadWorker {
+
+    private static final int THRESHOLDS_FAILED_EXIT_CODE = 99;
+
+    private final String coordinatorHost;
+    private final int coordinatorPort;
+    private final int workerId;
+
+    public LoadWorker(String coordinatorHost, int coordinatorPort, int workerId) {
+        this.coordinatorHost = coordinatorHost;
+        this.coordinatorPort = coordinatorPort;
+        this.workerId = workerId;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: LoadWorker <coordinator host> <coordinator port> <worker id>");
+            System.exit(2);
+        }
+        try {
+            new LoadWorker(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2])).run();
+            System.exit(0);
+        } catch (RuntimeException e) {
+            LoggerUtil.error("Load worker {} failed", args[2], e);
+            System.exit(1);
+        }
+    }
+
+    public void run() {
+        try (Socket socket = new Socket(coordinatorHost, coordinatorPort);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setTcpNoDelay(true);
+            out.writeByte(Protocol.HELLO);
+            out.writeInt(workerId);
+            out.flush();
+
+            if (in.readByte() != Protocol.START) {
+                throw new IllegalStateException("Expected start signal from coordinator");
+            }
+            long startAt = in.readLong();
+            long snapshotIntervalMillis = in.readLong();
+            int workerIndex = in.readInt();
+            int workerCount = in.readInt();
+            Workload workload = Workload.readFrom(in);
+            LoggerUtil.info("Worker {} ({} of {}) ready, {} engine starts in {}ms", workerId, workerIndex + 1,
+                    workerCount, workload.getEngine(), startAt - System.currentTimeMillis());
+
+            long wait;
+            while ((wait = startAt - System.currentTimeMillis()) > 0) {
+                Thread.sleep(wait);
+            }
+
+            Engine engine = null;
+            try {
+                engine = workload.getEngine() == Workload.Engine.K6
+                        ? new K6Engine(workload, workerIndex, workerCount)
+                        : new HttpEngine(workload);
+                engine.start();
+                int sequence = 0;
+                while (!engine.awaitCompletion(snapshotIntervalMillis)) {
+                    send(out, Protocol.SNAPSHOT, engine.snapshot(sequence++));
+                }
+                send(out, Protocol.DONE, engine.snapshot(sequence));
+                LoggerUtil.info("Worker {} done", workerId);
+
+            } catch (RuntimeException e) {
+                out.writeByte(Protocol.FAILED);
+                out.writeUTF(String.valueOf(e.getMessage()));
+                out.flush();
+                throw e;
+            } finally {
+                if (engine != null) {
+                    engine.stop();
+                }
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException("Load worker " + workerId + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Load worker " + workerId + " interrupted", e);
+        }
+    }
+
+    private void send(DataOutputStream out, byte type, WorkerSnapshot snapshot) throws IOException {
+        snapshot.setWorkerId(workerId);
+        out.writeByte(type);
+        snapshot.writeTo(out);
+        out.flush();
+    }
+
+    private interface Engine {
+        void start();
+
+        boolean awaitCompletion(long millis) throws InterruptedException;
+
+        WorkerSnapshot snapshot(int sequence);
+
+        void stop();
+    }
+
+    // Closed model: each virtual user sends the next path as soon as the previous response arrived
+    private static class HttpEngine implements Engine {
+
+        private final Workload workload;
+        private final ExecutorService executor;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        private final AtomicLong nextPath = new AtomicLong();
+        private long startNanos;
+
+        private HttpEngine(Workload workload) {
+            if (workload.getPaths() == null || workload.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("HTTP workload needs at least one path");
+            }
+            this.workload = workload;
+            this.executor = Executors.newFixedThreadPool(workload.getVirtualUsers());
+        }
+
+        @Override
+        public void start() {
+            startNanos = System.nanoTime();
+            long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(workload.getDurationMillis());
+            List<String> paths = workload.getPaths();
+            for (int i = 0; i < workload.getVirtualUsers(); i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.get((int) (nextPath.getAndIncrement() % paths.size()));
+                        long sendStart = System.nanoTime();
+                        try {
+                            Response response = given().noFilters().baseUri(workload.getBaseUrl()).get(path);
+                            if (response.getStatusCode() >= 400) {
+                                failures.increment();
+                            }
+                        } catch (RuntimeException e) {
+                            failures.increment();
+                        }
+                        latency.record((System.nanoTime() - sendStart) / 1000);
+                    }
+                });
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        public boolean awaitCompletion(long millis) throws InterruptedException {
+            return executor.awaitTermination(millis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public WorkerSnapshot snapshot(int sequence) {
+            LatencyHistogram copy = latency.copy();
+            return WorkerSnapshot.builder()
+                    .sequence(sequence)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                    .requests(copy.getCount())
+                    .failures(Math.min(copy.getCount(), failures.sum()))
+                    .latency(copy)
+                    .build();
+        }
+
+        @Override
+        public void stop() {
+            executor.shutdownNow();
+        }
+    }
+
+    // Runs this worker's execution segment of the script and follows its metric stream
+    private static class K6Engine implements Engine {
+
+        private final Workload workload;
+        private final int workerIndex;
+        private final int workerCount;
+        private final K6Metrics metrics = new K6Metrics();
+        private Path output;
+        private K6OutputTail tail;
+        private Process process;
+        private long startNanos;
+
+        private K6Engine(Workload workload, int workerIndex, int workerCount) {
+            this.workload = workload;
+            this.workerIndex = workerIndex;
+            this.workerCount = workerCount;
+        }
+
+        @Override
+        public void start() {
+            try {
+                output = Files.createTempFile("k6-worker-" + workerIndex + "-", ".json");
+                List<String> command = new ArrayList<>();
+                command.add(workload.getK6Binary().isEmpty() ? "k6" : workload.getK6Binary());
+                command.add("run");
+                command.addAll(K6TestRunner.executionSegmentArguments(workerIndex, workerCount));
+                command.add("--out");
+                command.add("json=" + output);
+                command.add(workload.getK6Script());
+
+                startNanos = System.nanoTime();
+                process = new ProcessBuilder(command).inheritIO().start();
+                tail = new K6OutputTail(output, metrics::accept);
+            } catch (IOException e) {
+                throw new RuntimeException("k6 worker start failed", e);
+            }
+        }
+
+        @Override
+        public boolean awaitCompletion(long millis) throws InterruptedException {
+            if (!process.waitFor(millis, TimeUnit.MILLISECONDS)) {
+                return false;
+            }
+            int exitCode = process.exitValue();
+            if (exitCode != 0 && exitCode != THRESHOLDS_FAILED_EXIT_CODE) {
+                throw new RuntimeException("k6 worker failed with exit code: " + exitCode);
+            }
+            return true;
+        }
+
+        @Override
+        public WorkerSnapshot snapshot(int sequence) {
+            tail.poll();
+            return WorkerSnapshot.builder()
+                    .sequence(sequence)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                    .requests(metrics.getRequests())
+                    .failures(metrics.getFailedRequests())
+                    .latency(metrics.getDurations().copy())
+                    .build();
+        }
+
+        @Override
+        public void stop() {
+            if (process != null && process.isAlive()) {
+                process.destroyForcibly();
+            }
+            if (tail != null) {
+                tail.close();
+            }
+            try {
+                if (output != null) {
+                    Files.deleteIfExists(output);
+                }
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to remove k6 worker output {}: {}", output, e.getMessage());
+            }
+        }
+    }
+}
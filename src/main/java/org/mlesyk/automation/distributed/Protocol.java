@@ -0,0 +1,25 @@
+package org.mlesyk.automation.distributed;
+
+// Messages between coordinator and workers over one TCP connection per worker (big endian,
+// java.io.DataOutput encoding):
+//
+//   worker -> coordinator  HELLO    [type][worker id (int)]
+//   coordinator -> worker  START    [type][start at, epoch millis (long)][snapshot interval millis (long)]
+//                                   [worker index (int)][worker count (int)][workload]
+//   worker -> coordinator  SNAPSHOT [type][snapshot] - cumulative since the start, every interval
+//   worker -> coordinator  DONE     [type][snapshot] - final snapshot, the worker then disconnects
+//   worker -> coordinator  FAILED   [type][message (UTF)]
+//
+// Snapshots are cumulative, so the coordinator only keeps the latest one per worker and a
+// lost or late snapshot never skews the merged result.
+final class Protocol {
+
+    static final byte HELLO = 1;
+    static final byte START = 2;
+    static final byte SNAPSHOT = 3;
+    static final byte DONE = 4;
+    static final byte FAILED = 5;
+
+    private Protocol() {
+    }
+}
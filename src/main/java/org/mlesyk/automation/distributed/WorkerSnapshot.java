@@ -0,0 +1,41 @@
+package org.mlesyk.automation.distributed;
+
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.performance.LatencyHistogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Cumulative metrics of one worker since the synchronized start; latency in microseconds
+@Data
+@Builder
+public class WorkerSnapshot {
+    private int workerId;
+    private int sequence;
+    private long elapsedMillis;
+    private long requests;
+    private long failures;
+    private LatencyHistogram latency;
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(workerId);
+        out.writeInt(sequence);
+        out.writeLong(elapsedMillis);
+        out.writeLong(requests);
+        out.writeLong(failures);
+        latency.writeTo(out);
+    }
+
+    static WorkerSnapshot readFrom(DataInputStream in) throws IOException {
+        return WorkerSnapshot.builder()
+                .workerId(in.readInt())
+                .sequence(in.readInt())
+                .elapsedMillis(in.readLong())
+                .requests(in.readLong())
+                .failures(in.readLong())
+                .latency(LatencyHistogram.readFrom(in))
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.mlesyk.automation.distributed;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// What every worker runs, sent by the coordinator with the start signal
+@Data
+@Builder
+public class Workload {
+
+    public enum Engine {
+        HTTP, // in-process virtual users sending GETs for the paths round-robin
+        K6    // a k6 process running its execution segment of the script
+    }
+
+    private Engine engine;
+    private String baseUrl;
+    private List<String> paths;       // HTTP engine: paths relative to the base URL
+    private int virtualUsers;         // HTTP engine: per worker
+    private long durationMillis;      // HTTP engine; k6 scripts define their own duration
+    private String k6Script;          // K6 engine: script path, shared by all workers on the host
+    private String k6Binary;
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(engine.name());
+        out.writeUTF(nullToEmpty(baseUrl));
+        List<String> pathList = paths != null ? paths : List.of();
+        out.writeInt(pathList.size());
+        for (String path : pathList) {
+            out.writeUTF(path);
+        }
+        out.writeInt(virtualUsers);
+        out.writeLong(durationMillis);
+        out.writeUTF(nullToEmpty(k6Script));
+        out.writeUTF(nullToEmpty(k6Binary));
+    }
+
+    static Workload readFrom(DataInputStream in) throws IOException {
+        Engine engine = Engine.valueOf(in.readUTF());
+        String baseUrl = in.readUTF();
+        int pathCount = in.readInt();
+        List<String> paths = new ArrayList<>(pathCount);
+        for (int i = 0; i < pathCount; i++) {
+            paths.add(in.readUTF());
+        }
+        return Workload.builder()
+                .engine(engine)
+                .baseUrl(baseUrl)
+                .paths(paths)
+                .virtualUsers(in.readInt())
+                .durationMillis(in.readLong())
+                .k6Script(in.readUTF())
+                .k6Binary(in.readUTF())
+                .build();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,173 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.aeonbits.owner.ConfigFactory;
+import org.apache.jmeter.protocol.http.sampler.HTTPSamplerProxy;
+import org.apache.jmeter.util.JMeterUtils;
+import org.apache.jorphan.collections.HashTree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Child JVM of JMeterForkPool, started with the parent's classpath:
+//
+//   java -cp <test classpath> org.mlesyk.automation.performance.JMeterFork <host> <port> <fork id>
+//
+// The fork connects back, initializes JMeter once and then runs one plan per RUN message,
+// reporting cumulative snapshots while the plan runs. Before every run the JMeter properties
+// are reset to their state after initialization, so no run sees another run's properties.
+public class JMeterFork {
+
+    private final String poolHost;
+    private final int poolPort;
+    private final int forkId;
+    private JMeterTestRunner runner;
+    private Properties initialProperties;
+    private int runs;
+
+    public JMeterFork(String poolHost, int poolPort, int forkId) {
+        this.poolHost = poolHost;
+        this.poolPort = poolPort;
+        this.forkId = forkId;
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: JMeterFork <pool host> <pool port> <fork id>");
+            System.exit(2);
+        }
+        try {
+            new JMeterFork(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2])).run();
+            System.exit(0);
+        } catch (RuntimeException e) {
+            LoggerUtil.error("JMeter fork {} failed", args[2], e);
+            System.exit(1);
+        }
+    }
+
+    public void run() {
+        try (Socket socket = new Socket(poolHost, poolPort);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setTcpNoDelay(true);
+            out.writeByte(JMeterForkProtocol.HELLO);
+            out.writeInt(forkId);
+            out.flush();
+
+            try {
+                warmUp();
+            } catch (RuntimeException e) {
+                fail(out, e);
+                throw e;
+            }
+            out.writeByte(JMeterForkProtocol.READY);
+            out.flush();
+
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (type == JMeterForkProtocol.EXIT) {
+                    return;
+                }
+                if (type != JMeterForkProtocol.RUN) {
+                    throw new IllegalStateException("Unexpected message from pool: " + type);
+                }
+                String testName = in.readUTF();
+                String testPlanPath = in.readUTF();
+                String resultFile = in.readUTF();
+                long snapshotIntervalMillis = in.readLong();
+                Properties jmeterProperties = new Properties();
+                int propertyCount = in.readInt();
+                for (int i = 0; i < propertyCount; i++) {
+                    jmeterProperties.setProperty(in.readUTF(), in.readUTF());
+                }
+
+                // A failed run is reported; the pool replaces the fork, which then sees the connection close
+                try {
+                    runPlan(out, testName, testPlanPath, resultFile, snapshotIntervalMillis, jmeterProperties);
+                } catch (RuntimeException e) {
+                    LoggerUtil.error("JMeter fork {} failed to run {}", forkId, testName, e);
+                    fail(out, e);
+                }
+            }
+
+        } catch (IOException e) {
+            throw new RuntimeException("JMeter fork " + forkId + " failed", e);
+        }
+    }
+
+    // Everything a run would otherwise pay for on its first use: JMeter home, properties,
+    // save service and the HTTP sampler classes
+    private void warmUp() {
+        runner = new JMeterTestRunner(ConfigFactory.create(PerformanceConfig.class)).forked(0);
+        runner.warmUp();
+        new HTTPSamplerProxy();
+        initialProperties = (Properties) JMeterUtils.getJMeterProperties().clone();
+        LoggerUtil.info("JMeter fork {} ready", forkId);
+    }
+
+    private void runPlan(DataOutputStream out, String testName, String testPlanPath, String resultFile,
+                         long snapshotIntervalMillis, Properties jmeterProperties) throws IOException {
+        runs++;
+        LoggerUtil.info("JMeter fork {} starting run {}: {}", forkId, runs, testName);
+        Properties properties = JMeterUtils.getJMeterProperties();
+        properties.clear();
+        properties.putAll(initialProperties);
+
+        HashTree testPlanTree = runner.loadPlan(new File(testPlanPath));
+        JMeterMetricsCollector metrics = new JMeterMetricsCollector();
+        ExecutorService engineThread = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> engine = engineThread.submit(() -> runner.runEngine(testPlanTree, resultFile, metrics, jmeterProperties));
+            while (true) {
+                try {
+                    engine.get(snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    send(out, JMeterForkProtocol.SNAPSHOT, metrics.snapshot());
+                }
+            }
+            send(out, JMeterForkProtocol.DONE, metrics.snapshot());
+            LoggerUtil.info("JMeter fork {} finished run {}: {}", forkId, runs, testName);
+
+        } catch (ExecutionException e) {
+            throw new RuntimeException("JMeter run failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("JMeter run interrupted", e);
+        } finally {
+            engineThread.shutdownNow();
+        }
+    }
+
+    private void send(DataOutputStream out, byte type, JMeterSnapshot snapshot) throws IOException {
+        snapshot.setForkId(forkId);
+        snapshot.setForkRun(runs);
+        out.writeByte(type);
+        snapshot.writeTo(out);
+        out.flush();
+    }
+
+    private static void fail(DataOutputStream out, RuntimeException e) throws IOException {
+        out.writeByte(JMeterForkProtocol.FAILED);
+        out.writeUTF(String.valueOf(e.getMessage()));
+        out.flush();
+    }
+}
@@ -0,0 +1,271 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Pool of pre-warmed child JVMs (JMeterFork) running JMeter plans. JMeter keeps its
+// properties, save service and engine in static state, so plans sharing a JVM can neither run
+// at the same time nor be kept from seeing each other's properties. A fork runs one plan at a
+// time with its own properties; up to `size` plans run in parallel, further runs wait for a
+// free fork. A fork stays warm between runs (JMeter initialized, classes loaded, parsed plans
+// cached) until it has done maxRuns runs or a run failed, then it is replaced.
+//
+//   try (JMeterForkPool pool = new JMeterForkPool(config, 2)) {
+//       pool.warmUp();
+//       JMeterSnapshot result = pool.run(plan, "checkout", resultFile, properties, snapshot -> { });
+//   }
+public class JMeterForkPool implements AutoCloseable {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(120);
+
+    private final PerformanceConfig config;
+    private final Semaphore slots;
+    private final BlockingQueue<Fork> idle = new LinkedBlockingQueue<>();
+    private final AtomicInteger startedForks = new AtomicInteger();
+    private final Path logDirectory;
+    private volatile boolean closed;
+
+    public JMeterForkPool(PerformanceConfig config, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("JMeter forks must be >= 1, got " + size);
+        }
+        this.config = config;
+        this.slots = new Semaphore(size, true);
+        this.logDirectory = Paths.get(config.reportsDirectory(), "jmeter-forks");
+    }
+
+    // Starts the forks that are not running yet in parallel and waits until all are ready
+    public void warmUp() {
+        int free = slots.drainPermits();
+        try {
+            List<CompletableFuture<Fork>> starting = new ArrayList<>();
+            for (int i = idle.size(); i < free; i++) {
+                starting.add(CompletableFuture.supplyAsync(this::startForkUnchecked));
+            }
+            for (CompletableFuture<Fork> fork : starting) {
+                idle.add(fork.join());
+            }
+        } catch (CompletionException e) {
+            throw new RuntimeException("JMeter fork warm-up failed", e.getCause());
+        } finally {
+            slots.release(free);
+        }
+    }
+
+    // Runs the plan in a free fork; live snapshots go to the listener once per snapshot interval
+    public JMeterSnapshot run(File testPlan, String testName, String resultFile, Properties jmeterProperties,
+                              Consumer<JMeterSnapshot> liveListener) throws IOException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("JMeter fork pool is closed");
+        }
+        slots.acquire();
+        Fork fork = null;
+        boolean healthy = false;
+        try {
+            fork = idle.poll();
+            if (fork == null) {
+                fork = startFork();
+            }
+            fork.runs++;
+
+            fork.out.writeByte(JMeterForkProtocol.RUN);
+            fork.out.writeUTF(testName);
+            fork.out.writeUTF(testPlan.getAbsolutePath());
+            fork.out.writeUTF(new File(resultFile).getAbsolutePath());
+            fork.out.writeLong(config.jmeterForkSnapshotIntervalMillis());
+            fork.out.writeInt(jmeterProperties.stringPropertyNames().size());
+            for (String key : jmeterProperties.stringPropertyNames()) {
+                fork.out.writeUTF(key);
+                fork.out.writeUTF(jmeterProperties.getProperty(key));
+            }
+            fork.out.flush();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.jmeterForkMaxDurationSeconds());
+            while (true) {
+                byte type = fork.in.readByte();
+                if (type == JMeterForkProtocol.FAILED) {
+                    throw new IllegalStateException("JMeter fork " + fork.id + " failed: " + fork.in.readUTF());
+                }
+                JMeterSnapshot snapshot = JMeterSnapshot.readFrom(fork.in);
+                if (type == JMeterForkProtocol.DONE) {
+                    healthy = true;
+                    return snapshot;
+                }
+                liveListener.accept(snapshot);
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("JMeter fork " + fork.id + " still running " + testName
+                            + " after " + config.jmeterForkMaxDurationSeconds() + "s");
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException("JMeter fork " + fork.id + " stopped reporting while running " + testName, e);
+        } finally {
+            if (fork != null) {
+                if (healthy && !closed && fork.runs < config.jmeterForkMaxRuns()) {
+                    idle.add(fork);
+                } else {
+                    fork.stop(healthy);
+                }
+            }
+            slots.release();
+        }
+    }
+
+    // Number of fork JVMs started so far, replacements included
+    public int getStartedForks() {
+        return startedForks.get();
+    }
+
+    // Idle forks exit now, busy ones as soon as their run is done
+    @Override
+    public void close() {
+        closed = true;
+        Fork fork;
+        while ((fork = idle.poll()) != null) {
+            fork.stop(true);
+        }
+    }
+
+    private Fork startForkUnchecked() {
+        try {
+            return startFork();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private Fork startFork() throws IOException {
+        int id = startedForks.incrementAndGet();
+        long startNanos = System.nanoTime();
+        Files.createDirectories(logDirectory);
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) CONNECT_TIMEOUT.toMillis());
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            for (String jvmArg : config.jmeterForkJvmArgs().trim().split("\\s+")) {
+                if (!jvmArg.isEmpty()) {
+                    command.add(jvmArg);
+                }
+            }
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(JMeterFork.class.getName());
+            command.add(InetAddress.getLoopbackAddress().getHostAddress());
+            command.add(String.valueOf(server.getLocalPort()));
+            command.add(String.valueOf(id));
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(logDirectory.resolve("fork" + id + ".log").toFile())
+                    .start();
+
+            Socket socket = null;
+            try {
+                socket = server.accept();
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout((int) READY_TIMEOUT.toMillis());
+                Fork fork = new Fork(id, process, socket);
+                if (fork.in.readByte() != JMeterForkProtocol.HELLO || fork.in.readInt() != id) {
+                    throw new IllegalStateException("Unexpected message from JMeter fork " + id + " instead of HELLO");
+                }
+                byte type = fork.in.readByte();
+                if (type == JMeterForkProtocol.FAILED) {
+                    throw new IllegalStateException("JMeter fork " + id + " failed to start: " + fork.in.readUTF());
+                }
+                if (type != JMeterForkProtocol.READY) {
+                    throw new IllegalStateException("Unexpected message from JMeter fork " + id + " instead of READY");
+                }
+                // Forks report every snapshot interval; a long silence means a hung fork
+                socket.setSoTimeout((int) Math.max(30_000, config.jmeterForkSnapshotIntervalMillis() * 10));
+                LoggerUtil.info("JMeter fork {} ready in {}ms", id, (System.nanoTime() - startNanos) / 1_000_000);
+                return fork;
+
+            } catch (IOException | RuntimeException e) {
+                if (socket != null) {
+                    closeQuietly(socket);
+                }
+                process.destroyForcibly();
+                LoggerUtil.error("JMeter fork {} did not start, see {}", id, logDirectory.resolve("fork" + id + ".log"));
+                if (e instanceof SocketTimeoutException) {
+                    throw new IllegalStateException("JMeter fork " + id + " was not ready within "
+                            + (CONNECT_TIMEOUT.toSeconds() + READY_TIMEOUT.toSeconds()) + "s", e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LoggerUtil.debug("Failed to close JMeter fork connection: {}", e.getMessage());
+        }
+    }
+
+    private static class Fork {
+        private final int id;
+        private final Process process;
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private int runs;
+
+        private Fork(int id, Process process, Socket socket) throws IOException {
+            this.id = id;
+            this.process = process;
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        // A healthy fork exits on EXIT; a failed or hung one is killed right away
+        private void stop(boolean graceful) {
+            if (graceful) {
+                try {
+                    out.writeByte(JMeterForkProtocol.EXIT);
+                    out.flush();
+                } catch (IOException e) {
+                    graceful = false;
+                }
+            }
+            closeQuietly(socket);
+            try {
+                if (!graceful || !process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.descendants().forEach(ProcessHandle::destroyForcibly);
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+            LoggerUtil.debug("JMeter fork {} stopped after {} runs", id, runs);
+        }
+    }
+}
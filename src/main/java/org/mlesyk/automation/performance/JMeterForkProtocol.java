@@ -0,0 +1,27 @@
+package org.mlesyk.automation.performance;
+
+// Messages between JMeterForkPool and a fork over the fork's TCP connection (big endian,
+// java.io.DataOutput encoding):
+//
+//   fork -> pool  HELLO    [type][fork id (int)]
+//   fork -> pool  READY    [type] - JMeter is initialized, sent once after HELLO
+//   pool -> fork  RUN      [type][test name (UTF)][plan path (UTF)][result file (UTF)]
+//                          [snapshot interval millis (long)][property count (int)]
+//                          [property name (UTF)][property value (UTF)]...
+//   fork -> pool  SNAPSHOT [type][snapshot] - cumulative since the start, every interval
+//   fork -> pool  DONE     [type][snapshot] - final snapshot, the fork then waits for the next RUN
+//   fork -> pool  FAILED   [type][message (UTF)]
+//   pool -> fork  EXIT     [type] - the fork exits, as it does when the connection closes
+final class JMeterForkProtocol {
+
+    static final byte HELLO = 1;
+    static final byte READY = 2;
+    static final byte RUN = 3;
+    static final byte SNAPSHOT = 4;
+    static final byte DONE = 5;
+    static final byte FAILED = 6;
+    static final byte EXIT = 7;
+
+    private JMeterForkProtocol() {
+    }
+}
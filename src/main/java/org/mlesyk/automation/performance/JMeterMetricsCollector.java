@@ -0,0 +1,71 @@
+package org.mlesyk.automation.performance;
+
+import org.apache.jmeter.engine.util.NoThreadClone;
+import org.apache.jmeter.samplers.SampleEvent;
+import org.apache.jmeter.samplers.SampleListener;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.testelement.AbstractTestElement;
+import org.apache.jmeter.testelement.TestStateListener;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aggregates the samples of a running plan in memory, so results do not have to be parsed
+// back from the JTL file and can be reported while the test runs. JMeterTestRunner adds it
+// under the test plan next to the JTL writer; NoThreadClone keeps one instance shared by all
+// JMeter threads, which the lock-free histogram and adders allow.
+public class JMeterMetricsCollector extends AbstractTestElement
+        implements SampleListener, TestStateListener, NoThreadClone {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+
+    @Override
+    public void sampleOccurred(SampleEvent event) {
+        SampleResult result = event.getResult();
+        latency.record(TimeUnit.MILLISECONDS.toMicros(Math.max(0, result.getTime())));
+        if (!result.isSuccessful()) {
+            failures.increment();
+        }
+        receivedBytes.add(result.getBytesAsLong());
+    }
+
+    @Override
+    public void sampleStarted(SampleEvent event) {
+    }
+
+    @Override
+    public void sampleStopped(SampleEvent event) {
+    }
+
+    @Override
+    public void testStarted() {
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void testStarted(String host) {
+        testStarted();
+    }
+
+    @Override
+    public void testEnded() {
+    }
+
+    @Override
+    public void testEnded(String host) {
+    }
+
+    public JMeterSnapshot snapshot() {
+        LatencyHistogram copy = latency.copy();
+        return JMeterSnapshot.builder()
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos))
+                .requests(copy.getCount())
+                .failures(Math.min(copy.getCount(), failures.sum()))
+                .receivedBytes(receivedBytes.sum())
+                .latency(copy)
+                .build();
+    }
+}
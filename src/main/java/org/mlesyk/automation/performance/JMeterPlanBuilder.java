@@ -0,0 +1,297 @@
+package org.mlesyk.automation.performance;
+
+import org.apache.jmeter.assertions.ResponseAssertion;
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.control.LoopController;
+import org.apache.jmeter.control.RandomController;
+import org.apache.jmeter.protocol.http.control.Header;
+import org.apache.jmeter.protocol.http.control.HeaderManager;
+import org.apache.jmeter.protocol.http.sampler.HTTPSamplerProxy;
+import org.apache.jmeter.testelement.TestPlan;
+import org.apache.jmeter.threads.AbstractThreadGroup;
+import org.apache.jmeter.threads.ThreadGroup;
+import org.apache.jmeter.threads.openmodel.OpenModelThreadGroup;
+import org.apache.jmeter.timers.ConstantTimer;
+import org.apache.jmeter.timers.UniformRandomTimer;
+import org.apache.jorphan.collections.HashTree;
+import org.apache.jorphan.collections.ListedHashTree;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+
+// Builds a JMeter test plan from a K6Script, so both engines run the same workload without
+// a .jmx file. Each scenario becomes thread groups with the same load profile:
+//
+//   constant-vus          ThreadGroup with the VUs for the duration
+//   ramping-vus           one ThreadGroup per ramp-up stage, started at the stage with the
+//                         stage as ramp-up; ramp-down stops the latest VUs halfway through the
+//                         stage, which keeps the VU-seconds of k6's linear ramp-down
+//   *-arrival-rate        OpenModelThreadGroup with an even_arrivals schedule; it starts a
+//                         thread per arrival, so maxVUs is not enforced
+//
+// An iteration sends one request picked by weight (a RandomController over weight copies of
+// each sampler), or all of them in a batch scenario, checks the expected status like the k6
+// check does and waits the think time.
+// JMeter must be initialized (JMeterTestRunner.warmUp()) before building: the HTTP sampler
+// reads the JMeter properties when it is loaded.
+public class JMeterPlanBuilder {
+
+    private final K6Script script;
+    private final URI baseUrl;
+
+    private JMeterPlanBuilder(K6Script script) {
+        this.script = script;
+        this.baseUrl = URI.create(script.getBaseUrl().replaceAll("/+$", ""));
+    }
+
+    public static HashTree build(K6Script script) {
+        List<String> errors = script.validate();
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid workload for JMeter:\n  " + String.join("\n  ", errors));
+        }
+        return new JMeterPlanBuilder(script).build();
+    }
+
+    private HashTree build() {
+        TestPlan testPlan = new TestPlan("k6 workload " + script.getBaseUrl());
+        testPlan.setUserDefinedVariables(new Arguments());
+
+        HashTree tree = new ListedHashTree();
+        HashTree planTree = tree.add(testPlan);
+        for (K6Scenario scenario : script.getScenarios()) {
+            for (AbstractThreadGroup threadGroup : threadGroups(scenario)) {
+                addIteration(planTree.add(threadGroup), scenario);
+            }
+        }
+        return tree;
+    }
+
+    private List<AbstractThreadGroup> threadGroups(K6Scenario scenario) {
+        long startMillis = scenario.getStartTime() != null ? scenario.getStartTime().toMillis() : 0;
+        return switch (scenario.getExecutor()) {
+            case "constant-vus" -> List.of(threadGroup(scenario.getName(),
+                    (Integer) scenario.getExecutorOptions().get("vus"), startMillis, 0,
+                    startMillis + ((Duration) scenario.getExecutorOptions().get("duration")).toMillis()));
+            case "ramping-vus" -> rampingThreadGroups(scenario, startMillis);
+            default -> List.of(openModelThreadGroup(scenario, startMillis));
+        };
+    }
+
+    // Every VU lives from its start in a ramp-up stage until a ramp-down stage or the end.
+    // VUs started by the same stage that stop at the same time share a thread group.
+    private List<AbstractThreadGroup> rampingThreadGroups(K6Scenario scenario, long startMillis) {
+        List<Vu> vus = new ArrayList<>();
+        Deque<Vu> running = new ArrayDeque<>();
+        for (int i = 0; i < (Integer) scenario.getExecutorOptions().get("startVUs"); i++) {
+            Vu vu = new Vu(-1, startMillis, 0);
+            vus.add(vu);
+            running.push(vu);
+        }
+
+        long stageStart = startMillis;
+        int stageIndex = 0;
+        for (K6Scenario.Stage stage : scenario.getStages()) {
+            long stageMillis = stage.duration.toMillis();
+            int added = stage.target - running.size();
+            for (int i = 0; i < added; i++) {
+                Vu vu = new Vu(stageIndex, stageStart + stageMillis * i / added, (double) stageMillis / added);
+                vus.add(vu);
+                running.push(vu);
+            }
+            while (running.size() > stage.target) {
+                running.pop().stopMillis = stageStart + stageMillis / 2;
+            }
+            stageStart += stageMillis;
+            stageIndex++;
+        }
+        for (Vu vu : running) {
+            vu.stopMillis = stageStart;
+        }
+
+        List<AbstractThreadGroup> threadGroups = new ArrayList<>();
+        int first = 0;
+        for (int i = 1; i <= vus.size(); i++) {
+            if (i == vus.size() || !vus.get(i).sameGroup(vus.get(first))) {
+                Vu vu = vus.get(first);
+                int count = i - first;
+                threadGroups.add(threadGroup(scenario.getName() + "-" + (threadGroups.size() + 1), count,
+                        vu.startMillis, Math.round(vu.spacingMillis * count), vu.stopMillis));
+                first = i;
+            }
+        }
+        return threadGroups;
+    }
+
+    private static ThreadGroup threadGroup(String name, int threads, long startMillis, long rampUpMillis,
+                                           long stopMillis) {
+        LoopController loopController = new LoopController();
+        loopController.setLoops(-1); // until the scheduler's duration ends
+        loopController.initialize();
+
+        ThreadGroup threadGroup = new ThreadGroup();
+        threadGroup.setName(name);
+        threadGroup.setNumThreads(threads);
+        threadGroup.setRampUp((int) seconds(rampUpMillis));
+        threadGroup.setSamplerController(loopController);
+        threadGroup.setScheduler(true);
+        threadGroup.setDelay(seconds(startMillis));
+        threadGroup.setDuration(Math.max(1, seconds(stopMillis) - seconds(startMillis)));
+        return threadGroup;
+    }
+
+    // rate(5/sec) even_arrivals(30 sec) rate(50/sec) ... - the rate changes linearly between
+    // two rate() steps like the stages of ramping-arrival-rate
+    private static OpenModelThreadGroup openModelThreadGroup(K6Scenario scenario, long startMillis) {
+        StringBuilder schedule = new StringBuilder();
+        if (startMillis > 0) {
+            schedule.append("pause(").append(scheduleDuration(startMillis)).append(") ");
+        }
+        if (scenario.getExecutor().equals("constant-arrival-rate")) {
+            Object rate = scenario.getExecutorOptions().get("rate");
+            long durationMillis = ((Duration) scenario.getExecutorOptions().get("duration")).toMillis();
+            schedule.append("rate(").append(rate).append("/sec) even_arrivals(")
+                    .append(scheduleDuration(durationMillis)).append(") rate(").append(rate).append("/sec)");
+        } else {
+            schedule.append("rate(").append(scenario.getExecutorOptions().get("startRate")).append("/sec)");
+            for (K6Scenario.Stage stage : scenario.getStages()) {
+                schedule.append(" even_arrivals(").append(scheduleDuration(stage.duration.toMillis()))
+                        .append(") rate(").append(stage.target).append("/sec)");
+            }
+        }
+
+        // Every arrival runs a single iteration
+        LoopController loopController = new LoopController();
+        loopController.setLoops(1);
+        loopController.initialize();
+
+        OpenModelThreadGroup threadGroup = new OpenModelThreadGroup();
+        threadGroup.setName(scenario.getName());
+        threadGroup.setScheduleString(schedule.toString());
+        threadGroup.setSamplerController(loopController);
+        return threadGroup;
+    }
+
+    private void addIteration(HashTree threadGroupTree, K6Scenario scenario) {
+        List<K6Scenario.Request> requests = scenario.getRequests();
+        // JMeter has no http.batch: the requests run one after the other, the think time once
+        // per iteration before the first of them
+        if (scenario.isBatch()) {
+            HashTree firstTree = null;
+            for (K6Scenario.Request request : requests) {
+                HashTree samplerTree = addSampler(threadGroupTree, request);
+                firstTree = firstTree != null ? firstTree : samplerTree;
+            }
+            addThinkTime(firstTree, scenario);
+            return;
+        }
+        if (requests.size() == 1) {
+            addSampler(threadGroupTree, requests.get(0));
+        } else {
+            int divisor = requests.stream().mapToInt(request -> request.weight).reduce(JMeterPlanBuilder::gcd).orElse(1);
+            RandomController randomController = new RandomController();
+            randomController.setName(scenario.getName() + " requests");
+            HashTree randomTree = threadGroupTree.add(randomController);
+            for (K6Scenario.Request request : requests) {
+                for (int i = 0; i < request.weight / divisor; i++) {
+                    addSampler(randomTree, request);
+                }
+            }
+        }
+
+        // Timers run before every sampler in scope; with one request per iteration that is
+        // the same pause as the sleep at the end of the k6 iteration
+        addThinkTime(threadGroupTree, scenario);
+    }
+
+    private static void addThinkTime(HashTree scope, K6Scenario scenario) {
+        if (scenario.getThinkTimeSeconds() > 0) {
+            long thinkMillis = Math.round(scenario.getThinkTimeSeconds() * 1000);
+            if (scenario.isRandomThinkTime()) {
+                UniformRandomTimer timer = new UniformRandomTimer();
+                timer.setName("think time");
+                timer.setDelay("0");
+                timer.setRange(thinkMillis);
+                scope.add(timer);
+            } else {
+                ConstantTimer timer = new ConstantTimer();
+                timer.setName("think time");
+                timer.setDelay(String.valueOf(thinkMillis));
+                scope.add(timer);
+            }
+        }
+    }
+
+    private HashTree addSampler(HashTree parent, K6Scenario.Request request) {
+        HTTPSamplerProxy sampler = new HTTPSamplerProxy();
+        sampler.setName(request.method + " " + request.path);
+        sampler.setProtocol(baseUrl.getScheme());
+        sampler.setDomain(baseUrl.getHost());
+        if (baseUrl.getPort() != -1) {
+            sampler.setPort(baseUrl.getPort());
+        }
+        sampler.setPath((baseUrl.getRawPath() != null ? baseUrl.getRawPath() : "") + jmeterPath(request.path));
+        sampler.setMethod(request.method);
+        sampler.setFollowRedirects(true);
+        sampler.setUseKeepAlive(true);
+        HashTree samplerTree = parent.add(sampler);
+
+        if (request.body != null) {
+            sampler.setPostBodyRaw(true);
+            sampler.addNonEncodedArgument("", request.body, "");
+            HeaderManager headers = new HeaderManager();
+            headers.setName("JSON headers");
+            headers.add(new Header("Content-Type", "application/json"));
+            samplerTree.add(headers);
+        }
+
+        // The status decides success on its own, as in the k6 check, so an expected 404 passes
+        ResponseAssertion assertion = new ResponseAssertion();
+        assertion.setName("status is expected");
+        assertion.setTestFieldResponseCode();
+        assertion.setToEqualsType();
+        assertion.setAssumeSuccess(true);
+        assertion.addTestString(String.valueOf(request.expectedStatus));
+        samplerTree.add(assertion);
+        return samplerTree;
+    }
+
+    // '/posts/{rand:100}' -> '/posts/${__Random(1,100)}'
+    static String jmeterPath(String path) {
+        Matcher matcher = K6Scenario.RANDOM_PLACEHOLDER.matcher(path);
+        return matcher.replaceAll("\\${__Random(1,$1)}");
+    }
+
+    private static String scheduleDuration(long millis) {
+        return millis % 1000 == 0 ? millis / 1000 + " sec" : millis + " ms";
+    }
+
+    private static long seconds(long millis) {
+        return Math.round(millis / 1000.0);
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static class Vu {
+        private final int stageIndex;
+        private final long startMillis;
+        private final double spacingMillis;
+        private long stopMillis;
+
+        private Vu(int stageIndex, long startMillis, double spacingMillis) {
+            this.stageIndex = stageIndex;
+            this.startMillis = startMillis;
+            this.spacingMillis = spacingMillis;
+        }
+
+        private boolean sameGroup(Vu other) {
+            return stageIndex == other.stageIndex && stopMillis == other.stopMillis;
+        }
+    }
+}
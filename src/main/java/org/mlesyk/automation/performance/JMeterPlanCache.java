@@ -0,0 +1,85 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.apache.jmeter.engine.TreeCloner;
+import org.apache.jmeter.save.SaveService;
+import org.apache.jorphan.collections.HashTree;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Parsed .jmx test plans, keyed by path and checked against the file's modification time and
+// size, so an edited plan is parsed again. Every load returns a deep copy of the cached tree:
+// the engine and the result collector modify the tree they run, and the cached one must stay
+// as parsed. JMeter must be initialized (SaveService properties) before the first load.
+public class JMeterPlanCache {
+
+    private final Map<Path, Entry> plans = new ConcurrentHashMap<>();
+    private final AtomicLong parses = new AtomicLong();
+
+    public HashTree load(File testPlan) throws IOException {
+        Path path = testPlan.toPath().toAbsolutePath().normalize();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        long size = Files.size(path);
+
+        Entry entry;
+        try {
+            entry = plans.compute(path, (key, cached) -> cached != null && cached.matches(lastModified, size)
+                    ? cached
+                    : parse(key, lastModified, size));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return copy(entry.tree);
+    }
+
+    // Number of times a plan had to be parsed; loads beyond that came from the cache
+    public long getParses() {
+        return parses.get();
+    }
+
+    public void clear() {
+        plans.clear();
+    }
+
+    private Entry parse(Path path, long lastModified, long size) {
+        long startNanos = System.nanoTime();
+        try {
+            HashTree tree = SaveService.loadTree(path.toFile());
+            parses.incrementAndGet();
+            LoggerUtil.debug("Parsed JMeter test plan {} in {}ms", path, (System.nanoTime() - startNanos) / 1_000_000);
+            return new Entry(tree, lastModified, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HashTree copy(HashTree tree) {
+        // Clones every element, including those marked as shared between threads
+        TreeCloner cloner = new TreeCloner(false);
+        tree.traverse(cloner);
+        return cloner.getClonedTree();
+    }
+
+    private static class Entry {
+        private final HashTree tree;
+        private final long lastModified;
+        private final long size;
+
+        private Entry(HashTree tree, long lastModified, long size) {
+            this.tree = tree;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private boolean matches(long lastModified, long size) {
+            return this.lastModified == lastModified && this.size == size;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// Cumulative metrics of one JMeter run since its start; latency in microseconds. Runs in a
+// fork report the fork and the fork's run number, in-process runs report fork 0.
+@Data
+@Builder
+public class JMeterSnapshot {
+    private int forkId;
+    private int forkRun;
+    private long elapsedMillis;
+    private long requests;
+    private long failures;
+    private long receivedBytes;
+    private LatencyHistogram latency;
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(forkId);
+        out.writeInt(forkRun);
+        out.writeLong(elapsedMillis);
+        out.writeLong(requests);
+        out.writeLong(failures);
+        out.writeLong(receivedBytes);
+        latency.writeTo(out);
+    }
+
+    static JMeterSnapshot readFrom(DataInputStream in) throws IOException {
+        return JMeterSnapshot.builder()
+                .forkId(in.readInt())
+                .forkRun(in.readInt())
+                .elapsedMillis(in.readLong())
+                .requests(in.readLong())
+                .failures(in.readLong())
+                .receivedBytes(in.readLong())
+                .latency(LatencyHistogram.readFrom(in))
+                .build();
+    }
+}
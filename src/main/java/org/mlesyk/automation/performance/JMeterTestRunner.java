@@ -9,18 +9,47 @@ import org.apache.jmeter.util.JMeterUtils;
 import org.apache.jorphan.collections.HashTree;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public class JMeterTestRunner {
 
     private final PerformanceConfig config;
     private final String jmeterHome;
+    private final JMeterPlanCache planCache = new JMeterPlanCache();
     private boolean initialized = false;
+    private int forks;
+    private JMeterForkPool forkPool;
 
     public JMeterTestRunner(PerformanceConfig config) {
         this.config = config;
         this.jmeterHome = config.jmeterHome();
+        this.forks = config.jmeterForks();
+    }
+
+    // Runs plans in up to `forks` pooled child JVMs (JMeterForkPool) with isolated JMeter
+    // properties, so runs may be started from several threads at once; 0 runs them in this JVM,
+    // one at a time
+    public JMeterTestRunner forked(int forks) {
+        if (forks < 0) {
+            throw new IllegalArgumentException("JMeter forks must be >= 0, got " + forks);
+        }
+        this.forks = forks;
+        return this;
+    }
+
+    // Stops the forks; the runner starts new ones if it is used again
+    public synchronized void close() {
+        if (forkPool != null) {
+            forkPool.close();
+            forkPool = null;
+        }
     }
 
     private synchronized void initializeJMeter() {
@@ -63,6 +92,39 @@ public class JMeterTestRunner {
         }
     }
 
+    // Initializes JMeter and parses the given plans ahead of time, so suites can pay the startup
+    // cost outside the measured window instead of inside their first test
+    public void warmUp(String... testPlanPaths) {
+        long startNanos = System.nanoTime();
+        initializeJMeter();
+
+        for (String testPlanPath : testPlanPaths) {
+            File testPlanFile = new File(testPlanPath);
+            if (!testPlanFile.exists()) {
+                LoggerUtil.warn("Skipping warm-up of missing JMeter test plan: {}", testPlanPath);
+                continue;
+            }
+            try {
+                planCache.load(testPlanFile);
+            } catch (Exception e) {
+                LoggerUtil.error("Failed to load JMeter test plan {}", testPlanPath, e);
+                throw new RuntimeException("JMeter warm-up failed", e);
+            }
+        }
+        if (forks > 0) {
+            forkPool().warmUp();
+        }
+        LoggerUtil.info("JMeter warmed up in {}ms ({} test plans, {} forks)",
+                (System.nanoTime() - startNanos) / 1_000_000, testPlanPaths.length, forks);
+    }
+
+    private synchronized JMeterForkPool forkPool() {
+        if (forkPool == null) {
+            forkPool = new JMeterForkPool(config, forks);
+        }
+        return forkPool;
+    }
+
     private File createDefaultPropertiesFile() {
         try {
             // Create temporary properties file
@@ -114,65 +176,143 @@ public class JMeterTestRunner {
 
         initializeJMeter();
 
-        LocalDateTime startTime = LocalDateTime.now();
+        // Forks parse and cache the plan themselves
+        File testPlanFile = new File(testPlanPath);
+        if (forks > 0 && testPlanFile.exists()) {
+            return runForked(testPlanFile, testName, jmeterProperties);
+        }
 
+        HashTree testPlanTree;
         try {
             // Load test plan
-            File testPlanFile = new File(testPlanPath);
             if (!testPlanFile.exists()) {
                 throw new IllegalArgumentException("Test plan file not found: " + testPlanPath);
             }
 
             LoggerUtil.debug("Loading test plan from: {}", testPlanFile.getAbsolutePath());
 
-            // Load the test plan - SaveService.loadTree() expects a File object
-            HashTree testPlanTree = SaveService.loadTree(testPlanFile);
-
-            // Set up result file
-            String resultFile = config.reportsDirectory() + "/" + testName + "_results.jtl";
-            File resultsFileObj = new File(resultFile);
-            resultsFileObj.getParentFile().mkdirs();
+            // Load the test plan - parsed once per file version, each run gets its own copy
+            testPlanTree = planCache.load(testPlanFile);
+        } catch (Exception e) {
+            LoggerUtil.error("JMeter test failed: {}", testName, e);
+            throw new RuntimeException("JMeter test execution failed", e);
+        }
+        return execute(testPlanTree, testName, jmeterProperties);
+    }
 
-            // Configure result collection
-            setupResultCollector(testPlanTree, resultFile);
+    // Runs the workload of a k6 script, built in code with JMeterPlanBuilder
+    public PerformanceTestResult runWorkload(K6Script script, String testName) {
+        LoggerUtil.info("Starting JMeter test: {} with {} scenarios built in code", testName, script.getScenarios().size());
 
-            // Apply JMeter properties
-            for (String key : jmeterProperties.stringPropertyNames()) {
-                JMeterUtils.setProperty(key, jmeterProperties.getProperty(key));
-                LoggerUtil.debug("Set JMeter property: {} = {}", key, jmeterProperties.getProperty(key));
-            }
+        initializeJMeter();
+        HashTree testPlanTree = JMeterPlanBuilder.build(script);
+        if (forks > 0) {
+            return runForked(savePlan(testPlanTree, testName), testName, new Properties());
+        }
+        return execute(testPlanTree, testName, new Properties());
+    }
 
-            // Create and configure JMeter engine
-            StandardJMeterEngine jmeter = new StandardJMeterEngine();
+    private PerformanceTestResult execute(HashTree testPlanTree, String testName, Properties jmeterProperties) {
+        LocalDateTime startTime = LocalDateTime.now();
 
-            // Configure the test plan
-            jmeter.configure(testPlanTree);
+        try {
+            String resultFile = resultFile(testName);
+            JMeterMetricsCollector metrics = new JMeterMetricsCollector();
 
             LoggerUtil.info("Starting JMeter test execution...");
+            runEngine(testPlanTree, resultFile, metrics, jmeterProperties);
+
+            PerformanceTestResult result = buildResult(testName, startTime, metrics.snapshot(), resultFile);
+
+            // Generate HTML report
+            generateJMeterReport(resultFile, testName);
+
+            LoggerUtil.info("JMeter test completed: {}", testName);
+            return result;
 
-            // Run the test
-            jmeter.run();
+        } catch (Exception e) {
+            LoggerUtil.error("JMeter test failed: {}", testName, e);
+            throw new RuntimeException("JMeter test execution failed", e);
+        }
+    }
 
-            LocalDateTime endTime = LocalDateTime.now();
+    private PerformanceTestResult runForked(File testPlanFile, String testName, Properties jmeterProperties) {
+        LocalDateTime startTime = LocalDateTime.now();
 
-            // Wait a moment for results to be written
-            Thread.sleep(2000);
+        try {
+            String resultFile = resultFile(testName);
+            JMeterSnapshot snapshot = forkPool().run(testPlanFile, testName, resultFile, jmeterProperties,
+                    live -> LoggerUtil.info("JMeter {} live {}s - {} requests, p95 {}ms, {} failed", testName,
+                            String.format("%.1f", live.getElapsedMillis() / 1000.0), live.getRequests(),
+                            live.getLatency().getPercentile(95) / 1000, live.getFailures()));
 
-            // Parse results and create report
-            PerformanceTestResult result = parseJMeterResults(resultFile, testName, startTime, endTime);
+            PerformanceTestResult result = buildResult(testName, startTime, snapshot, resultFile);
+            result.getCustomMetrics().put("fork", snapshot.getForkId());
+            result.getCustomMetrics().put("forkRun", snapshot.getForkRun());
 
-            // Generate HTML report
             generateJMeterReport(resultFile, testName);
 
-            LoggerUtil.info("JMeter test completed: {}", testName);
+            LoggerUtil.info("JMeter test completed in fork {}: {}", snapshot.getForkId(), testName);
             return result;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("JMeter test interrupted", e);
         } catch (Exception e) {
             LoggerUtil.error("JMeter test failed: {}", testName, e);
             throw new RuntimeException("JMeter test execution failed", e);
         }
     }
 
+    // Runs the plan in this JVM until the test ends, writing samples to the JTL file and to metrics
+    void runEngine(HashTree testPlanTree, String resultFile, JMeterMetricsCollector metrics, Properties jmeterProperties) {
+        new File(resultFile).getParentFile().mkdirs();
+
+        // Configure result collection
+        setupResultCollector(testPlanTree, resultFile);
+        testPlanTree.add(testPlanTree.getArray()[0], metrics);
+
+        // Apply JMeter properties
+        for (String key : jmeterProperties.stringPropertyNames()) {
+            JMeterUtils.setProperty(key, jmeterProperties.getProperty(key));
+            LoggerUtil.debug("Set JMeter property: {} = {}", key, jmeterProperties.getProperty(key));
+        }
+
+        // Create and configure JMeter engine
+        StandardJMeterEngine jmeter = new StandardJMeterEngine();
+
+        // Configure the test plan
+        jmeter.configure(testPlanTree);
+
+        // Run the test
+        jmeter.run();
+    }
+
+    // Parsed once per file version; each call gets its own copy
+    HashTree loadPlan(File testPlanFile) {
+        try {
+            return planCache.load(testPlanFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load JMeter test plan: " + testPlanFile, e);
+        }
+    }
+
+    // Plans built in code reach the forks as .jmx files, which can also be opened in the JMeter GUI
+    private File savePlan(HashTree testPlanTree, String testName) {
+        File planFile = new File(config.reportsDirectory() + "/plans/" + testName + ".jmx");
+        planFile.getParentFile().mkdirs();
+        try (OutputStream out = new FileOutputStream(planFile)) {
+            SaveService.saveTree(testPlanTree, out);
+            return planFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save JMeter test plan: " + planFile, e);
+        }
+    }
+
+    private String resultFile(String testName) {
+        return config.reportsDirectory() + "/" + testName + "_results.jtl";
+    }
+
     private void setupResultCollector(HashTree testPlanTree, String resultFile) {
         LoggerUtil.debug("Setting up result collector for: {}", resultFile);
 
@@ -191,46 +331,43 @@ public class JMeterTestRunner {
         testPlanTree.add(testPlanTree.getArray()[0], logger);
     }
 
-    private PerformanceTestResult parseJMeterResults(String resultFile, String testName,
-                                                     LocalDateTime startTime, LocalDateTime endTime) {
-        LoggerUtil.info("Parsing JMeter results from: {}", resultFile);
-
-        try {
-            File resultsFile = new File(resultFile);
-            if (!resultsFile.exists() || resultsFile.length() == 0) {
-                LoggerUtil.warn("Results file is empty or doesn't exist: {}", resultFile);
-                return createEmptyResult(testName, startTime, endTime);
-            }
-
-            // Simple parsing - in a real implementation, you'd parse the JTL XML file
-            // For now, return mock data
-            long duration = java.time.Duration.between(startTime, endTime).getSeconds();
-
-            return PerformanceTestResult.builder()
-                    .testName(testName)
-                    .testType("JMETER")
-                    .startTime(startTime)
-                    .endTime(endTime)
-                    .durationSeconds(duration)
-                    .totalRequests(1000L) // Would be parsed from actual results
-                    .successfulRequests(995L)
-                    .failedRequests(5L)
-                    .errorRate(0.5)
-                    .throughput(16.6)
-                    .averageResponseTime(500L)
-                    .minResponseTime(100L)
-                    .maxResponseTime(2000L)
-                    .p50ResponseTime(450L)
-                    .p95ResponseTime(1200L)
-                    .p99ResponseTime(1800L)
-                    .reportPath(resultFile)
-                    .passed(true)
-                    .build();
-
-        } catch (Exception e) {
-            LoggerUtil.error("Failed to parse JMeter results", e);
+    // Latency is recorded in microseconds and reported in ms
+    private PerformanceTestResult buildResult(String testName, LocalDateTime startTime, JMeterSnapshot snapshot,
+                                              String resultFile) {
+        LocalDateTime endTime = LocalDateTime.now();
+        long requests = snapshot.getRequests();
+        if (requests == 0) {
+            LoggerUtil.warn("JMeter test {} sent no requests", testName);
             return createEmptyResult(testName, startTime, endTime);
         }
+        LatencyHistogram latency = snapshot.getLatency();
+        long failures = snapshot.getFailures();
+
+        Map<String, Object> customMetrics = new LinkedHashMap<>();
+        customMetrics.put("receivedBytes", snapshot.getReceivedBytes());
+
+        return PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("JMETER")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(java.time.Duration.between(startTime, endTime).getSeconds())
+                .totalRequests(requests)
+                .successfulRequests(requests - failures)
+                .failedRequests(failures)
+                .errorRate((double) failures / requests * 100)
+                .throughput(snapshot.getElapsedMillis() == 0 ? 0.0 : requests * 1000.0 / snapshot.getElapsedMillis())
+                .averageResponseTime(Math.round(latency.getMean() / 1000))
+                .minResponseTime(latency.getMin() / 1000)
+                .maxResponseTime(latency.getMax() / 1000)
+                .p50ResponseTime(latency.getPercentile(50) / 1000)
+                .p90ResponseTime(latency.getPercentile(90) / 1000)
+                .p95ResponseTime(latency.getPercentile(95) / 1000)
+                .p99ResponseTime(latency.getPercentile(99) / 1000)
+                .reportPath(resultFile)
+                .customMetrics(customMetrics)
+                .passed(true)
+                .build();
     }
 
     private PerformanceTestResult createEmptyResult(String testName, LocalDateTime startTime, LocalDateTime endTime) {
@@ -249,9 +386,11 @@ public class JMeterTestRunner {
                 .minResponseTime(0L)
                 .maxResponseTime(0L)
                 .p50ResponseTime(0L)
+                .p90ResponseTime(0L)
                 .p95ResponseTime(0L)
                 .p99ResponseTime(0L)
                 .reportPath("")
+                .customMetrics(new LinkedHashMap<>())
                 .passed(false)
                 .failureReason("No results generated")
                 .build();
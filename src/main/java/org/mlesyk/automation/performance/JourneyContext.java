@@ -0,0 +1,49 @@
+package org.mlesyk.automation.performance;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Data handed from one journey step to the next (e.g. the user fetched in step 1 drives the
+// posts request in step 2). One context per journey iteration, used by a single thread.
+public class JourneyContext {
+
+    private final int virtualUser;
+    private final long iteration;
+    private final Map<String, Object> values = new HashMap<>();
+
+    public JourneyContext(int virtualUser, long iteration) {
+        this.virtualUser = virtualUser;
+        this.iteration = iteration;
+    }
+
+    public int getVirtualUser() {
+        return virtualUser;
+    }
+
+    public long getIteration() {
+        return iteration;
+    }
+
+    public JourneyContext put(String key, Object value) {
+        values.put(key, value);
+        return this;
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public <T> T get(String key, Class<T> type) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Journey value '" + key + "' was not set by an earlier step");
+        }
+        return type.cast(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(String key, Class<T> elementType) {
+        return (List<T>) get(key, List.class);
+    }
+}
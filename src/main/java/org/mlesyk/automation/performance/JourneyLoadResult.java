@@ -0,0 +1,88 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Builder
+public class JourneyLoadResult {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long durationMillis;
+    private int virtualUsers;
+
+    private long startedJourneys;
+    private long completedJourneys;
+    private long failedJourneys;
+
+    // End-to-end latency of completed journeys, all journey types together
+    private LatencyStats endToEnd;
+    private Map<String, JourneyStats> journeys;
+    private String firstError;
+
+    public double getThroughput() {
+        if (durationMillis == 0) return 0.0;
+        return completedJourneys * 1000.0 / durationMillis;
+    }
+
+    public double getErrorRate() {
+        if (startedJourneys == 0) return 0.0;
+        return (double) failedJourneys / startedJourneys * 100;
+    }
+
+    // Journeys are the unit of work here: one "request" in the result is one journey iteration
+    public PerformanceTestResult toPerformanceTestResult(String testName) {
+        Map<String, Object> customMetrics = new HashMap<>();
+        customMetrics.put("virtualUsers", virtualUsers);
+        customMetrics.put("journeys", journeys);
+        if (firstError != null) {
+            customMetrics.put("firstError", firstError);
+        }
+
+        return PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("JOURNEY")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(durationMillis / 1000)
+                .totalRequests(startedJourneys)
+                .successfulRequests(completedJourneys)
+                .failedRequests(failedJourneys)
+                .errorRate(getErrorRate())
+                .throughput(getThroughput())
+                .averageResponseTime(Math.round(endToEnd.getAverage()))
+                .minResponseTime(Math.round(endToEnd.getMin()))
+                .maxResponseTime(Math.round(endToEnd.getMax()))
+                .p50ResponseTime(Math.round(endToEnd.getP50()))
+                .p90ResponseTime(Math.round(endToEnd.getP90()))
+                .p95ResponseTime(Math.round(endToEnd.getP95()))
+                .p99ResponseTime(Math.round(endToEnd.getP99()))
+                .customMetrics(customMetrics)
+                .build();
+    }
+
+    @Data
+    @Builder
+    public static class JourneyStats {
+        private String name;
+        private int weight;
+        private long started;
+        private long completed;
+        private long failed;
+        private LatencyStats endToEnd;
+        private Map<String, StepStats> steps; // in step order
+    }
+
+    @Data
+    @Builder
+    public static class StepStats {
+        private String name;
+        private long executions;
+        private long failures;
+        private LatencyStats latency;
+    }
+}
@@ -0,0 +1,260 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.performance.JourneyLoadResult.JourneyStats;
+import org.mlesyk.automation.performance.JourneyLoadResult.StepStats;
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-model load driver for user journeys: each virtual user is a thread that repeatedly
+// picks a journey (by weight), runs its steps in order with a fresh JourneyContext and
+// optionally thinks between iterations. Latency is recorded per step and end-to-end per
+// journey into lock-free histograms, so recording adds no contention between users.
+public class JourneyLoadRunner {
+
+    private final List<JourneyRecorder> recorders = new ArrayList<>();
+    private int totalWeight;
+    private Duration thinkTime = Duration.ZERO;
+    private Duration rampUp = Duration.ZERO;
+
+    public JourneyLoadRunner addJourney(UserJourney journey, int weight) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Journey weight must be >= 1, got " + weight);
+        }
+        if (journey.getSteps().isEmpty()) {
+            throw new IllegalArgumentException("Journey " + journey.getName() + " has no steps");
+        }
+        recorders.add(new JourneyRecorder(journey, weight));
+        totalWeight += weight;
+        return this;
+    }
+
+    public JourneyLoadRunner addJourney(UserJourney journey) {
+        return addJourney(journey, 1);
+    }
+
+    public JourneyLoadRunner thinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+        return this;
+    }
+
+    // Virtual users are started evenly spread over the ramp-up period
+    public JourneyLoadRunner rampUp(Duration rampUp) {
+        this.rampUp = rampUp;
+        return this;
+    }
+
+    public JourneyLoadResult runForDuration(int virtualUsers, Duration duration) {
+        return run(virtualUsers, duration, Long.MAX_VALUE);
+    }
+
+    public JourneyLoadResult runIterations(int virtualUsers, long iterationsPerUser) {
+        return run(virtualUsers, null, iterationsPerUser);
+    }
+
+    private JourneyLoadResult run(int virtualUsers, Duration duration, long iterationsPerUser) {
+        if (recorders.isEmpty()) {
+            throw new IllegalStateException("No journeys added to the load runner");
+        }
+        if (virtualUsers < 1) {
+            throw new IllegalArgumentException("Virtual users must be >= 1, got " + virtualUsers);
+        }
+        LoggerUtil.info("Starting journey load - Virtual users: {}, Journeys: {}, Duration: {}, Iterations per user: {}",
+                virtualUsers, recorders.size(), duration, iterationsPerUser == Long.MAX_VALUE ? "unbounded" : iterationsPerUser);
+
+        recorders.forEach(JourneyRecorder::reset);
+        AtomicReference<String> firstError = new AtomicReference<>();
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long durationNanos = duration != null ? duration.toNanos() : 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(virtualUsers);
+        for (int vu = 0; vu < virtualUsers; vu++) {
+            int virtualUser = vu;
+            long startDelayNanos = rampUp.toNanos() * vu / virtualUsers;
+            executor.execute(() -> {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(startDelayNanos);
+                    for (long iteration = 0; iteration < iterationsPerUser; iteration++) {
+                        if (duration != null && System.nanoTime() - startNanos >= durationNanos) {
+                            break;
+                        }
+                        runJourney(pickJourney(), new JourneyContext(virtualUser, iteration), firstError);
+                        if (!thinkTime.isZero()) {
+                            TimeUnit.NANOSECONDS.sleep(thinkTime.toNanos());
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            LoggerUtil.warn("Journey load interrupted");
+        }
+
+        return buildResult(virtualUsers, startTime, System.nanoTime() - startNanos, firstError.get());
+    }
+
+    private JourneyRecorder pickJourney() {
+        if (recorders.size() == 1) {
+            return recorders.get(0);
+        }
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (JourneyRecorder recorder : recorders) {
+            ticket -= recorder.weight;
+            if (ticket < 0) {
+                return recorder;
+            }
+        }
+        return recorders.get(recorders.size() - 1);
+    }
+
+    private void runJourney(JourneyRecorder recorder, JourneyContext context, AtomicReference<String> firstError) {
+        recorder.started.increment();
+        List<UserJourney.Step> steps = recorder.steps;
+        long journeyStart = System.nanoTime();
+
+        for (int s = 0; s < steps.size(); s++) {
+            long stepStart = System.nanoTime();
+            try {
+                steps.get(s).execute(context);
+                recorder.stepLatency[s].record(micros(stepStart));
+            } catch (RuntimeException | AssertionError e) {
+                recorder.stepLatency[s].record(micros(stepStart));
+                recorder.stepFailures[s].increment();
+                recorder.failed.increment();
+                String error = recorder.journey.getName() + "/" + recorder.stepNames.get(s) + ": " + e.getMessage();
+                if (firstError.compareAndSet(null, error)) {
+                    LoggerUtil.warn("First journey failure - {}", error);
+                }
+                return;
+            }
+        }
+
+        recorder.endToEnd.record(micros(journeyStart));
+        recorder.completed.increment();
+    }
+
+    private JourneyLoadResult buildResult(int virtualUsers, LocalDateTime startTime, long elapsedNanos, String firstError) {
+        LatencyHistogram allJourneys = new LatencyHistogram();
+        Map<String, JourneyStats> journeys = new LinkedHashMap<>();
+        long started = 0;
+        long completed = 0;
+        long failed = 0;
+
+        for (JourneyRecorder recorder : recorders) {
+            allJourneys.add(recorder.endToEnd);
+            started += recorder.started.sum();
+            completed += recorder.completed.sum();
+            failed += recorder.failed.sum();
+
+            Map<String, StepStats> steps = new LinkedHashMap<>();
+            List<String> stepNames = recorder.stepNames;
+            for (int s = 0; s < stepNames.size(); s++) {
+                steps.put(stepNames.get(s), StepStats.builder()
+                        .name(stepNames.get(s))
+                        .executions(recorder.stepLatency[s].getCount())
+                        .failures(recorder.stepFailures[s].sum())
+                        .latency(LatencyStats.fromMicros(recorder.stepLatency[s]))
+                        .build());
+            }
+
+            journeys.put(recorder.journey.getName(), JourneyStats.builder()
+                    .name(recorder.journey.getName())
+                    .weight(recorder.weight)
+                    .started(recorder.started.sum())
+                    .completed(recorder.completed.sum())
+                    .failed(recorder.failed.sum())
+                    .endToEnd(LatencyStats.fromMicros(recorder.endToEnd))
+                    .steps(steps)
+                    .build());
+        }
+
+        JourneyLoadResult result = JourneyLoadResult.builder()
+                .startTime(startTime)
+                .endTime(LocalDateTime.now())
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .virtualUsers(virtualUsers)
+                .startedJourneys(started)
+                .completedJourneys(completed)
+                .failedJourneys(failed)
+                .endToEnd(LatencyStats.fromMicros(allJourneys))
+                .journeys(journeys)
+                .firstError(firstError)
+                .build();
+
+        for (JourneyStats journey : journeys.values()) {
+            LoggerUtil.info("Journey {} - completed: {}, failed: {}, p95: {}ms", journey.getName(),
+                    journey.getCompleted(), journey.getFailed(), String.format("%.1f", journey.getEndToEnd().getP95()));
+            for (StepStats step : journey.getSteps().values()) {
+                LoggerUtil.info("  Step {} - executions: {}, failures: {}, p95: {}ms", step.getName(),
+                        step.getExecutions(), step.getFailures(), String.format("%.1f", step.getLatency().getP95()));
+            }
+        }
+        LoggerUtil.info("Journey load completed - {} journeys in {}ms, {} journeys/s", completed,
+                result.getDurationMillis(), String.format("%.2f", result.getThroughput()));
+        return result;
+    }
+
+    private static long micros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+
+    private static class JourneyRecorder {
+        private final UserJourney journey;
+        private final int weight;
+        private final List<UserJourney.Step> steps;
+        private final List<String> stepNames;
+        private final LatencyHistogram endToEnd = new LatencyHistogram();
+        private final LatencyHistogram[] stepLatency;
+        private final LongAdder[] stepFailures;
+        private final LongAdder started = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private JourneyRecorder(UserJourney journey, int weight) {
+            this.journey = journey;
+            this.weight = weight;
+            // Snapshot, so steps added to the journey afterwards cannot outgrow the histograms
+            this.steps = List.copyOf(journey.getSteps());
+            this.stepNames = List.copyOf(journey.getStepNames());
+            int stepCount = steps.size();
+            this.stepLatency = new LatencyHistogram[stepCount];
+            this.stepFailures = new LongAdder[stepCount];
+            for (int s = 0; s < stepCount; s++) {
+                stepLatency[s] = new LatencyHistogram();
+                stepFailures[s] = new LongAdder();
+            }
+        }
+
+        // Recorders are reused when the same runner runs more than once
+        private void reset() {
+            endToEnd.reset();
+            for (int s = 0; s < stepLatency.length; s++) {
+                stepLatency[s].reset();
+                stepFailures[s].reset();
+            }
+            started.reset();
+            completed.reset();
+            failed.reset();
+        }
+    }
+}
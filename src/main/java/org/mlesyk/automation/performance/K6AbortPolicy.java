@@ -0,0 +1,43 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Limits for the rolling window of a running k6 test. A limit of 0 is not checked; windows
+// with fewer than minWindowRequests requests are never treated as a breach, so a single
+// failed request right after the start cannot abort a run.
+@Data
+@Builder
+public class K6AbortPolicy {
+    private double maxErrorRate; // percent
+    private long maxP95ResponseTime; // ms
+    private long sustainMillis;
+    private long minWindowRequests;
+
+    // Null when early abort is disabled
+    public static K6AbortPolicy fromConfig(PerformanceConfig config) {
+        if (!config.k6AbortEnabled()) {
+            return null;
+        }
+        return K6AbortPolicy.builder()
+                .maxErrorRate(config.k6AbortErrorRate())
+                .maxP95ResponseTime(config.k6AbortP95())
+                .sustainMillis(config.k6AbortSustainSeconds() * 1000L)
+                .minWindowRequests(config.k6AbortMinRequests())
+                .build();
+    }
+
+    // Description of the breached limit, or null when the window is within all limits
+    public String check(K6LiveSnapshot snapshot) {
+        if (snapshot.getWindowRequests() < minWindowRequests) {
+            return null;
+        }
+        if (maxErrorRate > 0 && snapshot.getWindowErrorRate() > maxErrorRate) {
+            return String.format("error rate %.1f%% above %.1f%%", snapshot.getWindowErrorRate(), maxErrorRate);
+        }
+        if (maxP95ResponseTime > 0 && snapshot.getWindowP95ResponseTime() > maxP95ResponseTime) {
+            return "p95 " + snapshot.getWindowP95ResponseTime() + "ms above " + maxP95ResponseTime + "ms";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package org.mlesyk.automation.performance;
+
+// Receives the live metrics of a running k6 test once per monitor interval, on the monitor thread
+@FunctionalInterface
+public interface K6LiveListener {
+
+    void onSnapshot(K6LiveSnapshot snapshot);
+}
@@ -0,0 +1,183 @@
+package org.mlesyk.automation.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Follows the --out json stream of a running k6 process and keeps metrics of a rolling window
+// over its last seconds. Every interval the window goes to the listeners as a K6LiveSnapshot
+// and is checked against the abort policy; a limit breached for the whole sustain period runs
+// the abort action, so a run that is clearly failing stops after seconds instead of minutes.
+//
+// Points land in one-second slots by the time they are read, which trails k6's own timestamps
+// by its output flush period - close enough for progress reporting and abort decisions.
+public class K6LiveMonitor {
+
+    private static final long SLOT_MILLIS = 1000;
+
+    private final K6OutputTail tail;
+    private final long intervalMillis;
+    private final Slot[] slots;
+    private final K6Metrics totals = new K6Metrics();
+    private final List<K6LiveListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<K6LiveSnapshot> snapshots = Collections.synchronizedList(new ArrayList<>());
+    private K6AbortPolicy abortPolicy;
+    private Runnable abortAction;
+    private ScheduledExecutorService ticker;
+    private long startMillis;
+    private long breachSinceMillis = -1;
+    private volatile String abortReason;
+
+    public K6LiveMonitor(Path jsonOutput, Duration window, Duration interval) {
+        this.tail = new K6OutputTail(jsonOutput, this::accept);
+        this.intervalMillis = interval.toMillis();
+        this.slots = new Slot[(int) Math.max(1, (window.toMillis() + SLOT_MILLIS - 1) / SLOT_MILLIS)];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    public K6LiveMonitor listener(K6LiveListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    // A null policy disables early abort
+    public K6LiveMonitor abortPolicy(K6AbortPolicy abortPolicy, Runnable abortAction) {
+        this.abortPolicy = abortPolicy;
+        this.abortAction = abortAction;
+        return this;
+    }
+
+    public void start() {
+        startMillis = System.currentTimeMillis();
+        ticker = Executors.newSingleThreadScheduledExecutor();
+        ticker.scheduleAtFixedRate(this::tick, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Reads the rest of the stream once k6 has exited; the totals are complete afterwards
+    public void stop() {
+        if (ticker == null) {
+            return;
+        }
+        ticker.shutdown();
+        try {
+            if (!ticker.awaitTermination(10, TimeUnit.SECONDS)) {
+                ticker.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ticker.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        ticker = null;
+        tail.poll();
+        tail.close();
+    }
+
+    public K6Metrics getTotals() {
+        return totals;
+    }
+
+    public List<K6LiveSnapshot> getSnapshots() {
+        return new ArrayList<>(snapshots);
+    }
+
+    public boolean isAborted() {
+        return abortReason != null;
+    }
+
+    public String getAbortReason() {
+        return abortReason;
+    }
+
+    private void accept(String line) {
+        JsonNode point = K6Metrics.parsePoint(line);
+        if (point == null) {
+            return;
+        }
+        totals.record(point);
+        long second = (System.currentTimeMillis() - startMillis) / SLOT_MILLIS;
+        Slot slot = slots[(int) (second % slots.length)];
+        if (slot.second != second) {
+            slot.second = second;
+            slot.metrics = new K6Metrics();
+        }
+        slot.metrics.record(point);
+    }
+
+    // Runs on the ticker thread only, which keeps the slots and totals single-threaded
+    private void tick() {
+        try {
+            tail.poll();
+            K6LiveSnapshot snapshot = snapshot(System.currentTimeMillis() - startMillis);
+            snapshots.add(snapshot);
+            for (K6LiveListener listener : listeners) {
+                listener.onSnapshot(snapshot);
+            }
+            checkAbortPolicy(snapshot);
+        } catch (RuntimeException e) {
+            // An exception would cancel the periodic task and end live reporting for the run
+            LoggerUtil.warn("k6 live monitoring failed: {}", e.getMessage());
+        }
+    }
+
+    private K6LiveSnapshot snapshot(long elapsedMillis) {
+        long currentSecond = elapsedMillis / SLOT_MILLIS;
+        long firstSecond = Math.max(0, currentSecond - slots.length + 1);
+        K6Metrics window = new K6Metrics();
+        for (Slot slot : slots) {
+            if (slot.metrics != null && slot.second >= firstSecond && slot.second <= currentSecond) {
+                window.add(slot.metrics);
+            }
+        }
+
+        long windowMillis = Math.max(1, elapsedMillis - firstSecond * SLOT_MILLIS);
+        long requests = window.getRequests();
+        long failed = window.getFailedRequests();
+        return K6LiveSnapshot.builder()
+                .elapsedMillis(elapsedMillis)
+                .windowMillis(windowMillis)
+                .windowRequests(requests)
+                .windowFailedRequests(failed)
+                .windowErrorRate(requests == 0 ? 0.0 : (double) failed / requests * 100)
+                .windowThroughput(requests * 1000.0 / windowMillis)
+                .windowP95ResponseTime(window.getDurations().getPercentile(95) / 1000)
+                .totalRequests(totals.getRequests())
+                .totalFailedRequests(totals.getFailedRequests())
+                .build();
+    }
+
+    private void checkAbortPolicy(K6LiveSnapshot snapshot) {
+        if (abortPolicy == null || abortReason != null) {
+            return;
+        }
+        String breach = abortPolicy.check(snapshot);
+        if (breach == null) {
+            breachSinceMillis = -1;
+            return;
+        }
+        if (breachSinceMillis < 0) {
+            breachSinceMillis = snapshot.getElapsedMillis();
+        }
+        long sustainedMillis = snapshot.getElapsedMillis() - breachSinceMillis;
+        if (sustainedMillis >= abortPolicy.getSustainMillis()) {
+            abortReason = breach + " for " + sustainedMillis / 1000 + "s";
+            LoggerUtil.warn("Aborting k6 test after {}s: {}", snapshot.getElapsedMillis() / 1000, abortReason);
+            abortAction.run();
+        }
+    }
+
+    private static class Slot {
+        private long second = -1;
+        private K6Metrics metrics;
+    }
+}
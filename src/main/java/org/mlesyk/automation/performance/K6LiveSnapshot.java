@@ -0,0 +1,19 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Progress of a running k6 test: metrics of the rolling window plus totals since the start
+@Data
+@Builder
+public class K6LiveSnapshot {
+    private long elapsedMillis;
+    private long windowMillis; // shorter than the configured window during the first seconds
+    private long windowRequests;
+    private long windowFailedRequests;
+    private double windowErrorRate; // percent
+    private double windowThroughput; // requests per second
+    private long windowP95ResponseTime; // ms
+    private long totalRequests;
+    private long totalFailedRequests;
+}
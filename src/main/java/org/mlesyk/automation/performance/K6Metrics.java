@@ -0,0 +1,100 @@
+package org.mlesyk.automation.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Request metrics read from the metric stream of k6 --out json (one JSON object per line).
+// Durations go into a LatencyHistogram, so the metrics of several k6 processes can be merged
+// with add() and still give exact-enough percentiles - averaging per-process percentiles would not.
+public class K6Metrics {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LatencyHistogram durations = new LatencyHistogram();
+    private long requests;
+    private long failedRequests;
+    private long failedChecks;
+    private boolean hasRequestFailures;
+
+    public static K6Metrics fromJsonOutput(Path jsonOutput) {
+        K6Metrics metrics = new K6Metrics();
+        try (BufferedReader reader = Files.newBufferedReader(jsonOutput, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                metrics.accept(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read k6 output: " + jsonOutput, e);
+        }
+        return metrics;
+    }
+
+    // Takes one line of the metric stream; anything but request points is ignored
+    public void accept(String line) {
+        JsonNode point = parsePoint(line);
+        if (point != null) {
+            record(point);
+        }
+    }
+
+    // The request point of a line, or null - lets callers parse once and record into several metrics
+    static JsonNode parsePoint(String line) {
+        // Cheap pre-filter: most lines are points of metrics that are not needed here
+        if (!line.contains("\"Point\"") || !(line.contains("\"http_req") || line.contains("\"errors\""))) {
+            return null;
+        }
+
+        JsonNode point;
+        try {
+            point = MAPPER.readTree(line);
+        } catch (IOException e) {
+            return null; // last line of a killed process may be cut off
+        }
+        return "Point".equals(point.path("type").asText()) ? point : null;
+    }
+
+    void record(JsonNode point) {
+        String metric = point.path("metric").asText();
+        double value = point.path("data").path("value").asDouble();
+
+        if ("http_req_duration".equals(metric)) {
+            durations.record(Math.round(value * 1000)); // ms -> micros
+        } else if ("http_reqs".equals(metric)) {
+            requests += Math.round(value);
+        } else if ("http_req_failed".equals(metric)) {
+            hasRequestFailures = true;
+            failedRequests += value != 0 ? 1 : 0;
+        } else if ("errors".equals(metric)) {
+            failedChecks += value != 0 ? 1 : 0;
+        }
+    }
+
+    public K6Metrics add(K6Metrics other) {
+        durations.add(other.durations);
+        requests += other.requests;
+        failedRequests += other.failedRequests;
+        failedChecks += other.failedChecks;
+        hasRequestFailures |= other.hasRequestFailures;
+        return this;
+    }
+
+    public LatencyHistogram getDurations() {
+        return durations;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    // http_req_failed when k6 reports it, otherwise the failed checks of the script's errors rate
+    public long getFailedRequests() {
+        return Math.min(requests, hasRequestFailures ? failedRequests : failedChecks);
+    }
+}
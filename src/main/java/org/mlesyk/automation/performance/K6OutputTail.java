@@ -0,0 +1,83 @@
+package org.mlesyk.automation.performance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Follows a k6 --out json file while k6 is still writing it. Every poll() hands the complete
+// lines appended since the previous poll to the consumer; a line that is only partly written
+// stays buffered until its newline arrives. The file may not exist yet when tailing starts.
+public class K6OutputTail implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final Consumer<String> consumer;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream(1024);
+    private FileChannel channel;
+    private long position;
+    private long lines;
+
+    public K6OutputTail(Path file, Consumer<String> consumer) {
+        this.file = file;
+        this.consumer = consumer;
+    }
+
+    // Returns the number of lines handed to the consumer
+    public int poll() {
+        try {
+            if (channel == null) {
+                if (!Files.exists(file)) {
+                    return 0;
+                }
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+            }
+
+            int count = 0;
+            int read;
+            while ((read = channel.read(buffer.clear(), position)) > 0) {
+                position += read;
+                byte[] bytes = buffer.array();
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == '\n') {
+                        partialLine.write(bytes, start, i - start);
+                        consumer.accept(partialLine.toString(StandardCharsets.UTF_8));
+                        partialLine.reset();
+                        start = i + 1;
+                        count++;
+                    }
+                }
+                partialLine.write(bytes, start, read - start);
+            }
+            lines += count;
+            return count;
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to tail k6 output: " + file, e);
+        }
+    }
+
+    public long getLines() {
+        return lines;
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close k6 output: " + file, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package org.mlesyk.automation.performance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// One k6 scenario: an executor with its load profile plus the requests an iteration sends.
+// Closed model (constant-vus, ramping-vus) fixes the number of virtual users; open model
+// (constant-arrival-rate, ramping-arrival-rate) fixes the iteration rate regardless of how
+// slow the responses get. Requests are picked per iteration by weight:
+//
+//   K6Scenario.rampingArrivalRate("browse", 5, 20, 100)
+//           .stage(Duration.ofSeconds(30), 50)
+//           .stage(Duration.ofMinutes(2), 50)
+//           .get("/posts", 3)
+//           .get("/posts/{rand:100}", 1)
+//           .tag("flow", "browse");
+//
+// "{rand:N}" in a path is replaced by a random number from 1 to N on every request.
+// batch() sends all requests of the scenario together (http.batch) on every iteration instead.
+public class K6Scenario {
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    static final Pattern RANDOM_PLACEHOLDER = Pattern.compile("\\{rand:(\\d+)}");
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "PATCH", "DELETE", "HEAD", "OPTIONS");
+
+    private final String name;
+    private final String executor;
+    private final Map<String, Object> executorOptions = new LinkedHashMap<>();
+    private final List<Stage> stages = new ArrayList<>();
+    private final List<Request> requests = new ArrayList<>();
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private Duration startTime;
+    private double thinkTimeSeconds;
+    private boolean randomThinkTime;
+    private boolean batch;
+
+    private K6Scenario(String name, String executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    public static K6Scenario constantVus(String name, int vus, Duration duration) {
+        K6Scenario scenario = new K6Scenario(name, "constant-vus");
+        scenario.executorOptions.put("vus", vus);
+        scenario.executorOptions.put("duration", duration);
+        return scenario;
+    }
+
+    // Add the load profile with stage(duration, targetVus)
+    public static K6Scenario rampingVus(String name, int startVus) {
+        K6Scenario scenario = new K6Scenario(name, "ramping-vus");
+        scenario.executorOptions.put("startVUs", startVus);
+        return scenario;
+    }
+
+    public static K6Scenario constantArrivalRate(String name, int iterationsPerSecond, Duration duration,
+                                                 int preAllocatedVus, int maxVus) {
+        K6Scenario scenario = new K6Scenario(name, "constant-arrival-rate");
+        scenario.executorOptions.put("rate", iterationsPerSecond);
+        scenario.executorOptions.put("timeUnit", Duration.ofSeconds(1));
+        scenario.executorOptions.put("duration", duration);
+        scenario.executorOptions.put("preAllocatedVUs", preAllocatedVus);
+        scenario.executorOptions.put("maxVUs", maxVus);
+        return scenario;
+    }
+
+    // Add the load profile with stage(duration, targetIterationsPerSecond)
+    public static K6Scenario rampingArrivalRate(String name, int startIterationsPerSecond,
+                                                int preAllocatedVus, int maxVus) {
+        K6Scenario scenario = new K6Scenario(name, "ramping-arrival-rate");
+        scenario.executorOptions.put("startRate", startIterationsPerSecond);
+        scenario.executorOptions.put("timeUnit", Duration.ofSeconds(1));
+        scenario.executorOptions.put("preAllocatedVUs", preAllocatedVus);
+        scenario.executorOptions.put("maxVUs", maxVus);
+        return scenario;
+    }
+
+    public K6Scenario stage(Duration duration, int target) {
+        stages.add(new Stage(duration, target));
+        return this;
+    }
+
+    public K6Scenario get(String path) {
+        return get(path, 1);
+    }
+
+    public K6Scenario get(String path, int weight) {
+        return request("GET", path, null, weight, 200);
+    }
+
+    public K6Scenario post(String path, String jsonBody, int weight) {
+        return request("POST", path, jsonBody, weight, 201);
+    }
+
+    public K6Scenario request(String method, String path, String jsonBody, int weight, int expectedStatus) {
+        requests.add(new Request(method, path, jsonBody, weight, expectedStatus));
+        return this;
+    }
+
+    // Every iteration sends all requests in parallel with http.batch; weights do not apply
+    public K6Scenario batch() {
+        this.batch = true;
+        return this;
+    }
+
+    // Delays the scenario relative to the start of the test, e.g. to overlay a spike on base load
+    public K6Scenario startTime(Duration startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    public K6Scenario thinkTime(double seconds) {
+        this.thinkTimeSeconds = seconds;
+        this.randomThinkTime = false;
+        return this;
+    }
+
+    // Uniformly random pause between 0 and maxSeconds
+    public K6Scenario randomThinkTime(double maxSeconds) {
+        this.thinkTimeSeconds = maxSeconds;
+        this.randomThinkTime = true;
+        return this;
+    }
+
+    public K6Scenario tag(String key, String value) {
+        tags.put(key, value);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getExecutor() {
+        return executor;
+    }
+
+    // Read by JMeterPlanBuilder, which turns the same scenario into a JMeter thread group
+    Map<String, Object> getExecutorOptions() {
+        return executorOptions;
+    }
+
+    List<Stage> getStages() {
+        return stages;
+    }
+
+    List<Request> getRequests() {
+        return requests;
+    }
+
+    Duration getStartTime() {
+        return startTime;
+    }
+
+    double getThinkTimeSeconds() {
+        return thinkTimeSeconds;
+    }
+
+    boolean isRandomThinkTime() {
+        return randomThinkTime;
+    }
+
+    boolean isBatch() {
+        return batch;
+    }
+
+    List<String> validate() {
+        List<String> errors = new ArrayList<>();
+        String prefix = "Scenario '" + name + "': ";
+        if (name == null || !NAME.matcher(name).matches()) {
+            errors.add(prefix + "name must be a JavaScript identifier");
+        }
+        for (Map.Entry<String, Object> option : executorOptions.entrySet()) {
+            Object value = option.getValue();
+            boolean positive = value instanceof Duration duration ? !duration.isNegative() && !duration.isZero()
+                    : option.getKey().startsWith("start") ? (Integer) value >= 0 : (Integer) value > 0;
+            if (!positive) {
+                errors.add(prefix + option.getKey() + " must be " + (option.getKey().startsWith("start") ? ">= 0" : "> 0"));
+            }
+        }
+        if (executorOptions.containsKey("maxVUs")
+                && (Integer) executorOptions.get("maxVUs") < (Integer) executorOptions.get("preAllocatedVUs")) {
+            errors.add(prefix + "maxVUs must be >= preAllocatedVUs");
+        }
+        boolean ramping = executor.startsWith("ramping");
+        if (ramping && stages.isEmpty()) {
+            errors.add(prefix + executor + " needs at least one stage");
+        }
+        if (!ramping && !stages.isEmpty()) {
+            errors.add(prefix + executor + " does not take stages");
+        }
+        for (Stage stage : stages) {
+            if (stage.duration.isNegative() || stage.duration.isZero() || stage.target < 0) {
+                errors.add(prefix + "stage needs a positive duration and a target >= 0");
+            }
+        }
+        if (requests.isEmpty()) {
+            errors.add(prefix + "no requests");
+        }
+        for (Request request : requests) {
+            if (!METHODS.contains(request.method)) {
+                errors.add(prefix + "unsupported method " + request.method);
+            }
+            if (request.path == null || !request.path.startsWith("/")) {
+                errors.add(prefix + "path must start with '/': " + request.path);
+            }
+            if (request.weight < 1) {
+                errors.add(prefix + "weight must be >= 1 for " + request.method + " " + request.path);
+            }
+            if (batch && request.weight != 1) {
+                errors.add(prefix + "batch requests take no weight: " + request.method + " " + request.path);
+            }
+        }
+        if (thinkTimeSeconds < 0) {
+            errors.add(prefix + "think time must be >= 0");
+        }
+        return errors;
+    }
+
+    void renderOptions(StringBuilder js) {
+        js.append("        ").append(name).append(": {\n");
+        js.append("            executor: ").append(K6Script.quote(executor)).append(",\n");
+        if (startTime != null) {
+            js.append("            startTime: ").append(K6Script.quote(K6Script.duration(startTime))).append(",\n");
+        }
+        executorOptions.forEach((key, value) -> js.append("            ").append(key).append(": ")
+                .append(value instanceof Duration duration ? K6Script.quote(K6Script.duration(duration)) : value)
+                .append(",\n"));
+        if (!stages.isEmpty()) {
+            js.append("            stages: [\n");
+            for (Stage stage : stages) {
+                js.append("                { duration: ").append(K6Script.quote(K6Script.duration(stage.duration)))
+                        .append(", target: ").append(stage.target).append(" },\n");
+            }
+            js.append("            ],\n");
+        }
+        if (!tags.isEmpty()) {
+            js.append("            tags: ").append(K6Script.object(tags)).append(",\n");
+        }
+        js.append("            exec: ").append(K6Script.quote(name)).append(",\n");
+        js.append("        },\n");
+    }
+
+    void renderFunction(StringBuilder js) {
+        js.append("export function ").append(name).append("() {\n");
+        if (batch) {
+            renderBatch(js);
+        } else {
+            renderPick(js);
+        }
+        if (thinkTimeSeconds > 0) {
+            js.append("    sleep(").append(randomThinkTime ? "Math.random() * " : "")
+                    .append(K6Script.number(thinkTimeSeconds)).append(");\n");
+        }
+        js.append("}\n");
+    }
+
+    private void renderPick(StringBuilder js) {
+        int totalWeight = requests.stream().mapToInt(request -> request.weight).sum();
+
+        js.append("    let response;\n");
+        js.append("    let expected;\n");
+        if (requests.size() == 1) {
+            renderRequest(js, requests.get(0), "    ");
+        } else {
+            js.append("    let roll = Math.random() * ").append(totalWeight).append(";\n");
+            int cumulative = 0;
+            for (int i = 0; i < requests.size(); i++) {
+                Request request = requests.get(i);
+                cumulative += request.weight;
+                js.append(i == 0 ? "    if (roll < " + cumulative + ") {\n"
+                        : i == requests.size() - 1 ? "    } else {\n"
+                        : "    } else if (roll < " + cumulative + ") {\n");
+                renderRequest(js, request, "        ");
+            }
+            js.append("    }\n");
+        }
+        js.append("    let ok = check(response, {\n");
+        js.append("        'status is expected': (r) => r.status === expected,\n");
+        js.append("    });\n");
+        js.append("    errorRate.add(!ok);\n");
+    }
+
+    private void renderBatch(StringBuilder js) {
+        js.append("    let responses = http.batch([\n");
+        for (Request request : requests) {
+            js.append("        [").append(requestArguments(request)).append("],\n");
+        }
+        js.append("    ]);\n");
+        js.append("    let expected = [").append(requests.stream()
+                .map(request -> String.valueOf(request.expectedStatus)).collect(Collectors.joining(", "))).append("];\n");
+        js.append("    for (let i = 0; i < responses.length; i++) {\n");
+        js.append("        let ok = check(responses[i], {\n");
+        js.append("            'status is expected': (r) => r.status === expected[i],\n");
+        js.append("        });\n");
+        js.append("        errorRate.add(!ok);\n");
+        js.append("    }\n");
+    }
+
+    private static void renderRequest(StringBuilder js, Request request, String indent) {
+        js.append(indent).append("response = http.request(").append(requestArguments(request)).append(");\n");
+        js.append(indent).append("expected = ").append(request.expectedStatus).append(";\n");
+    }
+
+    // method, url, body, params - the same for http.request() and an http.batch() entry
+    private static String requestArguments(Request request) {
+        String paramsJs = "{ tags: " + K6Script.object(Map.of("name", request.method + " " + request.path));
+        if (request.body != null) {
+            paramsJs += ", headers: " + K6Script.object(Map.of("Content-Type", "application/json"));
+        }
+        paramsJs += " }";
+
+        return K6Script.quote(request.method) + ", BASE_URL + " + pathExpression(request.path) + ", "
+                + (request.body != null ? K6Script.quote(request.body) : "null") + ", " + paramsJs;
+    }
+
+    // '/posts/{rand:100}' -> '/posts/' + (Math.floor(Math.random() * 100) + 1)
+    private static String pathExpression(String path) {
+        StringBuilder expression = new StringBuilder();
+        Matcher matcher = RANDOM_PLACEHOLDER.matcher(path);
+        int last = 0;
+        while (matcher.find()) {
+            if (matcher.start() > last) {
+                appendPart(expression, K6Script.quote(path.substring(last, matcher.start())));
+            }
+            appendPart(expression, "(Math.floor(Math.random() * " + matcher.group(1) + ") + 1)");
+            last = matcher.end();
+        }
+        if (last < path.length()) {
+            appendPart(expression, K6Script.quote(path.substring(last)));
+        }
+        return expression.toString();
+    }
+
+    private static void appendPart(StringBuilder expression, String part) {
+        if (expression.length() > 0) {
+            expression.append(" + ");
+        }
+        expression.append(part);
+    }
+
+    static class Stage {
+        final Duration duration;
+        final int target;
+
+        private Stage(Duration duration, int target) {
+            this.duration = duration;
+            this.target = target;
+        }
+    }
+
+    static class Request {
+        final String method;
+        final String path;
+        final String body;
+        final int weight;
+        final int expectedStatus;
+
+        private Request(String method, String path, String body, int weight, int expectedStatus) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+            this.weight = weight;
+            this.expectedStatus = expectedStatus;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package org.mlesyk.automation.performance;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Typed builder for k6 scripts: one or more scenarios running side by side, thresholds
+// (optionally aborting the run as soon as they fail) and global tags. render() validates the
+// whole script and fails with every problem found instead of leaving it to k6 at run time.
+//
+//   String js = K6Script.forBaseUrl(baseUrl)
+//           .scenario(K6Scenario.constantVus("browse", 20, Duration.ofMinutes(5)).get("/posts").thinkTime(1))
+//           .scenario(K6Scenario.constantArrivalRate("publish", 5, Duration.ofMinutes(5), 10, 50)
+//                   .post("/posts", "{\"title\":\"t\",\"body\":\"b\",\"userId\":1}", 1))
+//           .thresholdsFrom(performanceConfig)
+//           .threshold("http_req_duration{scenario:publish}", "p(99)<3000", true)
+//           .render();
+public class K6Script {
+
+    private static final Pattern METRIC = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\{[^{}']+})?");
+    private static final Pattern EXPRESSION = Pattern.compile(
+            "(avg|min|max|med|p\\(\\d+(\\.\\d+)?\\)|rate|count|value)\\s*(<|<=|>|>=|==|===|!=)\\s*\\d+(\\.\\d+)?");
+
+    private final String baseUrl;
+    private final List<K6Scenario> scenarios = new ArrayList<>();
+    private final Map<String, List<Threshold>> thresholds = new LinkedHashMap<>();
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    private K6Script(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static K6Script forBaseUrl(String baseUrl) {
+        return new K6Script(baseUrl);
+    }
+
+    public K6Script scenario(K6Scenario scenario) {
+        scenarios.add(scenario);
+        return this;
+    }
+
+    public K6Script threshold(String metric, String expression) {
+        return threshold(metric, expression, false);
+    }
+
+    // abortOnFail stops the whole run as soon as the threshold is crossed
+    public K6Script threshold(String metric, String expression, boolean abortOnFail) {
+        thresholds.computeIfAbsent(metric, key -> new ArrayList<>()).add(new Threshold(expression, abortOnFail));
+        return this;
+    }
+
+    // p95/p99 response time and error rate limits of the performance configuration
+    public K6Script thresholdsFrom(PerformanceConfig config) {
+        return thresholdsFrom(config, false);
+    }
+
+    public K6Script thresholdsFrom(PerformanceConfig config, boolean abortOnFail) {
+        threshold("http_req_duration", "p(95)<" + config.responseTimeP95Threshold(), abortOnFail);
+        threshold("http_req_duration", "p(99)<" + config.responseTimeP99Threshold(), abortOnFail);
+        threshold("errors", "rate<" + number(config.errorRateThreshold() / 100), abortOnFail);
+        return this;
+    }
+
+    public K6Script tag(String key, String value) {
+        tags.put(key, value);
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<K6Scenario> getScenarios() {
+        return new ArrayList<>(scenarios);
+    }
+
+    public List<String> validate() {
+        List<String> errors = new ArrayList<>();
+        if (baseUrl == null || !baseUrl.matches("https?://\\S+")) {
+            errors.add("Base URL must be an http(s) URL: " + baseUrl);
+        }
+        if (scenarios.isEmpty()) {
+            errors.add("Script has no scenarios");
+        }
+        List<String> names = new ArrayList<>();
+        for (K6Scenario scenario : scenarios) {
+            if (names.contains(scenario.getName())) {
+                errors.add("Duplicate scenario name '" + scenario.getName() + "'");
+            }
+            names.add(scenario.getName());
+            errors.addAll(scenario.validate());
+        }
+        thresholds.forEach((metric, list) -> {
+            if (!METRIC.matcher(metric).matches()) {
+                errors.add("Invalid threshold metric: " + metric);
+            }
+            list.stream()
+                    .filter(threshold -> !EXPRESSION.matcher(threshold.expression).matches())
+                    .forEach(threshold -> errors.add("Invalid threshold for " + metric + ": " + threshold.expression));
+        });
+        return errors;
+    }
+
+    public String render() {
+        List<String> errors = validate();
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Invalid k6 script:\n  " + String.join("\n  ", errors));
+        }
+
+        StringBuilder js = new StringBuilder(2048);
+        js.append("import http from 'k6/http';\n");
+        js.append("import { check, sleep } from 'k6';\n");
+        js.append("import { Rate } from 'k6/metrics';\n\n");
+        js.append("export let errorRate = new Rate('errors');\n\n");
+        js.append("const BASE_URL = ").append(quote(baseUrl.replaceAll("/+$", ""))).append(";\n\n");
+
+        js.append("export let options = {\n");
+        if (!tags.isEmpty()) {
+            js.append("    tags: ").append(object(tags)).append(",\n");
+        }
+        js.append("    scenarios: {\n");
+        scenarios.forEach(scenario -> scenario.renderOptions(js));
+        js.append("    },\n");
+        if (!thresholds.isEmpty()) {
+            js.append("    thresholds: {\n");
+            thresholds.forEach((metric, list) -> js.append("        ")
+                    .append(metric.contains("{") ? quote(metric) : metric).append(": [")
+                    .append(list.stream().map(Threshold::render).collect(Collectors.joining(", ")))
+                    .append("],\n"));
+            js.append("    },\n");
+        }
+        js.append("};\n");
+
+        for (K6Scenario scenario : scenarios) {
+            js.append("\n");
+            scenario.renderFunction(js);
+        }
+        return js.toString();
+    }
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('\'');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '\'' -> quoted.append("\\'");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                default -> quoted.append(c);
+            }
+        }
+        return quoted.append('\'').toString();
+    }
+
+    static String object(Map<String, String> entries) {
+        return entries.entrySet().stream()
+                .map(entry -> quote(entry.getKey()) + ": " + quote(entry.getValue()))
+                .collect(Collectors.joining(", ", "{ ", " }"));
+    }
+
+    // k6 duration string: whole seconds when possible, milliseconds otherwise
+    static String duration(Duration duration) {
+        long millis = duration.toMillis();
+        return millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms";
+    }
+
+    static String number(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    private static class Threshold {
+        private final String expression;
+        private final boolean abortOnFail;
+
+        private Threshold(String expression, boolean abortOnFail) {
+            this.expression = expression;
+            this.abortOnFail = abortOnFail;
+        }
+
+        private String render() {
+            return abortOnFail
+                    ? "{ threshold: " + quote(expression) + ", abortOnFail: true }"
+                    : quote(expression);
+        }
+    }
+}
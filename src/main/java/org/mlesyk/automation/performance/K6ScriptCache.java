@@ -0,0 +1,157 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+// Content-addressed store for generated k6 scripts: a script is saved as <name>-<sha256>.js,
+// so runs with different parameters never overwrite each other and a run with the same
+// parameters reuses the existing file. Files are written to a temporary name and moved into
+// place atomically, which makes concurrent stores safe within a JVM and across forks.
+//
+// Reusing a script refreshes its modification time; collectGarbage() removes entries older
+// than the maximum age and the least recently used ones beyond the maximum count. Entries
+// used within the grace period are never removed, as a concurrent run may be about to start them.
+public class K6ScriptCache {
+
+    private static final Duration GRACE_PERIOD = Duration.ofMinutes(10);
+    private static final int HASH_LENGTH = 16;
+    private static final String EXTENSION = ".js";
+
+    private final Path directory;
+    private final int maxEntries;
+    private final Duration maxAge;
+
+    public K6ScriptCache(Path directory, int maxEntries, Duration maxAge) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+    }
+
+    public Path store(String name, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Path script = directory.resolve(name + "-" + hash(bytes) + EXTENSION);
+
+        try {
+            if (Files.exists(script) && touch(script)) {
+                LoggerUtil.debug("Reusing cached k6 script: {}", script);
+                return script;
+            }
+
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, name + "-", ".tmp");
+            try {
+                Files.write(temp, bytes);
+                moveIntoPlace(temp, script);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LoggerUtil.debug("Cached k6 script: {}", script);
+            return script;
+
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to cache k6 script {}", name, e);
+            throw new RuntimeException("Script caching failed", e);
+        }
+    }
+
+    // Returns the number of removed scripts
+    public int collectGarbage() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        List<Entry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> scripts = Files.newDirectoryStream(directory, "*-*" + EXTENSION)) {
+            for (Path script : scripts) {
+                entries.add(new Entry(script, Files.getLastModifiedTime(script).toMillis()));
+            }
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to list k6 script cache {}: {}", directory, e.getMessage());
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.lastUsed).reversed());
+        int removed = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            long age = now - entry.lastUsed;
+            boolean expired = age > maxAge.toMillis() || i >= maxEntries;
+            if (expired && age > GRACE_PERIOD.toMillis() && delete(entry.script)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            LoggerUtil.info("Removed {} old k6 scripts from {}", removed, directory);
+        }
+        return removed;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private static void moveIntoPlace(Path temp, Path script) throws IOException {
+        try {
+            Files.move(temp, script, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same content under the same name: a concurrent writer won the race
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, script, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // False when another process removed the script in the meantime
+    private static boolean touch(Path script) throws IOException {
+        try {
+            Files.setLastModifiedTime(script, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static boolean delete(Path script) {
+        try {
+            return Files.deleteIfExists(script);
+        } catch (IOException e) {
+            LoggerUtil.warn("Failed to remove cached k6 script {}: {}", script, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class Entry {
+        private final Path script;
+        private final long lastUsed;
+
+        private Entry(Path script, long lastUsed) {
+            this.script = script;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.mlesyk.automation.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Builder;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+// Request metrics from the end-of-test summary of k6 --summary-export. Trend stats of
+// http_req_duration are in ms and only those listed in --summary-trend-stats are present;
+// counters have count and rate; http_req_failed is a rate whose "passes" are the failed requests.
+@Data
+@Builder
+public class K6Summary {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private long requests;
+    private long failedRequests;
+    private double requestRate; // per second
+    private double averageDuration;
+    private double minDuration;
+    private double medianDuration;
+    private double maxDuration;
+    private double p90Duration;
+    private double p95Duration;
+    private double p99Duration;
+    private long dataReceivedBytes;
+    private long dataSentBytes;
+    private long maxVus;
+
+    public static K6Summary fromSummaryExport(Path summaryExport) {
+        JsonNode metrics;
+        try {
+            metrics = MAPPER.readTree(summaryExport.toFile()).path("metrics");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read k6 summary: " + summaryExport, e);
+        }
+        JsonNode durations = metrics.path("http_req_duration");
+        long requests = metrics.path("http_reqs").path("count").asLong();
+        // Without http_req_failed (older k6) the script's errors rate is the best estimate
+        JsonNode failures = metrics.has("http_req_failed") ? metrics.path("http_req_failed") : metrics.path("errors");
+
+        return K6Summary.builder()
+                .requests(requests)
+                .failedRequests(Math.min(requests, failures.path("passes").asLong()))
+                .requestRate(metrics.path("http_reqs").path("rate").asDouble())
+                .averageDuration(durations.path("avg").asDouble())
+                .minDuration(durations.path("min").asDouble())
+                .medianDuration(durations.path("med").asDouble())
+                .maxDuration(durations.path("max").asDouble())
+                .p90Duration(durations.path("p(90)").asDouble())
+                .p95Duration(durations.path("p(95)").asDouble())
+                .p99Duration(durations.path("p(99)").asDouble())
+                .dataReceivedBytes(metrics.path("data_received").path("count").asLong())
+                .dataSentBytes(metrics.path("data_sent").path("count").asLong())
+                .maxVus(metrics.path("vus_max").path("max").asLong())
+                .build();
+    }
+}
@@ -4,12 +4,22 @@ import org.mlesyk.automation.utils.LoggerUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class K6TestRunner {
 
@@ -17,86 +27,325 @@ public class K6TestRunner {
     private final String k6Binary;
     private final ObjectMapper objectMapper;
 
+    private final List<K6LiveListener> liveListeners = new CopyOnWriteArrayList<>();
+    private K6AbortPolicy abortPolicy;
+    private boolean summaryOnly;
+
+    private final Set<ProcessSupervisor> running = ConcurrentHashMap.newKeySet();
+
+    private static final int THRESHOLDS_FAILED_EXIT_CODE = 99;
+    private static final double GENERATOR_SATURATION_LEVEL = 0.9;
+    private static final String SUMMARY_TREND_STATS = "avg,min,med,max,p(90),p(95),p(99)";
+
     public K6TestRunner(PerformanceConfig config) {
         this.config = config;
         this.k6Binary = config.k6Binary();
         this.objectMapper = new ObjectMapper();
+        this.abortPolicy = K6AbortPolicy.fromConfig(config);
+        this.summaryOnly = config.k6SummaryOnly();
+    }
+
+    // Called with the rolling-window metrics of every runK6Test while k6 runs
+    public K6TestRunner liveListener(K6LiveListener listener) {
+        liveListeners.add(listener);
+        return this;
+    }
+
+    // Quick runs: results come from k6's end-of-test summary export instead of the per-point
+    // --out json stream, which saves its disk writes but gives up live metrics and early abort
+    public K6TestRunner summaryOnly(boolean summaryOnly) {
+        this.summaryOnly = summaryOnly;
+        return this;
+    }
+
+    // Replaces the configured early-abort limits; null disables early abort
+    public K6TestRunner abortPolicy(K6AbortPolicy abortPolicy) {
+        this.abortPolicy = abortPolicy;
+        return this;
     }
 
     public PerformanceTestResult runK6Test(String scriptPath, String testName) {
         LoggerUtil.info("Starting k6 test: {} with script: {}", testName, scriptPath);
 
         LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        K6LiveMonitor monitor = null;
+        boolean summaryOnly = this.summaryOnly;
+        String runName = runName(testName);
 
         try {
-            // Prepare k6 command
-            List<String> command = buildK6Command(scriptPath, testName);
+            // Prepare k6 command; summary-only runs skip the per-point metric stream
+            List<String> command = buildK6Command(scriptPath, runName, List.of(), !summaryOnly);
 
-            // Execute k6 test
-            ProcessBuilder processBuilder = new ProcessBuilder(command);
-            processBuilder.directory(new File("."));
+            // Execute k6 test; output goes to a file, which unlike an undrained pipe never blocks k6
+            File logFile = new File(config.reportsDirectory(), runName + "_k6.log");
+            ProcessBuilder processBuilder = new ProcessBuilder(command)
+                    .directory(new File("."))
+                    .redirectErrorStream(true)
+                    .redirectOutput(logFile);
 
             Process process = processBuilder.start();
+            ProcessSupervisor supervisor = supervise(process, "k6 " + testName);
+            running.add(supervisor);
 
-            // Capture output
-            StringBuilder output = new StringBuilder();
-            StringBuilder errorOutput = new StringBuilder();
-
-            // Read stdout
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                    LoggerUtil.debug("k6 output: {}", line);
-                }
-            }
-
-            // Read stderr
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    errorOutput.append(line).append("\n");
-                    LoggerUtil.debug("k6 error: {}", line);
-                }
+            // Follow the metric stream while k6 runs; an abort stops k6 gracefully so it still flushes its output
+            if (!summaryOnly) {
+                monitor = new K6LiveMonitor(Paths.get(resultFile(runName)),
+                        Duration.ofSeconds(config.k6LiveWindowSeconds()), Duration.ofMillis(config.k6LiveIntervalMillis()))
+                        .abortPolicy(abortPolicy, () -> supervisor.stop("early abort"))
+                        .listener(snapshot -> LoggerUtil.debug("k6 {}: {}s, {} req/s, p95 {}ms, errors {}%", testName,
+                                snapshot.getElapsedMillis() / 1000, Math.round(snapshot.getWindowThroughput()),
+                                snapshot.getWindowP95ResponseTime(), String.format("%.1f", snapshot.getWindowErrorRate())));
+                liveListeners.forEach(monitor::listener);
+                monitor.start();
             }
 
             // Wait for completion
-            int exitCode = process.waitFor();
+            int exitCode;
+            try {
+                exitCode = supervisor.waitFor();
+            } finally {
+                running.remove(supervisor);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
             LocalDateTime endTime = LocalDateTime.now();
 
-            if (exitCode != 0) {
-                LoggerUtil.error("k6 test failed with exit code: {}", exitCode);
-                LoggerUtil.error("Error output: {}", errorOutput.toString());
+            Map<String, Object> customMetrics = new LinkedHashMap<>();
+            if (monitor != null) {
+                monitor.stop();
+                customMetrics.put("liveSamples", monitor.getSnapshots());
+            }
+            putGeneratorMetrics(customMetrics, testName, List.of(supervisor));
+            if (monitor != null && monitor.isAborted()) {
+                LoggerUtil.warn("k6 test {} aborted early: {}", testName, monitor.getAbortReason());
+                customMetrics.put("abortReason", monitor.getAbortReason());
+            } else if (supervisor.getStopReason() != null) {
+                LoggerUtil.error("k6 test {} stopped: {}, see {}", testName, supervisor.getStopReason(), logFile);
+                throw new RuntimeException("k6 test stopped: " + supervisor.getStopReason());
+            } else if (exitCode != 0) {
+                LoggerUtil.error("k6 test failed with exit code: {}, see {}", exitCode, logFile);
                 throw new RuntimeException("k6 test failed with exit code: " + exitCode);
             }
 
-            // Parse results
-            PerformanceTestResult result = parseK6Results(output.toString(), testName, startTime, endTime);
+            // Results come from the summary export, or from the tailed metric stream once the monitor has stopped
+            PerformanceTestResult result = summaryOnly
+                    ? parseSummaryExport(testName, runName, startTime, endTime, customMetrics)
+                    : buildResult(monitor.getTotals(), testName, startTime, endTime, elapsedNanos, customMetrics);
 
             LoggerUtil.info("k6 test completed: {}", testName);
             return result;
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("k6 test interrupted", e);
         } catch (Exception e) {
             LoggerUtil.error("k6 test failed: {}", testName, e);
             throw new RuntimeException("k6 test execution failed", e);
+        } finally {
+            if (monitor != null) {
+                monitor.stop();
+            }
         }
     }
 
-    private List<String> buildK6Command(String scriptPath, String testName) {
+    // Splits one test across local k6 processes using k6 execution segments: every process
+    // runs the same script and takes its share of the VUs or arrival rate, writing its own
+    // metric stream. The streams are merged into one result with percentiles computed over all
+    // requests, so the shards are limited by the cores of the host rather than by one process.
+    public PerformanceTestResult runShardedK6Test(String scriptPath, String testName, int shards) {
+        LoggerUtil.info("Starting sharded k6 test: {} with {} processes, script: {}", testName, shards, scriptPath);
+
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        List<Process> processes = new ArrayList<>();
+        List<ProcessSupervisor> supervisors = new ArrayList<>();
+        String runName = runName(testName);
+
+        try {
+            for (int shard = 0; shard < shards; shard++) {
+                String shardName = shardName(runName, shard);
+                // Always with the metric stream: percentiles of shard summaries cannot be merged
+                List<String> command = buildK6Command(scriptPath, shardName,
+                        executionSegmentArguments(shard, shards), true);
+
+                // Output goes to a file per shard: pipes of N processes cannot be drained from one thread
+                ProcessBuilder processBuilder = new ProcessBuilder(command)
+                        .directory(new File("."))
+                        .redirectErrorStream(true)
+                        .redirectOutput(new File(config.reportsDirectory(), shardName + "_k6.log"));
+                Process process = processBuilder.start();
+                processes.add(process);
+                supervisors.add(supervise(process, "k6 " + shardName));
+            }
+
+            List<Integer> exitCodes;
+            running.addAll(supervisors);
+            try {
+                exitCodes = ProcessSupervisor.waitForAll(supervisors);
+            } finally {
+                running.removeAll(supervisors);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            LocalDateTime endTime = LocalDateTime.now();
+
+            for (int shard = 0; shard < shards; shard++) {
+                String stopReason = supervisors.get(shard).getStopReason();
+                if (stopReason != null) {
+                    throw new RuntimeException("k6 shard " + shard + " stopped: " + stopReason);
+                }
+                int exitCode = exitCodes.get(shard);
+                // 99: thresholds crossed on the shard's partial data; the merged result is validated instead
+                if (exitCode != 0 && exitCode != THRESHOLDS_FAILED_EXIT_CODE) {
+                    LoggerUtil.error("k6 shard {} failed with exit code: {}, see {}_k6.log", shard, exitCode,
+                            shardName(runName, shard));
+                    throw new RuntimeException("k6 shard " + shard + " failed with exit code: " + exitCode);
+                }
+            }
+
+            K6Metrics merged = new K6Metrics();
+            List<Long> shardRequests = new ArrayList<>();
+            for (int shard = 0; shard < shards; shard++) {
+                K6Metrics metrics = K6Metrics.fromJsonOutput(Paths.get(resultFile(shardName(runName, shard))));
+                shardRequests.add(metrics.getRequests());
+                merged.add(metrics);
+            }
+
+            Map<String, Object> customMetrics = new LinkedHashMap<>();
+            customMetrics.put("shards", shards);
+            customMetrics.put("shardRequests", shardRequests);
+            customMetrics.put("shardExitCodes", exitCodes);
+            putGeneratorMetrics(customMetrics, testName, supervisors);
+
+            PerformanceTestResult result = buildResult(merged, testName, startTime, endTime, elapsedNanos, customMetrics);
+            LoggerUtil.info("Sharded k6 test completed: {} - {} requests from {} processes", testName,
+                    merged.getRequests(), shards);
+            return result;
+
+        } catch (InterruptedException e) {
+            processes.forEach(Process::destroyForcibly);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Sharded k6 test interrupted", e);
+        } catch (Exception e) {
+            processes.forEach(Process::destroyForcibly);
+            LoggerUtil.error("Sharded k6 test failed: {}", testName, e);
+            throw new RuntimeException("Sharded k6 test execution failed", e);
+        }
+    }
+
+    // Stops every k6 process this runner is waiting for, e.g. from another thread on shutdown;
+    // the running tests fail with the reason "cancelled"
+    public void cancel() {
+        running.forEach(supervisor -> supervisor.stop("cancelled"));
+    }
+
+    private ProcessSupervisor supervise(Process process, String name) {
+        return new ProcessSupervisor(process, name)
+                .maxDuration(Duration.ofSeconds(config.k6MaxDurationSeconds()))
+                .gracePeriod(Duration.ofSeconds(config.k6StopGraceSeconds()))
+                .sampleInterval(Duration.ofMillis(config.k6SampleIntervalMillis()));
+    }
+
+    // CPU and memory of the k6 processes of a run. CPU close to all cores of the host means
+    // the load generator limited the load, and latencies include queuing inside k6.
+    private void putGeneratorMetrics(Map<String, Object> customMetrics, String testName,
+                                     List<ProcessSupervisor> supervisors) {
+        double cpuPercent = supervisors.stream().mapToDouble(ProcessSupervisor::getAverageCpuPercent).sum();
+        double peakCpuPercent = supervisors.stream().mapToDouble(ProcessSupervisor::getPeakCpuPercent).sum();
+        long peakRssBytes = supervisors.stream().mapToLong(supervisor -> Math.max(0, supervisor.getPeakRssBytes())).sum();
+        int cores = Runtime.getRuntime().availableProcessors();
+        boolean saturated = cpuPercent >= cores * 100 * GENERATOR_SATURATION_LEVEL;
+
+        customMetrics.put("generatorCpuPercent", Math.round(cpuPercent * 10) / 10.0);
+        customMetrics.put("generatorPeakCpuPercent", Math.round(peakCpuPercent * 10) / 10.0);
+        customMetrics.put("generatorPeakRssMb", peakRssBytes / (1024 * 1024));
+        customMetrics.put("generatorSaturated", saturated);
+        if (saturated) {
+            LoggerUtil.warn("k6 used {}% CPU of {} cores during {}: the load generator was saturated",
+                    Math.round(cpuPercent), cores, testName);
+        }
+    }
+
+    private PerformanceTestResult buildResult(K6Metrics metrics, String testName, LocalDateTime startTime,
+                                              LocalDateTime endTime, long elapsedNanos, Map<String, Object> customMetrics) {
+        LatencyHistogram durations = metrics.getDurations();
+        long totalRequests = metrics.getRequests();
+        long failedRequests = metrics.getFailedRequests();
+
+        return PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("K6")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(Duration.between(startTime, endTime).getSeconds())
+                .totalRequests(totalRequests)
+                .successfulRequests(totalRequests - failedRequests)
+                .failedRequests(failedRequests)
+                .errorRate(totalRequests == 0 ? 0.0 : (double) failedRequests / totalRequests * 100)
+                .throughput(elapsedNanos == 0 ? 0.0 : totalRequests * 1_000_000_000.0 / elapsedNanos)
+                .averageResponseTime(Math.round(durations.getMean() / 1000))
+                .minResponseTime(durations.getMin() / 1000)
+                .maxResponseTime(durations.getMax() / 1000)
+                .p50ResponseTime(durations.getPercentile(50) / 1000)
+                .p90ResponseTime(durations.getPercentile(90) / 1000)
+                .p95ResponseTime(durations.getPercentile(95) / 1000)
+                .p99ResponseTime(durations.getPercentile(99) / 1000)
+                .customMetrics(customMetrics)
+                .reportPath(config.reportsDirectory())
+                .build();
+    }
+
+    // Output files of one run: test names only have a timestamp to the second, so runs of the
+    // same test started together would otherwise write to the same files
+    private static String runName(String testName) {
+        return testName + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String shardName(String runName, int shard) {
+        return runName + "_shard" + shard;
+    }
+
+    // k6 arguments that make one process run its share (shard of shards) of a script's load
+    public static List<String> executionSegmentArguments(int shard, int shards) {
+        String sequence = IntStream.rangeClosed(0, shards)
+                .mapToObj(boundary -> segmentBoundary(boundary, shards))
+                .collect(Collectors.joining(","));
+        return List.of(
+                "--execution-segment", segmentBoundary(shard, shards) + ":" + segmentBoundary(shard + 1, shards),
+                "--execution-segment-sequence", sequence);
+    }
+
+    // k6 takes segment boundaries as fractions: 0, 1/3, 2/3, 1
+    private static String segmentBoundary(int boundary, int shards) {
+        return boundary == 0 ? "0" : boundary == shards ? "1" : boundary + "/" + shards;
+    }
+
+    private String resultFile(String runName) {
+        return config.reportsDirectory() + "/" + runName + "_k6_results.json";
+    }
+
+    private String summaryFile(String runName) {
+        return config.reportsDirectory() + "/" + runName + "_k6_summary.json";
+    }
+
+    private List<String> buildK6Command(String scriptPath, String runName, List<String> extraArguments,
+                                        boolean jsonOutput) {
         List<String> command = new ArrayList<>();
         command.add(k6Binary);
         command.add("run");
+        command.addAll(extraArguments);
 
         // Add JSON output for parsing
-        String resultFile = config.reportsDirectory() + "/" + testName + "_k6_results.json";
-        new File(resultFile).getParentFile().mkdirs();
-        command.add("--out");
-        command.add("json=" + resultFile);
+        new File(config.reportsDirectory()).mkdirs();
+        if (jsonOutput) {
+            command.add("--out");
+            command.add("json=" + resultFile(runName));
+        }
 
-        // Add summary output
-        String summaryFile = config.reportsDirectory() + "/" + testName + "_k6_summary.json";
+        // Add summary output, with p(99) which k6 leaves out by default
         command.add("--summary-export");
-        command.add(summaryFile);
+        command.add(summaryFile(runName));
+        command.add("--summary-trend-stats");
+        command.add(SUMMARY_TREND_STATS);
 
         // Add script path
         command.add(scriptPath);
@@ -105,55 +354,44 @@ public class K6TestRunner {
         return command;
     }
 
-    private PerformanceTestResult parseK6Results(String output, String testName,
-                                                 LocalDateTime startTime, LocalDateTime endTime) {
+    private PerformanceTestResult parseSummaryExport(String testName, String runName, LocalDateTime startTime,
+                                                     LocalDateTime endTime, Map<String, Object> customMetrics) {
+        Path summaryFile = Paths.get(summaryFile(runName));
         try {
-            // Parse k6 output for metrics
-            // This is a simplified parser - real implementation would parse JSON output
-
-            LoggerUtil.info("Parsing k6 results for test: {}", testName);
+            K6Summary summary = K6Summary.fromSummaryExport(summaryFile);
+            long totalRequests = summary.getRequests();
+            long failedRequests = summary.getFailedRequests();
 
-            // Extract metrics from output (simplified)
-            long totalRequests = extractMetric(output, "http_reqs", 1000);
-            double errorRate = extractDoubleMetric(output, "http_req_failed", 0.5);
-            long avgResponseTime = extractMetric(output, "http_req_duration", 500);
-            long p95ResponseTime = extractMetric(output, "http_req_duration.*p\\(95\\)", 1200);
-            long p99ResponseTime = extractMetric(output, "http_req_duration.*p\\(99\\)", 2000);
-            double throughput = extractDoubleMetric(output, "http_reqs.*rate", 16.6);
-
-            long successfulRequests = Math.round(totalRequests * (1 - errorRate / 100));
-            long failedRequests = totalRequests - successfulRequests;
+            customMetrics.put("source", "summary-export");
+            customMetrics.put("dataReceivedBytes", summary.getDataReceivedBytes());
+            customMetrics.put("dataSentBytes", summary.getDataSentBytes());
+            customMetrics.put("maxVus", summary.getMaxVus());
 
             return PerformanceTestResult.builder()
                     .testName(testName)
                     .testType("K6")
                     .startTime(startTime)
                     .endTime(endTime)
-                    .durationSeconds(java.time.Duration.between(startTime, endTime).getSeconds())
+                    .durationSeconds(Duration.between(startTime, endTime).getSeconds())
                     .totalRequests(totalRequests)
-                    .successfulRequests(successfulRequests)
+                    .successfulRequests(totalRequests - failedRequests)
                     .failedRequests(failedRequests)
-                    .errorRate(errorRate)
-                    .throughput(throughput)
-                    .averageResponseTime(avgResponseTime)
-                    .p95ResponseTime(p95ResponseTime)
-                    .p99ResponseTime(p99ResponseTime)
-                    .reportPath(config.reportsDirectory() + "/" + testName + "_k6_results.json")
+                    .errorRate(totalRequests == 0 ? 0.0 : (double) failedRequests / totalRequests * 100)
+                    .throughput(summary.getRequestRate())
+                    .averageResponseTime(Math.round(summary.getAverageDuration()))
+                    .minResponseTime(Math.round(summary.getMinDuration()))
+                    .maxResponseTime(Math.round(summary.getMaxDuration()))
+                    .p50ResponseTime(Math.round(summary.getMedianDuration()))
+                    .p90ResponseTime(Math.round(summary.getP90Duration()))
+                    .p95ResponseTime(Math.round(summary.getP95Duration()))
+                    .p99ResponseTime(Math.round(summary.getP99Duration()))
+                    .customMetrics(customMetrics)
+                    .reportPath(summaryFile.toString())
                     .build();
 
-        } catch (Exception e) {
-            LoggerUtil.error("Failed to parse k6 results", e);
-            throw new RuntimeException("k6 results parsing failed", e);
+        } catch (UncheckedIOException e) {
+            LoggerUtil.error("Failed to parse k6 summary export {}", summaryFile, e);
+            throw new RuntimeException("k6 summary parsing failed", e);
         }
     }
-
-    private long extractMetric(String output, String metricPattern, long defaultValue) {
-        // Simplified metric extraction - real implementation would use regex
-        return defaultValue;
-    }
-
-    private double extractDoubleMetric(String output, String metricPattern, double defaultValue) {
-        // Simplified metric extraction - real implementation would use regex
-        return defaultValue;
-    }
 }
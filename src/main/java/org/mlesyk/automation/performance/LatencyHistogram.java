@@ -0,0 +1,179 @@
+package org.mlesyk.automation.performance;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fixed-memory, lock-free latency histogram with log-linear buckets: values below 128 are
+// counted exactly, larger values land in one of 64 sub-buckets per power of two, so any
+// recorded value is reported within ~1.6%. Histograms from different threads, runs or
+// processes can be merged and percentiles stay correct (unlike averaging percentiles).
+//
+// The histogram is unit-agnostic; callers record in one unit (e.g. microseconds) and
+// convert when reporting.
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 64
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;          // 128
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (64 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Latency must be >= 0, got " + value);
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        sum.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    // Adds all values recorded by another histogram (e.g. per-worker or per-process histograms)
+    public LatencyHistogram add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        sum.add(other.sum.sum());
+        if (other.getCount() > 0) {
+            min.accumulate(other.min.get());
+            max.accumulate(other.max.get());
+        }
+        return this;
+    }
+
+    public LatencyHistogram copy() {
+        return new LatencyHistogram().add(this);
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) sum.sum() / count;
+    }
+
+    // Smallest recorded bucket value such that `percentile`% of the values are <= it,
+    // reported as the bucket's upper bound and clamped to the observed min/max
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, got " + percentile);
+        }
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.max(getMin(), Math.min(getMax(), bucketUpperBound(i)));
+            }
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        sum.reset();
+        min.reset();
+        max.reset();
+    }
+
+    // Non-empty buckets as (upper bound, count) pairs, for serializing a histogram snapshot
+    public long[][] toBuckets() {
+        int nonEmpty = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts.get(i) != 0) nonEmpty++;
+        }
+        long[][] buckets = new long[nonEmpty][];
+        int next = 0;
+        for (int i = 0; i < BUCKET_COUNT && next < nonEmpty; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                buckets[next++] = new long[]{bucketUpperBound(i), count};
+            }
+        }
+        return buckets;
+    }
+
+    // Rebuilds a histogram from toBuckets() output; min/max are restored from the bucket bounds
+    public static LatencyHistogram fromBuckets(long[][] buckets) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long[] bucket : buckets) {
+            long value = bucket[0];
+            long count = bucket[1];
+            histogram.counts.addAndGet(bucketIndex(value), count);
+            histogram.totalCount.add(count);
+            histogram.sum.add(value * count);
+            histogram.min.accumulate(value);
+            histogram.max.accumulate(value);
+        }
+        return histogram;
+    }
+
+    // Wire format shared by the snapshots sent between processes:
+    // [bucket count (int)][upper bound (long)][count (long)]...
+    public void writeTo(DataOutput out) throws IOException {
+        long[][] buckets = toBuckets();
+        out.writeInt(buckets.length);
+        for (long[] bucket : buckets) {
+            out.writeLong(bucket[0]);
+            out.writeLong(bucket[1]);
+        }
+    }
+
+    public static LatencyHistogram readFrom(DataInput in) throws IOException {
+        long[][] buckets = new long[in.readInt()][];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new long[]{in.readLong(), in.readLong()};
+        }
+        return fromBuckets(buckets);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,32 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Report-friendly summary of a LatencyHistogram, in milliseconds
+@Data
+@Builder
+public class LatencyStats {
+    private long count;
+    private double average;
+    private double min;
+    private double max;
+    private double p50;
+    private double p90;
+    private double p95;
+    private double p99;
+
+    // For histograms recorded in microseconds
+    public static LatencyStats fromMicros(LatencyHistogram histogram) {
+        return LatencyStats.builder()
+                .count(histogram.getCount())
+                .average(histogram.getMean() / 1000.0)
+                .min(histogram.getMin() / 1000.0)
+                .max(histogram.getMax() / 1000.0)
+                .p50(histogram.getPercentile(50) / 1000.0)
+                .p90(histogram.getPercentile(90) / 1000.0)
+                .p95(histogram.getPercentile(95) / 1000.0)
+                .p99(histogram.getPercentile(99) / 1000.0)
+                .build();
+    }
+}
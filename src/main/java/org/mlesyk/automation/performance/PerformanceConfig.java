@@ -31,6 +31,102 @@ public interface PerformanceConfig extends Config {
     @DefaultValue("30")
     int spikeTestDurationSeconds();
 
+    @Key("performance.volume.entities")
+    @DefaultValue("1000")
+    int volumeTestEntities();
+
+    @Key("performance.volume.concurrency")
+    @DefaultValue("10")
+    int volumeTestConcurrency();
+
+    @Key("performance.volume.batch.size")
+    @DefaultValue("50")
+    int volumeTestBatchSize();
+
+    @Key("performance.k6.shards")
+    @DefaultValue("2")
+    int k6Shards();
+
+    @Key("performance.k6.summary.only")
+    @DefaultValue("false")
+    boolean k6SummaryOnly();
+
+    @Key("performance.k6.max.duration.seconds")
+    @DefaultValue("3600")
+    int k6MaxDurationSeconds();
+
+    @Key("performance.k6.stop.grace.seconds")
+    @DefaultValue("30")
+    int k6StopGraceSeconds();
+
+    @Key("performance.k6.sample.interval.ms")
+    @DefaultValue("1000")
+    long k6SampleIntervalMillis();
+
+    @Key("performance.k6.live.window.seconds")
+    @DefaultValue("10")
+    int k6LiveWindowSeconds();
+
+    @Key("performance.k6.live.interval.ms")
+    @DefaultValue("1000")
+    long k6LiveIntervalMillis();
+
+    @Key("performance.k6.abort.enabled")
+    @DefaultValue("true")
+    boolean k6AbortEnabled();
+
+    @Key("performance.k6.abort.error.rate")
+    @DefaultValue("50.0")
+    double k6AbortErrorRate();
+
+    @Key("performance.k6.abort.p95")
+    @DefaultValue("10000")
+    long k6AbortP95();
+
+    @Key("performance.k6.abort.sustain.seconds")
+    @DefaultValue("15")
+    int k6AbortSustainSeconds();
+
+    @Key("performance.k6.abort.min.requests")
+    @DefaultValue("20")
+    long k6AbortMinRequests();
+
+    @Key("performance.distributed.workers")
+    @DefaultValue("2")
+    int distributedWorkers();
+
+    @Key("performance.distributed.snapshot.interval.ms")
+    @DefaultValue("1000")
+    long distributedSnapshotIntervalMillis();
+
+    @Key("performance.jmeter.forks")
+    @DefaultValue("0")
+    int jmeterForks();
+
+    @Key("performance.jmeter.fork.jvm.args")
+    @DefaultValue("-Xms256m -Xmx1g")
+    String jmeterForkJvmArgs();
+
+    @Key("performance.jmeter.fork.max.runs")
+    @DefaultValue("20")
+    int jmeterForkMaxRuns();
+
+    @Key("performance.jmeter.fork.snapshot.interval.ms")
+    @DefaultValue("1000")
+    long jmeterForkSnapshotIntervalMillis();
+
+    @Key("performance.jmeter.fork.max.duration.seconds")
+    @DefaultValue("3600")
+    int jmeterForkMaxDurationSeconds();
+
+    @Key("performance.k6.script.cache.max.entries")
+    @DefaultValue("200")
+    int k6ScriptCacheMaxEntries();
+
+    @Key("performance.k6.script.cache.max.age.hours")
+    @DefaultValue("168")
+    int k6ScriptCacheMaxAgeHours();
+
     @Key("performance.response.threshold.p95")
     @DefaultValue("2000")
     int responseTimeP95Threshold();
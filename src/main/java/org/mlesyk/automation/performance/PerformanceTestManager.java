@@ -1,32 +1,59 @@
 package org.mlesyk.automation.performance;
 
+import org.mlesyk.automation.distributed.LoadCoordinator;
+import org.mlesyk.automation.distributed.Workload;
+import org.mlesyk.automation.replay.AccessLogFormat;
+import org.mlesyk.automation.replay.AccessLogReader;
+import org.mlesyk.automation.replay.RecordedRequest;
+import org.mlesyk.automation.replay.TrafficLog;
+import org.mlesyk.automation.replay.TrafficReplayer;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
 import org.mlesyk.automation.utils.LoggerUtil;
 import org.aeonbits.owner.ConfigFactory;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class PerformanceTestManager {
 
     private final PerformanceConfig config;
     private final K6TestRunner k6Runner;
+    private final K6ScriptCache scriptCache;
     private final List<PerformanceTestResult> testResults;
 
     public PerformanceTestManager() {
         this.config = ConfigFactory.create(PerformanceConfig.class);
         this.k6Runner = new K6TestRunner(config);
+        this.scriptCache = new K6ScriptCache(Paths.get(config.reportsDirectory(), "scripts"),
+                config.k6ScriptCacheMaxEntries(), Duration.ofHours(config.k6ScriptCacheMaxAgeHours()));
         this.testResults = new ArrayList<>();
 
         // Ensure reports directory exists
         new File(config.reportsDirectory()).mkdirs();
+        scriptCache.collectGarbage();
 
         LoggerUtil.logFrameworkInfo("PerformanceTestManager initialized");
         LoggerUtil.info("Reports directory: {}", config.reportsDirectory());
     }
 
+    // Live progress of k6 runs: rolling-window metrics once per interval while k6 runs
+    public void addK6LiveListener(K6LiveListener listener) {
+        k6Runner.liveListener(listener);
+    }
+
+    // Stops running k6 tests from another thread; they fail with the reason "cancelled"
+    public void cancelK6Tests() {
+        k6Runner.cancel();
+    }
+
     public PerformanceTestResult runLoadTest(String baseUrl, int users, int durationSeconds) {
         LoggerUtil.info("Starting load test - Users: {}, Duration: {}s, URL: {}", users, durationSeconds, baseUrl);
 
@@ -83,13 +110,169 @@ public class PerformanceTestManager {
         return result;
     }
 
+    // Runs a script composed with K6Script, e.g. open-model or mixed-traffic scenarios
+    public PerformanceTestResult runK6Script(K6Script script, String name, String testType) {
+        LoggerUtil.info("Starting k6 script test - Name: {}, Scenarios: {}", name, script.getScenarios().size());
+
+        String scriptPath = saveScriptToFile(script.render(), name);
+        String testName = name + "_" + getCurrentTimestamp();
+
+        PerformanceTestResult result = k6Runner.runK6Test(scriptPath, testName);
+        result.setTestType(testType);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric(name + " Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric(name + " P95", result.getP95ResponseTime(), "ms");
+
+        return result;
+    }
+
+    // Load test split across several local k6 processes for more VUs than one process can drive
+    public PerformanceTestResult runShardedLoadTest(String baseUrl, int users, int durationSeconds, int shards) {
+        LoggerUtil.info("Starting sharded load test - Users: {}, Duration: {}s, Shards: {}, URL: {}",
+                users, durationSeconds, shards, baseUrl);
+
+        String scriptPath = generateK6LoadTestScript(baseUrl, users, durationSeconds);
+        String testName = "load_test_" + users + "u_" + durationSeconds + "s_" + shards + "x_" + getCurrentTimestamp();
+
+        return runSharded(scriptPath, testName, "LOAD", shards);
+    }
+
+    public PerformanceTestResult runShardedK6Script(K6Script script, String name, String testType, int shards) {
+        LoggerUtil.info("Starting sharded k6 script test - Name: {}, Shards: {}", name, shards);
+
+        String scriptPath = saveScriptToFile(script.render(), name);
+        String testName = name + "_" + shards + "x_" + getCurrentTimestamp();
+
+        return runSharded(scriptPath, testName, testType, shards);
+    }
+
+    private PerformanceTestResult runSharded(String scriptPath, String testName, String testType, int shards) {
+        PerformanceTestResult result = k6Runner.runShardedK6Test(scriptPath, testName, shards);
+        result.setTestType(testType);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric("Sharded Test Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric("Sharded Test P95", result.getP95ResponseTime(), "ms");
+        LoggerUtil.logPerformanceMetric("Sharded Test Error Rate", result.getErrorRate(), "%");
+
+        return result;
+    }
+
+    // Load generated by several worker JVMs with a synchronized start, merged live by a LoadCoordinator
+    public PerformanceTestResult runDistributedTest(Workload workload, int workers) {
+        LoggerUtil.info("Starting distributed test - Workers: {}, Engine: {}", workers, workload.getEngine());
+
+        String testName = "distributed_test_" + workers + "w_" + getCurrentTimestamp();
+        PerformanceTestResult result = new LoadCoordinator(workload)
+                .workers(workers)
+                .snapshotInterval(Duration.ofMillis(config.distributedSnapshotIntervalMillis()))
+                .logDirectory(Paths.get(config.reportsDirectory(), "workers"))
+                .run(testName);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric("Distributed Test Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric("Distributed Test P95", result.getP95ResponseTime(), "ms");
+        LoggerUtil.logPerformanceMetric("Distributed Test Error Rate", result.getErrorRate(), "%");
+
+        return result;
+    }
+
+    // Runs in-process against the services rather than through k6: seeds entityCount users
+    // with one post each, reads them back and deletes them again
+    public PerformanceTestResult runVolumeTest(UserService userService, PostService postService,
+                                               int entityCount, int concurrency) {
+        return runVolumeTest(userService, postService, entityCount, concurrency, config.volumeTestBatchSize());
+    }
+
+    public PerformanceTestResult runVolumeTest(UserService userService, PostService postService,
+                                               int entityCount, int concurrency, int batchSize) {
+        LoggerUtil.info("Starting volume test - Entities: {}, Concurrency: {}", entityCount, concurrency);
+
+        String testName = "volume_test_" + entityCount + "e_" + concurrency + "c_" + getCurrentTimestamp();
+        PerformanceTestResult result = new VolumeTestRunner(userService, postService)
+                .run(testName, entityCount, concurrency, batchSize);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric("Volume Test Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric("Volume Test P95", result.getP95ResponseTime(), "ms");
+        LoggerUtil.logPerformanceMetric("Volume Test Error Rate", result.getErrorRate(), "%");
+
+        return result;
+    }
+
+    // Multi-step journeys run by concurrent virtual users; one "request" in the result is one journey
+    public PerformanceTestResult runJourneyTest(JourneyLoadRunner journeyRunner, int virtualUsers, int durationSeconds) {
+        LoggerUtil.info("Starting journey test - Virtual users: {}, Duration: {}s", virtualUsers, durationSeconds);
+
+        String testName = "journey_test_" + virtualUsers + "u_" + durationSeconds + "s_" + getCurrentTimestamp();
+        PerformanceTestResult result = journeyRunner
+                .runForDuration(virtualUsers, Duration.ofSeconds(durationSeconds))
+                .toPerformanceTestResult(testName);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric("Journey Test Throughput", result.getThroughput(), "journeys/s");
+        LoggerUtil.logPerformanceMetric("Journey Test P95", result.getP95ResponseTime(), "ms");
+        LoggerUtil.logPerformanceMetric("Journey Test Error Rate", result.getErrorRate(), "%");
+
+        return result;
+    }
+
+    // Replays a traffic log recorded from the functional suites (see TrafficRecordingFilter)
+    public PerformanceTestResult runTrafficReplay(Path trafficLog, TrafficReplayer replayer) {
+        LoggerUtil.info("Starting traffic replay - Log: {}", trafficLog);
+
+        return runReplay(replayTestName(trafficLog), TrafficLog.read(trafficLog), replayer);
+    }
+
+    // Replays production traffic from an access log; hosts in the log are replaced by the replayer's base URL
+    public PerformanceTestResult runAccessLogReplay(Path accessLog, AccessLogFormat format, TrafficReplayer replayer) {
+        LoggerUtil.info("Starting access log replay - Log: {}", accessLog);
+
+        return runReplay(replayTestName(accessLog), AccessLogReader.read(accessLog, format), replayer);
+    }
+
+    private PerformanceTestResult runReplay(String testName, Stream<RecordedRequest> requests, TrafficReplayer replayer) {
+        PerformanceTestResult result = replayer.replay(testName, requests);
+
+        validateTestResult(result);
+        testResults.add(result);
+
+        LoggerUtil.logPerformanceMetric("Replay Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric("Replay P95", result.getP95ResponseTime(), "ms");
+        LoggerUtil.logPerformanceMetric("Replay Error Rate", result.getErrorRate(), "%");
+        LoggerUtil.logPerformanceMetric("Replay Schedule Drift", result.getCustomMetrics().get("scheduleDriftMillis"), "ms");
+
+        return result;
+    }
+
+    private String replayTestName(Path log) {
+        String logName = log.getFileName().toString().replaceFirst("\\.[^.]+$", "");
+        return "replay_" + logName + "_" + getCurrentTimestamp();
+    }
+
     private void validateTestResult(PerformanceTestResult result) {
-        boolean passed = result.isWithinThresholds(config);
+        Object abortReason = result.getCustomMetrics() == null ? null : result.getCustomMetrics().get("abortReason");
+        boolean passed = abortReason == null && result.isWithinThresholds(config);
         result.setPassed(passed);
 
         if (!passed) {
             StringBuilder failureReason = new StringBuilder();
 
+            if (abortReason != null) {
+                failureReason.append("Aborted early: ").append(abortReason).append(". ");
+            }
+
             if (result.getErrorRate() > config.errorRateThreshold()) {
                 failureReason.append("Error rate ").append(result.getErrorRate())
                         .append("% exceeds threshold ").append(config.errorRateThreshold()).append("%. ");
@@ -112,132 +295,71 @@ public class PerformanceTestManager {
         }
     }
 
+    // Workloads of the load, stress and spike tests; JMeterTestRunner.runWorkload runs the same
+    // ones in JMeter
     private String generateK6LoadTestScript(String baseUrl, int users, int durationSeconds) {
-        String scriptContent = String.format("""
-            import http from 'k6/http';
-            import { check, sleep } from 'k6';
-            import { Rate } from 'k6/metrics';
-            
-            export let errorRate = new Rate('errors');
-            
-            export let options = {
-                stages: [
-                    { duration: '30s', target: %d },     // Ramp up
-                    { duration: '%ds', target: %d },     // Stay at load
-                    { duration: '30s', target: 0 },      // Ramp down
-                ],
-                thresholds: {
-                    http_req_duration: ['p(95)<2000'],
-                    errors: ['rate<0.01'],
-                },
-            };
-            
-            export default function() {
-                let response = http.get('%s/posts');
-                check(response, {
-                    'status is 200': (r) => r.status === 200,
-                    'response time < 2000ms': (r) => r.timings.duration < 2000,
-                });
-                errorRate.add(response.status !== 200);
-                sleep(1);
-            }
-            """, users, durationSeconds, users, baseUrl);
+        return saveScriptToFile(loadTestScript(baseUrl, users, durationSeconds).render(), "load_test");
+    }
 
-        return saveScriptToFile(scriptContent, "load_test_script.js");
+    public K6Script loadTestScript(String baseUrl, int users, int durationSeconds) {
+        return K6Script.forBaseUrl(baseUrl)
+                .scenario(K6Scenario.rampingVus("load", 0)
+                        .stage(Duration.ofSeconds(30), users)               // Ramp up
+                        .stage(Duration.ofSeconds(durationSeconds), users)  // Stay at load
+                        .stage(Duration.ofSeconds(30), 0)                   // Ramp down
+                        .get("/posts")
+                        .thinkTime(1))
+                .threshold("http_req_duration", "p(95)<" + config.responseTimeP95Threshold())
+                .threshold("errors", "rate<" + K6Script.number(config.errorRateThreshold() / 100))
+                .tag("testType", "load");
     }
 
     private String generateK6StressTestScript(String baseUrl, int maxUsers, int durationSeconds) {
-        String scriptContent = String.format("""
-            import http from 'k6/http';
-            import { check, sleep } from 'k6';
-            import { Rate } from 'k6/metrics';
-            
-            export let errorRate = new Rate('errors');
-            
-            export let options = {
-                stages: [
-                    { duration: '60s', target: %d },     // Ramp up to stress level
-                    { duration: '%ds', target: %d },     // Stay at stress level
-                    { duration: '60s', target: 0 },      // Ramp down
-                ],
-                thresholds: {
-                    http_req_duration: ['p(99)<5000'],
-                    errors: ['rate<0.05'],
-                },
-            };
-            
-            export default function() {
-                let responses = http.batch([
-                    ['GET', '%s/posts'],
-                    ['GET', '%s/users'],
-                    ['GET', '%s/comments'],
-                ]);
-                
-                for (let response of responses) {
-                    check(response, {
-                        'status is 200': (r) => r.status === 200,
-                    });
-                    errorRate.add(response.status !== 200);
-                }
-                
-                sleep(Math.random() * 2);
-            }
-            """, maxUsers, durationSeconds, maxUsers, baseUrl, baseUrl, baseUrl);
+        return saveScriptToFile(stressTestScript(baseUrl, maxUsers, durationSeconds).render(), "stress_test");
+    }
 
-        return saveScriptToFile(scriptContent, "stress_test_script.js");
+    public K6Script stressTestScript(String baseUrl, int maxUsers, int durationSeconds) {
+        return K6Script.forBaseUrl(baseUrl)
+                .scenario(K6Scenario.rampingVus("stress", 0)
+                        .stage(Duration.ofSeconds(60), maxUsers)               // Ramp up to stress level
+                        .stage(Duration.ofSeconds(durationSeconds), maxUsers)  // Stay at stress level
+                        .stage(Duration.ofSeconds(60), 0)                      // Ramp down
+                        .get("/posts")
+                        .get("/users")
+                        .get("/comments")
+                        .batch()
+                        .randomThinkTime(2))
+                // Under stress only the tail and a 5x error budget are enforced
+                .threshold("http_req_duration", "p(99)<" + config.responseTimeP99Threshold())
+                .threshold("errors", "rate<" + K6Script.number(config.errorRateThreshold() * 5 / 100))
+                .tag("testType", "stress");
     }
 
     private String generateK6SpikeTestScript(String baseUrl, int spikeUsers, int spikeDurationSeconds) {
-        String scriptContent = String.format("""
-            import http from 'k6/http';
-            import { check, sleep } from 'k6';
-            import { Rate } from 'k6/metrics';
-            
-            export let errorRate = new Rate('errors');
-            
-            export let options = {
-                stages: [
-                    { duration: '10s', target: 10 },     // Normal load
-                    { duration: '10s', target: %d },     // Spike!
-                    { duration: '%ds', target: %d },     // Stay at spike
-                    { duration: '10s', target: 10 },     // Back to normal
-                    { duration: '10s', target: 0 },      // Ramp down
-                ],
-                thresholds: {
-                    http_req_duration: ['p(95)<3000'],
-                    errors: ['rate<0.1'],
-                },
-            };
-            
-            export default function() {
-                let response = http.get('%s/posts/' + Math.floor(Math.random() * 100 + 1));
-                check(response, {
-                    'status is 200': (r) => r.status === 200,
-                    'response time < 3000ms': (r) => r.timings.duration < 3000,
-                });
-                errorRate.add(response.status !== 200);
-                sleep(0.5);
-            }
-            """, spikeUsers, spikeDurationSeconds, spikeUsers, baseUrl);
-
-        return saveScriptToFile(scriptContent, "spike_test_script.js");
+        return saveScriptToFile(spikeTestScript(baseUrl, spikeUsers, spikeDurationSeconds).render(), "spike_test");
     }
 
-    private String saveScriptToFile(String content, String filename) {
-        try {
-            File scriptDir = new File(config.reportsDirectory() + "/scripts");
-            scriptDir.mkdirs();
-
-            File scriptFile = new File(scriptDir, filename);
-            java.nio.file.Files.write(scriptFile.toPath(), content.getBytes());
-
-            LoggerUtil.debug("Generated k6 script: {}", scriptFile.getAbsolutePath());
-            return scriptFile.getAbsolutePath();
+    public K6Script spikeTestScript(String baseUrl, int spikeUsers, int spikeDurationSeconds) {
+        return K6Script.forBaseUrl(baseUrl)
+                .scenario(K6Scenario.rampingVus("spike", 0)
+                        .stage(Duration.ofSeconds(10), 10)                          // Normal load
+                        .stage(Duration.ofSeconds(10), spikeUsers)                  // Spike!
+                        .stage(Duration.ofSeconds(spikeDurationSeconds), spikeUsers) // Stay at spike
+                        .stage(Duration.ofSeconds(10), 10)                          // Back to normal
+                        .stage(Duration.ofSeconds(10), 0)                           // Ramp down
+                        .get("/posts/{rand:100}")
+                        .thinkTime(0.5))
+                // A spike may degrade latency by half and use a 10x error budget
+                .threshold("http_req_duration", "p(95)<" + config.responseTimeP95Threshold() * 3 / 2)
+                .threshold("errors", "rate<" + K6Script.number(config.errorRateThreshold() * 10 / 100))
+                .tag("testType", "spike");
+    }
 
-        } catch (Exception e) {
-            LoggerUtil.error("Failed to save k6 script", e);
-            throw new RuntimeException("Script generation failed", e);
-        }
+    // Scripts are cached by content, so parallel runs never overwrite each other's script
+    private String saveScriptToFile(String content, String name) {
+        Path scriptFile = scriptCache.store(name, content);
+        LoggerUtil.debug("Generated k6 script: {}", scriptFile.toAbsolutePath());
+        return scriptFile.toAbsolutePath().toString();
     }
 
     private String getCurrentTimestamp() {
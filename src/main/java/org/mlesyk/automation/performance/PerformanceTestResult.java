@@ -9,7 +9,7 @@ import java.util.Map;
 @Builder
 public class PerformanceTestResult {
     private String testName;
-    private String testType; // LOAD, STRESS, SPIKE, VOLUME
+    private String testType; // LOAD, STRESS, SPIKE, VOLUME, JOURNEY, REPLAY, DISTRIBUTED
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private long durationSeconds;
@@ -26,6 +26,7 @@ public class PerformanceTestResult {
     private long minResponseTime;
     private long maxResponseTime;
     private long p50ResponseTime;
+    private long p90ResponseTime;
     private long p95ResponseTime;
     private long p99ResponseTime;
 
@@ -0,0 +1,14 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+// Resource usage of a supervised process at one point in time
+@Data
+@Builder
+public class ProcessSample {
+    private long elapsedMillis;
+    private long cpuMillis; // total CPU time since the process started
+    private double cpuPercent; // over the last interval, 100 = one core fully used
+    private long rssBytes; // -1 where the platform does not expose it
+}
@@ -0,0 +1,198 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Waits for an external process (k6) with a hard deadline. Stopping is graceful first -
+// SIGTERM lets k6 end its iterations and flush its output - and forced once the grace period
+// is over, for the process and anything it started. stop() may be called from any thread,
+// e.g. to cancel a run or by an early-abort policy.
+//
+// The deadline counts from the creation of the supervisor, right after the process started.
+// While waiting, the CPU time and resident memory of the process are sampled, so a run whose
+// load generator was saturated can be told apart from one where the system under test was slow.
+public class ProcessSupervisor {
+
+    private final Process process;
+    private final String name;
+    private final List<ProcessSample> samples = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicReference<String> stopReason = new AtomicReference<>();
+    private final long startNanos = System.nanoTime();
+    private Duration maxDuration = Duration.ofHours(1);
+    private Duration gracePeriod = Duration.ofSeconds(30);
+    private Duration sampleInterval = Duration.ofSeconds(1);
+    private long lastSampleNanos = startNanos;
+    private long lastCpuMillis;
+    private volatile long stopRequestedNanos;
+    private volatile boolean timedOut;
+    private volatile boolean killed;
+
+    public ProcessSupervisor(Process process, String name) {
+        this.process = process;
+        this.name = name;
+        this.lastCpuMillis = Math.max(0, cpuMillis());
+    }
+
+    public ProcessSupervisor maxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    // Time between the graceful stop signal and the forced kill
+    public ProcessSupervisor gracePeriod(Duration gracePeriod) {
+        this.gracePeriod = gracePeriod;
+        return this;
+    }
+
+    public ProcessSupervisor sampleInterval(Duration sampleInterval) {
+        this.sampleInterval = sampleInterval;
+        return this;
+    }
+
+    // Returns the exit code; an interrupted caller gets the process killed right away
+    public int waitFor() throws InterruptedException {
+        return waitForAll(List.of(this)).get(0);
+    }
+
+    // Waits for processes that run side by side (e.g. k6 shards), supervising all of them at once
+    public static List<Integer> waitForAll(List<ProcessSupervisor> supervisors) throws InterruptedException {
+        CompletableFuture<?> exited = CompletableFuture.allOf(supervisors.stream()
+                .map(supervisor -> supervisor.process.onExit())
+                .toArray(CompletableFuture[]::new));
+        long intervalMillis = supervisors.stream()
+                .mapToLong(supervisor -> supervisor.sampleInterval.toMillis())
+                .min().orElse(1000);
+        try {
+            while (true) {
+                try {
+                    exited.get(intervalMillis, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    supervisors.forEach(ProcessSupervisor::check);
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ProcessSupervisor supervisor : supervisors) {
+                supervisor.stopReason.compareAndSet(null, "interrupted");
+                supervisor.kill();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Waiting for processes failed", e);
+        }
+
+        List<Integer> exitCodes = new ArrayList<>();
+        for (ProcessSupervisor supervisor : supervisors) {
+            exitCodes.add(supervisor.process.exitValue());
+        }
+        return exitCodes;
+    }
+
+    // Asks the process to stop; the first reason wins, later calls are ignored
+    public void stop(String reason) {
+        if (!stopReason.compareAndSet(null, reason)) {
+            return;
+        }
+        LoggerUtil.warn("Stopping {}: {}", name, reason);
+        stopRequestedNanos = System.nanoTime();
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+
+    public String getStopReason() {
+        return stopReason.get();
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    // True when the process had to be killed because it ignored the graceful stop
+    public boolean isKilled() {
+        return killed;
+    }
+
+    public List<ProcessSample> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    public double getAverageCpuPercent() {
+        return getSamples().stream().mapToDouble(ProcessSample::getCpuPercent).average().orElse(0.0);
+    }
+
+    public double getPeakCpuPercent() {
+        return getSamples().stream().mapToDouble(ProcessSample::getCpuPercent).max().orElse(0.0);
+    }
+
+    public long getPeakRssBytes() {
+        return getSamples().stream().mapToLong(ProcessSample::getRssBytes).max().orElse(-1);
+    }
+
+    // Samples the process and enforces the deadline and grace period
+    private void check() {
+        if (!process.isAlive()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long cpuMillis = cpuMillis();
+        samples.add(ProcessSample.builder()
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(now - startNanos))
+                .cpuMillis(cpuMillis)
+                .cpuPercent(cpuMillis < 0 ? 0.0 : (cpuMillis - lastCpuMillis) * 100.0
+                        / Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - lastSampleNanos)))
+                .rssBytes(rssBytes())
+                .build());
+        lastCpuMillis = Math.max(0, cpuMillis);
+        lastSampleNanos = now;
+
+        if (now - startNanos >= maxDuration.toNanos() && stopRequestedNanos == 0) {
+            timedOut = true;
+            stop("still running after " + maxDuration.toSeconds() + "s");
+        }
+        if (stopRequestedNanos != 0 && now - stopRequestedNanos >= gracePeriod.toNanos()) {
+            kill();
+        }
+    }
+
+    private void kill() {
+        if (!process.isAlive() || killed) {
+            return;
+        }
+        LoggerUtil.warn("Killing {}: {}", name, stopReason.get());
+        killed = true;
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    private long cpuMillis() {
+        return process.info().totalCpuDuration().map(Duration::toMillis).orElse(-1L);
+    }
+
+    // Linux only: ProcessHandle does not expose memory usage
+    private long rssBytes() {
+        Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim()) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // not Linux, or the process is gone
+        }
+        return -1;
+    }
+}
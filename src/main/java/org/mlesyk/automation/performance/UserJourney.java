@@ -0,0 +1,58 @@
+package org.mlesyk.automation.performance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// A named, ordered multi-step workflow. Steps share a JourneyContext and signal failure by
+// throwing (RuntimeException or AssertionError, e.g. from ValidationUtil), which ends the
+// iteration - later steps depend on the data of earlier ones.
+public class UserJourney {
+
+    private final String name;
+    private final List<String> stepNames = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+
+    private UserJourney(String name) {
+        this.name = name;
+    }
+
+    public static UserJourney named(String name) {
+        return new UserJourney(name);
+    }
+
+    public UserJourney step(String stepName, Step step) {
+        if (stepNames.contains(stepName)) {
+            throw new IllegalArgumentException("Duplicate step '" + stepName + "' in journey " + name);
+        }
+        stepNames.add(stepName);
+        steps.add(step);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getStepNames() {
+        return Collections.unmodifiableList(stepNames);
+    }
+
+    List<Step> getSteps() {
+        return steps;
+    }
+
+    // Single pass outside of a load test, e.g. to smoke-check a journey from a functional test
+    public JourneyContext runOnce() {
+        JourneyContext context = new JourneyContext(0, 0);
+        for (Step step : steps) {
+            step.execute(context);
+        }
+        return context;
+    }
+
+    @FunctionalInterface
+    public interface Step {
+        void execute(JourneyContext context);
+    }
+}
@@ -0,0 +1,72 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
+import org.mlesyk.automation.utils.ValidationUtil;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Ready-made journeys mirroring the ServiceIntegrationTest workflows, spread over the
+// users and posts of the test data set
+public class UserJourneys {
+
+    private static final int DEFAULT_USER_COUNT = 10;
+    private static final int DEFAULT_POST_COUNT = 100;
+
+    // user -> user's posts -> comments of every post
+    public static UserJourney userContent(UserService userService, PostService postService) {
+        return userContent(userService, postService, DEFAULT_USER_COUNT);
+    }
+
+    public static UserJourney userContent(UserService userService, PostService postService, int userCount) {
+        return UserJourney.named("user-content")
+                .step("get-user", context -> {
+                    int userId = ThreadLocalRandom.current().nextInt(1, userCount + 1);
+                    User user = userService.getUserByIdAsObject(userId);
+                    ValidationUtil.validateUserStructure(user);
+                    context.put("user", user);
+                })
+                .step("get-user-posts", context -> {
+                    User user = context.get("user", User.class);
+                    List<Post> posts = postService.getPostsByUserIdAsObjects(user.getId());
+                    ValidationUtil.validateListNotEmpty(posts, "User posts");
+                    ValidationUtil.validateUserPostRelationship(user, posts);
+                    context.put("posts", posts);
+                })
+                .step("get-post-comments", context -> {
+                    int totalComments = 0;
+                    for (Post post : context.getList("posts", Post.class)) {
+                        List<Comment> comments = postService.getPostCommentsAsObjects(post.getId());
+                        ValidationUtil.validatePostCommentRelationship(post, comments);
+                        totalComments += comments.size();
+                    }
+                    context.put("totalComments", totalComments);
+                });
+    }
+
+    // post -> post's comments
+    public static UserJourney postComments(PostService postService) {
+        return postComments(postService, DEFAULT_POST_COUNT);
+    }
+
+    public static UserJourney postComments(PostService postService, int postCount) {
+        return UserJourney.named("post-comments")
+                .step("get-post", context -> {
+                    int postId = ThreadLocalRandom.current().nextInt(1, postCount + 1);
+                    Post post = postService.getPostByIdAsObject(postId);
+                    ValidationUtil.validatePost(post);
+                    context.put("post", post);
+                })
+                .step("get-comments", context -> {
+                    Post post = context.get("post", Post.class);
+                    List<Comment> comments = postService.getPostCommentsAsObjects(post.getId());
+                    ValidationUtil.validateListNotEmpty(comments, "Post comments");
+                    ValidationUtil.validatePostCommentRelationship(post, comments);
+                    context.put("comments", comments);
+                });
+    }
+}
@@ -0,0 +1,32 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class VolumePhaseResult {
+    private String phase; // CREATE, READ, DELETE
+    private long operations;
+    private long successfulOperations;
+    private long failedOperations;
+    private long durationMillis;
+    private double throughput; // operations per second
+
+    // Response time metrics (ms)
+    private double averageResponseTime;
+    private long p50ResponseTime;
+    private long p95ResponseTime;
+    private long p99ResponseTime;
+    private long maxResponseTime;
+
+    // CREATE only: p95 per growth segment, keyed by the dataset size reached at the end of the segment
+    private Map<Long, Long> p95ByDatasetSize;
+
+    public double getErrorRate() {
+        if (operations == 0) return 0.0;
+        return (double) failedOperations / operations * 100;
+    }
+}
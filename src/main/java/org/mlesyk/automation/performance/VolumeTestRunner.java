@@ -0,0 +1,245 @@
+package org.mlesyk.automation.performance;
+
+import org.mlesyk.automation.data.DataStreams;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// In-process volume test: seeds N users (one post each) through the services with bounded
+// parallelism, reads every created entity back and deletes it again, in parallel batches.
+// Each phase gets its own latency histogram; the create phase is additionally split into
+// growth segments to show how write latency develops as the dataset grows.
+public class VolumeTestRunner {
+
+    private static final int GROWTH_SEGMENTS = 10;
+    private static final int NOT_CREATED = -1;
+
+    private final UserService userService;
+    private final PostService postService;
+
+    public VolumeTestRunner(UserService userService, PostService postService) {
+        this.userService = userService;
+        this.postService = postService;
+    }
+
+    public PerformanceTestResult run(String testName, int entityCount, int concurrency, int batchSize) {
+        if (entityCount < 1 || concurrency < 1 || batchSize < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Entity count, concurrency and batch size must be >= 1, got %d, %d, %d",
+                    entityCount, concurrency, batchSize));
+        }
+        LoggerUtil.info("Starting volume test {} - Entities: {}, Concurrency: {}, Batch size: {}",
+                testName, entityCount, concurrency, batchSize);
+
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+
+        int[] userIds = new int[entityCount];
+        int[] postIds = new int[entityCount];
+        Arrays.fill(userIds, NOT_CREATED);
+        Arrays.fill(postIds, NOT_CREATED);
+
+        // Phase 1: bulk seeding - generation happens outside the timed call
+        PhaseRecorder create = new PhaseRecorder("CREATE", entityCount, GROWTH_SEGMENTS);
+        DataStreams.feedConcurrently(IntStream.range(0, entityCount).boxed(), concurrency, i -> {
+            byte[] userBody = TestDataUtil.toJsonBytes(TestDataUtil.generateUniqueUser());
+            Response user = create.call(i, () -> userService.createUser(userBody), 201);
+            if (user == null) {
+                return;
+            }
+            userIds[i] = extractId(user);
+
+            byte[] postBody = TestDataUtil.toJsonBytes(TestDataUtil.generatePost(Math.max(userIds[i], 1)));
+            Response post = create.call(i, () -> postService.createPost(postBody), 201);
+            if (post != null) {
+                postIds[i] = extractId(post);
+            }
+        });
+        VolumePhaseResult createResult = create.finish();
+
+        // Phase 2: read back everything that was created
+        PhaseRecorder read = new PhaseRecorder("READ", entityCount, 1);
+        DataStreams.feedConcurrently(DataStreams.batched(createdIndices(userIds), batchSize), concurrency, batch -> {
+            for (int i : batch) {
+                read.call(i, () -> userService.getUserById(userIds[i]), 200);
+                if (postIds[i] != NOT_CREATED) {
+                    read.call(i, () -> postService.getPostById(postIds[i]), 200);
+                }
+            }
+        });
+        VolumePhaseResult readResult = read.finish();
+
+        // Phase 3: teardown - posts first, then their owners
+        PhaseRecorder delete = new PhaseRecorder("DELETE", entityCount, 1);
+        DataStreams.feedConcurrently(DataStreams.batched(createdIndices(userIds), batchSize), concurrency, batch -> {
+            for (int i : batch) {
+                if (postIds[i] != NOT_CREATED) {
+                    delete.call(i, () -> postService.deletePost(postIds[i]), 200, 204);
+                }
+                delete.call(i, () -> userService.deleteUser(userIds[i]), 200, 204);
+            }
+        });
+        VolumePhaseResult deleteResult = delete.finish();
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        LocalDateTime endTime = LocalDateTime.now();
+
+        LatencyHistogram overall = create.histogram.copy().add(read.histogram).add(delete.histogram);
+        long total = createResult.getOperations() + readResult.getOperations() + deleteResult.getOperations();
+        long failed = createResult.getFailedOperations() + readResult.getFailedOperations()
+                + deleteResult.getFailedOperations();
+
+        Map<String, VolumePhaseResult> phases = new LinkedHashMap<>();
+        phases.put("create", createResult);
+        phases.put("read", readResult);
+        phases.put("delete", deleteResult);
+
+        Map<String, Object> customMetrics = new LinkedHashMap<>();
+        customMetrics.put("entityCount", entityCount);
+        customMetrics.put("concurrency", concurrency);
+        customMetrics.put("batchSize", batchSize);
+        customMetrics.put("phases", phases);
+
+        PerformanceTestResult result = PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("VOLUME")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(Duration.between(startTime, endTime).getSeconds())
+                .totalRequests(total)
+                .successfulRequests(total - failed)
+                .failedRequests(failed)
+                .errorRate(total == 0 ? 0.0 : (double) failed / total * 100)
+                .throughput(total * 1_000_000_000.0 / elapsedNanos)
+                .averageResponseTime(Math.round(toMillis(overall.getMean())))
+                .minResponseTime(toMillis(overall.getMin()))
+                .maxResponseTime(toMillis(overall.getMax()))
+                .p50ResponseTime(toMillis(overall.getPercentile(50)))
+                .p90ResponseTime(toMillis(overall.getPercentile(90)))
+                .p95ResponseTime(toMillis(overall.getPercentile(95)))
+                .p99ResponseTime(toMillis(overall.getPercentile(99)))
+                .customMetrics(customMetrics)
+                .build();
+
+        for (VolumePhaseResult phase : phases.values()) {
+            LoggerUtil.info("Volume phase {} - ops: {}, failed: {}, throughput: {} ops/s, p95: {}ms",
+                    phase.getPhase(), phase.getOperations(), phase.getFailedOperations(),
+                    String.format("%.2f", phase.getThroughput()), phase.getP95ResponseTime());
+        }
+        LoggerUtil.info("Volume test {} completed - {} operations in {}ms", testName, total,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return result;
+    }
+
+    private static Stream<Integer> createdIndices(int[] userIds) {
+        return IntStream.range(0, userIds.length).filter(i -> userIds[i] != NOT_CREATED).boxed();
+    }
+
+    private static int extractId(Response response) {
+        Object id = response.path("id");
+        return id instanceof Number number ? number.intValue() : NOT_CREATED;
+    }
+
+    private static long toMillis(long micros) {
+        return TimeUnit.MICROSECONDS.toMillis(micros);
+    }
+
+    private static double toMillis(double micros) {
+        return micros / 1000.0;
+    }
+
+    // Times calls (in microseconds) into the phase histogram and, for growth tracking,
+    // into the segment histogram of the entity being processed
+    private static class PhaseRecorder {
+        private final String phase;
+        private final int entityCount;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LatencyHistogram[] segments;
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final long startNanos = System.nanoTime();
+
+        private PhaseRecorder(String phase, int entityCount, int segmentCount) {
+            this.phase = phase;
+            this.entityCount = entityCount;
+            this.segments = new LatencyHistogram[Math.min(segmentCount, entityCount)];
+            for (int s = 0; s < segments.length; s++) {
+                segments[s] = new LatencyHistogram();
+            }
+        }
+
+        // Returns the response when its status is one of the expected ones, otherwise null
+        private Response call(int entityIndex, Supplier<Response> request, int... expectedStatuses) {
+            long callStart = System.nanoTime();
+            try {
+                Response response = request.get();
+                record(entityIndex, callStart);
+                for (int expected : expectedStatuses) {
+                    if (response.getStatusCode() == expected) {
+                        succeeded.increment();
+                        return response;
+                    }
+                }
+                failed.increment();
+                LoggerUtil.debug("Volume {} call for entity {} returned status {}",
+                        phase, entityIndex, response.getStatusCode());
+                return null;
+
+            } catch (RuntimeException | AssertionError e) {
+                // Connection errors and response spec violations (e.g. response time) count as failures
+                record(entityIndex, callStart);
+                failed.increment();
+                LoggerUtil.debug("Volume {} call for entity {} failed: {}", phase, entityIndex, e.getMessage());
+                return null;
+            }
+        }
+
+        private void record(int entityIndex, long callStart) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - callStart);
+            histogram.record(micros);
+            segments[(int) ((long) entityIndex * segments.length / entityCount)].record(micros);
+        }
+
+        private VolumePhaseResult finish() {
+            long durationNanos = System.nanoTime() - startNanos;
+            long operations = histogram.getCount();
+
+            Map<Long, Long> p95ByDatasetSize = null;
+            if (segments.length > 1) {
+                p95ByDatasetSize = new LinkedHashMap<>();
+                for (int s = 0; s < segments.length; s++) {
+                    long datasetSize = (long) (s + 1) * entityCount / segments.length;
+                    p95ByDatasetSize.put(datasetSize, toMillis(segments[s].getPercentile(95)));
+                }
+            }
+
+            return VolumePhaseResult.builder()
+                    .phase(phase)
+                    .operations(operations)
+                    .successfulOperations(succeeded.sum())
+                    .failedOperations(failed.sum())
+                    .durationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                    .throughput(durationNanos == 0 ? 0.0 : operations * 1_000_000_000.0 / durationNanos)
+                    .averageResponseTime(toMillis(histogram.getMean()))
+                    .p50ResponseTime(toMillis(histogram.getPercentile(50)))
+                    .p95ResponseTime(toMillis(histogram.getPercentile(95)))
+                    .p99ResponseTime(toMillis(histogram.getPercentile(99)))
+                    .maxResponseTime(toMillis(histogram.getMax()))
+                    .p95ByDatasetSize(p95ByDatasetSize)
+                    .build();
+        }
+    }
+}
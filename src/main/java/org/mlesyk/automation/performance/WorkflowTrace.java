@@ -0,0 +1,227 @@
+package org.mlesyk.automation.performance;
+
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Records the calls of one test or workflow together with the calls each one depends on,
+// then computes the critical path through that dependency graph:
+//
+//   WorkflowTrace trace = WorkflowTrace.start("user-content");
+//   User user = trace.call("get-user", () -> userService.getUserByIdAsObject(1));
+//   List<Post> posts = trace.call("get-posts", () -> postService.getPostsByUserIdAsObjects(1), "get-user");
+//   ...
+//   trace.analyze();
+//
+// The critical path is the theoretical duration if every independent call ran concurrently;
+// the gap to the measured time is the potential gain of parallelizing the workflow.
+public class WorkflowTrace {
+
+    private final String workflowName;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Call> callsByName = new ConcurrentHashMap<>();
+    private final List<Call> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private WorkflowTrace(String workflowName) {
+        this.workflowName = workflowName;
+    }
+
+    public static WorkflowTrace start(String workflowName) {
+        return new WorkflowTrace(workflowName);
+    }
+
+    // Dependencies must be calls registered earlier; a call without dependencies could have
+    // started at the beginning of the workflow
+    public <T> T call(String name, Supplier<T> action, String... dependsOn) {
+        Call call = register(name, dependsOn);
+        try {
+            T result = action.get();
+            call.finish(System.nanoTime(), false);
+            return result;
+        } catch (RuntimeException | AssertionError e) {
+            call.finish(System.nanoTime(), true);
+            throw e;
+        }
+    }
+
+    public void run(String name, Runnable action, String... dependsOn) {
+        call(name, () -> {
+            action.run();
+            return null;
+        }, dependsOn);
+    }
+
+    private Call register(String name, String[] dependsOn) {
+        for (String dependency : dependsOn) {
+            if (!callsByName.containsKey(dependency)) {
+                throw new IllegalArgumentException("Call '" + name + "' depends on unknown call '" + dependency + "'");
+            }
+        }
+        Call call = new Call(name, Arrays.asList(dependsOn), System.nanoTime());
+        if (callsByName.putIfAbsent(name, call) != null) {
+            throw new IllegalArgumentException("Duplicate call name '" + name + "' in workflow " + workflowName);
+        }
+        calls.add(call);
+        return call;
+    }
+
+    public CriticalPathReport analyze() {
+        List<Call> finished;
+        synchronized (calls) {
+            finished = calls.stream().filter(call -> call.endNanos != 0).toList();
+        }
+        if (finished.isEmpty()) {
+            throw new IllegalStateException("No completed calls recorded in workflow " + workflowName);
+        }
+
+        // Calls are registered in start order and dependencies are registered first, so the
+        // list is already topologically sorted: one pass gives the earliest finish of every call
+        Map<String, Double> earliestFinish = new LinkedHashMap<>();
+        Map<String, String> slowestDependency = new LinkedHashMap<>();
+        Map<String, Integer> depth = new LinkedHashMap<>();
+        double sequentialMillis = 0;
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+
+        for (Call call : finished) {
+            double start = 0;
+            int level = 0;
+            for (String dependency : call.dependsOn) {
+                Double dependencyFinish = earliestFinish.get(dependency);
+                if (dependencyFinish != null && dependencyFinish > start) {
+                    start = dependencyFinish;
+                    slowestDependency.put(call.name, dependency);
+                }
+                level = Math.max(level, depth.getOrDefault(dependency, 0) + 1);
+            }
+            earliestFinish.put(call.name, start + call.durationMillis());
+            depth.put(call.name, level);
+            sequentialMillis += call.durationMillis();
+            firstStart = Math.min(firstStart, call.startNanos);
+            lastEnd = Math.max(lastEnd, call.endNanos);
+        }
+
+        String last = Collections.max(earliestFinish.entrySet(), Map.Entry.comparingByValue()).getKey();
+        double criticalPathMillis = earliestFinish.get(last);
+        List<String> criticalPath = new ArrayList<>();
+        for (String name = last; name != null; name = slowestDependency.get(name)) {
+            criticalPath.add(0, name);
+        }
+
+        Map<Integer, Integer> callsPerLevel = new LinkedHashMap<>();
+        depth.values().forEach(level -> callsPerLevel.merge(level, 1, Integer::sum));
+        int maxParallelism = Collections.max(callsPerLevel.values());
+
+        double actualMillis = (lastEnd - firstStart) / 1_000_000.0;
+        CriticalPathReport report = CriticalPathReport.builder()
+                .workflowName(workflowName)
+                .callCount(finished.size())
+                .failedCalls((int) finished.stream().filter(call -> call.failed).count())
+                .actualMillis(actualMillis)
+                .sequentialMillis(sequentialMillis)
+                .criticalPathMillis(criticalPathMillis)
+                .potentialSpeedup(criticalPathMillis == 0 ? 1.0 : actualMillis / criticalPathMillis)
+                .criticalPath(criticalPath)
+                .maxParallelism(maxParallelism)
+                .hints(parallelizationHints(finished))
+                .build();
+
+        report.log();
+        return report;
+    }
+
+    // Calls with the same dependencies are independent of each other; if they did not overlap
+    // in time they ran one after another and are candidates for concurrent execution
+    private List<String> parallelizationHints(List<Call> finished) {
+        Map<Set<String>, List<Call>> byDependencies = new LinkedHashMap<>();
+        for (Call call : finished) {
+            byDependencies.computeIfAbsent(new TreeSet<>(call.dependsOn), key -> new ArrayList<>()).add(call);
+        }
+
+        List<String> hints = new ArrayList<>();
+        for (Map.Entry<Set<String>, List<Call>> group : byDependencies.entrySet()) {
+            List<Call> independent = group.getValue();
+            if (independent.size() < 2 || overlapping(independent)) {
+                continue;
+            }
+            double total = independent.stream().mapToDouble(Call::durationMillis).sum();
+            double slowest = independent.stream().mapToDouble(Call::durationMillis).max().orElse(0);
+            hints.add(String.format("%d calls depending only on %s ran sequentially (%s ... %s): "
+                            + "concurrently they would take ~%.0fms instead of %.0fms",
+                    independent.size(), group.getKey().isEmpty() ? "nothing" : group.getKey(),
+                    independent.get(0).name, independent.get(independent.size() - 1).name, slowest, total));
+        }
+        return hints;
+    }
+
+    private static boolean overlapping(List<Call> group) {
+        List<Call> byStart = new ArrayList<>(group);
+        byStart.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        for (int i = 1; i < byStart.size(); i++) {
+            if (byStart.get(i).startNanos < byStart.get(i - 1).endNanos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Call {
+        private final String name;
+        private final List<String> dependsOn;
+        private final long startNanos;
+        private volatile long endNanos;
+        private volatile boolean failed;
+
+        private Call(String name, List<String> dependsOn, long startNanos) {
+            this.name = name;
+            this.dependsOn = dependsOn;
+            this.startNanos = startNanos;
+        }
+
+        private void finish(long endNanos, boolean failed) {
+            this.failed = failed;
+            this.endNanos = endNanos;
+        }
+
+        private double durationMillis() {
+            return (endNanos - startNanos) / 1_000_000.0;
+        }
+    }
+
+    @Data
+    @Builder
+    public static class CriticalPathReport {
+        private String workflowName;
+        private int callCount;
+        private int failedCalls;
+        private double actualMillis;       // first call start to last call end, as measured
+        private double sequentialMillis;   // sum of all call durations
+        private double criticalPathMillis; // theoretical time with unlimited concurrency
+        private double potentialSpeedup;   // actual / critical path
+        private List<String> criticalPath;
+        private int maxParallelism;        // most calls at the same dependency depth
+        private List<String> hints;
+
+        public void log() {
+            LoggerUtil.info("Workflow {} - {} calls, measured {}ms, critical path {}ms, potential speedup {}x",
+                    workflowName, callCount, String.format("%.1f", actualMillis),
+                    String.format("%.1f", criticalPathMillis), String.format("%.2f", potentialSpeedup));
+            LoggerUtil.info("  Critical path: {}", String.join(" -> ", criticalPath));
+            hints.forEach(hint -> LoggerUtil.info("  Hint: {}", hint));
+
+            LoggerUtil.logPerformanceMetric("Workflow Critical Path", criticalPathMillis, "ms");
+            LoggerUtil.logPerformanceMetric("Workflow Potential Speedup", potentialSpeedup, "x");
+        }
+    }
+}
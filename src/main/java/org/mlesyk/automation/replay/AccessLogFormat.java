@@ -0,0 +1,54 @@
+package org.mlesyk.automation.replay;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses one access log line into a request. The offset of the returned request is the
+// absolute timestamp in epoch micros; AccessLogReader rebases it to the start of the log.
+// Lines that are not requests (or cannot be parsed) return null and are skipped.
+@FunctionalInterface
+public interface AccessLogFormat {
+
+    RecordedRequest parse(String line);
+
+    // Apache / nginx common and combined formats:
+    //   127.0.0.1 - - [10/Oct/2023:13:55:36 -0700] "GET /posts/1 HTTP/1.1" 200 2326 "-" "curl/8.0"
+    AccessLogFormat COMBINED = regex(
+            "^\\S+ \\S+ \\S+ \\[(?<time>[^\\]]+)] \"(?<method>[A-Z]+) (?<path>\\S+)[^\"]*\" (?<status>\\d{3}) .*",
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH));
+
+    // Custom formats use named groups: time, method and path are required, status is optional.
+    // Without a formatter the time group is read as epoch seconds with an optional fraction
+    // (nginx $msec), which keeps sub-second inter-arrival times.
+    static AccessLogFormat regex(String pattern, DateTimeFormatter timeFormatter) {
+        Pattern compiled = Pattern.compile(pattern);
+        boolean hasStatus = pattern.contains("(?<status>");
+
+        return line -> {
+            Matcher matcher = compiled.matcher(line);
+            if (!matcher.matches()) {
+                return null;
+            }
+            String time = matcher.group("time");
+            String status = hasStatus ? matcher.group("status") : null;
+            long epochMicros = timeFormatter == null
+                    ? new BigDecimal(time).movePointRight(6).longValue()
+                    : toEpochMicros(OffsetDateTime.parse(time, timeFormatter));
+
+            return RecordedRequest.builder()
+                    .offsetMicros(epochMicros)
+                    .method(matcher.group("method"))
+                    .path(matcher.group("path"))
+                    .status(status != null ? Integer.parseInt(status) : 0)
+                    .build();
+        };
+    }
+
+    private static long toEpochMicros(OffsetDateTime time) {
+        return time.toEpochSecond() * 1_000_000 + time.getNano() / 1000;
+    }
+}
@@ -0,0 +1,165 @@
+package org.mlesyk.automation.replay;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Streams requests out of an access log of any size: the file is read through a FileChannel
+// into a fixed buffer and split into lines as it goes, so memory use does not depend
+// on the file size. Offsets are rebased to the first request of the log, and absolute URLs
+// (proxy logs) are reduced to path and query so the replayer's base URL decides the host.
+//
+//   try (Stream<RecordedRequest> requests = AccessLogReader.read(log, AccessLogFormat.COMBINED)) {
+//       new TrafficReplayer(config.baseUrl()).speed(5).replay("prod-mix", requests);
+//   }
+public class AccessLogReader {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    // Lazily streams the requests of a log; close the stream to release the file
+    public static Stream<RecordedRequest> read(Path path, AccessLogFormat format) {
+        LineParser parser = new LineParser(path, format);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(parser,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(parser::close);
+    }
+
+    // Drops scheme, host and port from absolute request targets
+    static String relativePath(String target) {
+        if (!target.startsWith("http://") && !target.startsWith("https://")) {
+            return target;
+        }
+        URI uri = URI.create(target);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+
+    private static class LineParser implements Iterator<RecordedRequest> {
+
+        private final Path path;
+        private final AccessLogFormat format;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        private boolean endOfFile;
+        private long firstEpochMicros = -1;
+        private long lines;
+        private long parsed;
+        private RecordedRequest next;
+
+        private LineParser(Path path, AccessLogFormat format) {
+            this.path = path;
+            this.format = format;
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open access log: " + path, e);
+            }
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            String text;
+            while (next == null && (text = readLine()) != null) {
+                next = parse(text);
+            }
+            return next != null;
+        }
+
+        @Override
+        public RecordedRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RecordedRequest request = next;
+            next = null;
+            return request;
+        }
+
+        private RecordedRequest parse(String text) {
+            lines++;
+            if (text.isBlank()) {
+                return null;
+            }
+            RecordedRequest request;
+            try {
+                request = format.parse(text);
+            } catch (RuntimeException e) {
+                request = null;
+            }
+            if (request == null) {
+                return null;
+            }
+            parsed++;
+
+            if (firstEpochMicros < 0) {
+                firstEpochMicros = request.getOffsetMicros();
+            }
+            // Logs written by several workers are only roughly ordered; early stragglers go out at once
+            request.setOffsetMicros(Math.max(0, request.getOffsetMicros() - firstEpochMicros));
+            request.setPath(relativePath(request.getPath()));
+            return request;
+        }
+
+        private String readLine() {
+            line.reset();
+            try {
+                while (true) {
+                    byte[] bytes = buffer.array();
+                    int start = buffer.position();
+                    for (int i = start; i < buffer.limit(); i++) {
+                        if (bytes[i] == '\n') {
+                            line.write(bytes, start, i - start);
+                            buffer.position(i + 1);
+                            return lineText();
+                        }
+                    }
+                    line.write(bytes, start, buffer.limit() - start);
+                    buffer.position(buffer.limit());
+                    if (endOfFile) {
+                        return line.size() > 0 ? lineText() : null;
+                    }
+                    buffer.clear();
+                    endOfFile = channel.read(buffer) < 0;
+                    buffer.flip();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read access log: " + path, e);
+            }
+        }
+
+        private String lineText() {
+            int length = line.size();
+            byte[] bytes = line.toByteArray();
+            if (length > 0 && bytes[length - 1] == '\r') {
+                length--;
+            }
+            // Invalid UTF-8 in logged URLs is replaced instead of failing the whole replay
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to close access log {}: {}", path, e.getMessage());
+            }
+            LoggerUtil.info("Access log {} - {} requests from {} lines, {} skipped",
+                    path, parsed, lines, lines - parsed);
+        }
+    }
+}
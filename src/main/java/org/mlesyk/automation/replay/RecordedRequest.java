@@ -0,0 +1,21 @@
+package org.mlesyk.automation.replay;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class RecordedRequest {
+    private long offsetMicros; // time since the start of the recording
+    private String method;
+    private String path; // path and query relative to the base URL, e.g. "/posts?userId=1"
+    private Map<String, String> headers;
+    private byte[] body;
+    private int status; // status seen when recorded, 0 when unknown
+
+    public boolean hasBody() {
+        return body != null && body.length > 0;
+    }
+}
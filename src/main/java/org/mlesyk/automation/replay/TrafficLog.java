@@ -0,0 +1,220 @@
+package org.mlesyk.automation.replay;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Compact, append-only binary log of recorded requests.
+//
+// File layout (big endian):
+//   header : magic "TRAF" (int), version (int)
+//   records: [record length (int)][offset micros (long)][status (short)][method (UTF)][path (UTF)]
+//            [header count (short)][name (UTF), value (UTF)]...[body length (int)][body bytes]
+//
+// The length prefix lets a reader stop cleanly at a record that was cut off mid-write.
+public class TrafficLog {
+
+    private static final int MAGIC = 0x54524146; // "TRAF"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Starts a new log, replacing any previous file at the path
+    public static Writer writer(Path path) {
+        return new Writer(path);
+    }
+
+    // Lazily streams the records of a log; close the stream to release the file
+    public static Stream<RecordedRequest> read(Path path) {
+        Reader reader = new Reader(path);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(reader,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(reader::close);
+    }
+
+    public static class Writer implements AutoCloseable {
+
+        private final Path path;
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(1024);
+        private final DataOutputStream record = new DataOutputStream(recordBuffer);
+        private final long startNanos = System.nanoTime();
+        private long count;
+
+        private Writer(Path path) {
+            this.path = path;
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create traffic log: " + path, e);
+            }
+            LoggerUtil.info("Recording traffic to {}", path);
+        }
+
+        // Offset for a request starting now, relative to the creation of the log
+        public long elapsedMicros() {
+            return (System.nanoTime() - startNanos) / 1000;
+        }
+
+        public synchronized void append(RecordedRequest request) throws IOException {
+            recordBuffer.reset();
+            record.writeLong(request.getOffsetMicros());
+            record.writeShort(request.getStatus());
+            record.writeUTF(request.getMethod());
+            record.writeUTF(request.getPath());
+
+            Map<String, String> headers = request.getHeaders() != null ? request.getHeaders() : Map.of();
+            record.writeShort(headers.size());
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                record.writeUTF(header.getKey());
+                record.writeUTF(header.getValue());
+            }
+
+            byte[] body = request.hasBody() ? request.getBody() : new byte[0];
+            record.writeInt(body.length);
+            record.write(body);
+
+            out.writeInt(recordBuffer.size());
+            recordBuffer.writeTo(out);
+            count++;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public synchronized void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+            LoggerUtil.info("Traffic log {} closed with {} requests", path, count);
+        }
+    }
+
+    private static class Reader implements Iterator<RecordedRequest> {
+
+        private final Path path;
+        private final DataInputStream in;
+        private RecordedRequest next;
+        private boolean finished;
+
+        private Reader(Path path) {
+            this.path = path;
+            try {
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+                if (in.readInt() != MAGIC) {
+                    in.close();
+                    throw new IllegalArgumentException("Not a traffic log: " + path);
+                }
+                int version = in.readInt();
+                if (version != VERSION) {
+                    in.close();
+                    throw new IllegalArgumentException("Unsupported traffic log version " + version + ": " + path);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open traffic log: " + path, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !finished) {
+                next = readRecord();
+            }
+            return next != null;
+        }
+
+        @Override
+        public RecordedRequest next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RecordedRequest request = next;
+            next = null;
+            return request;
+        }
+
+        private RecordedRequest readRecord() {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                finished = true;
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read traffic log: " + path, e);
+            }
+
+            try {
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+
+                long offsetMicros = record.readLong();
+                int status = record.readShort();
+                String method = record.readUTF();
+                String requestPath = record.readUTF();
+                int headerCount = record.readShort();
+                Map<String, String> headers = new LinkedHashMap<>();
+                for (int i = 0; i < headerCount; i++) {
+                    headers.put(record.readUTF(), record.readUTF());
+                }
+                byte[] body = new byte[record.readInt()];
+                record.readFully(body);
+
+                return RecordedRequest.builder()
+                        .offsetMicros(offsetMicros)
+                        .status(status)
+                        .method(method)
+                        .path(requestPath)
+                        .headers(headers)
+                        .body(body)
+                        .build();
+
+            } catch (EOFException e) {
+                LoggerUtil.warn("Traffic log {} ends with a truncated record, ignoring it", path);
+                finished = true;
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read traffic log: " + path, e);
+            }
+        }
+
+        private void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                LoggerUtil.warn("Failed to close traffic log {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
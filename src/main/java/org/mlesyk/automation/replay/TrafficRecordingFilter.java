@@ -0,0 +1,107 @@
+package org.mlesyk.automation.replay;
+
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Records every request sent through a RequestSpecification into a TrafficLog, so functional
+// suites can be replayed as load with TrafficReplayer. The offset is taken when the request
+// starts; the record is written once the response status is known.
+public class TrafficRecordingFilter implements Filter {
+
+    // Set by the HTTP client on replay
+    private static final Set<String> SKIPPED_HEADERS = Set.of("host", "content-length", "connection");
+
+    private static TrafficRecordingFilter shared;
+
+    private final TrafficLog.Writer writer;
+
+    public TrafficRecordingFilter(TrafficLog.Writer writer) {
+        this.writer = writer;
+    }
+
+    // One log per JVM, shared by all test classes and closed on shutdown
+    public static synchronized TrafficRecordingFilter getShared(String file) {
+        if (shared == null) {
+            TrafficLog.Writer writer = TrafficLog.writer(Paths.get(file));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    LoggerUtil.warn("Failed to close traffic log {}: {}", file, e.getMessage());
+                }
+            }, "traffic-log-close"));
+            shared = new TrafficRecordingFilter(writer);
+        }
+        return shared;
+    }
+
+    public Path getLogPath() {
+        return writer.getPath();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long offsetMicros = writer.elapsedMicros();
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        try {
+            writer.append(RecordedRequest.builder()
+                    .offsetMicros(offsetMicros)
+                    .method(requestSpec.getMethod())
+                    .path(pathOf(requestSpec.getURI()))
+                    .headers(headersOf(requestSpec))
+                    .body(bodyOf(requestSpec.getBody()))
+                    .status(response.getStatusCode())
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            // Recording must never fail the test that is being recorded
+            LoggerUtil.warn("Failed to record {} {}: {}", requestSpec.getMethod(), requestSpec.getURI(), e.getMessage());
+        }
+        return response;
+    }
+
+    private static String pathOf(String uri) {
+        URI parsed = URI.create(uri);
+        String path = parsed.getRawPath() == null || parsed.getRawPath().isEmpty() ? "/" : parsed.getRawPath();
+        return parsed.getRawQuery() == null ? path : path + "?" + parsed.getRawQuery();
+    }
+
+    private static Map<String, String> headersOf(FilterableRequestSpecification requestSpec) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase())) {
+                headers.putIfAbsent(header.getName(), header.getValue());
+            }
+        }
+        if (requestSpec.getContentType() != null && !headers.containsKey("Content-Type")) {
+            headers.put("Content-Type", requestSpec.getContentType());
+        }
+        return headers;
+    }
+
+    private static byte[] bodyOf(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+}
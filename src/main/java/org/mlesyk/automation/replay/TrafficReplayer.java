@@ -0,0 +1,232 @@
+package org.mlesyk.automation.replay;
+
+import org.mlesyk.automation.performance.LatencyHistogram;
+import org.mlesyk.automation.performance.LatencyStats;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static io.restassured.RestAssured.given;
+
+// Replays recorded requests against a base URL with a pool of concurrent workers, either on
+// the recorded timeline (1x or sped up by a factor) or at a fixed rate. Requests are read
+// lazily and dispatched on schedule by the calling thread; when every worker is busy the
+// dispatcher falls behind, which shows up as schedule lag (actual minus intended send time).
+public class TrafficReplayer {
+
+    private final String baseUrl;
+    private int workers = 10;
+    private double speedFactor = 1.0;
+    private double fixedRate;
+    private long maxRequests = Long.MAX_VALUE;
+
+    public TrafficReplayer(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public TrafficReplayer workers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be >= 1, got " + workers);
+        }
+        this.workers = workers;
+        return this;
+    }
+
+    // Recorded timeline compressed by the factor: 1.0 = original pace, 2.0 = twice as fast
+    public TrafficReplayer speed(double speedFactor) {
+        if (speedFactor <= 0) {
+            throw new IllegalArgumentException("Speed factor must be > 0, got " + speedFactor);
+        }
+        this.speedFactor = speedFactor;
+        this.fixedRate = 0;
+        return this;
+    }
+
+    // Ignores the recorded timing and sends requestsPerSecond evenly spaced requests
+    public TrafficReplayer fixedRate(double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be > 0, got " + requestsPerSecond);
+        }
+        this.fixedRate = requestsPerSecond;
+        return this;
+    }
+
+    public TrafficReplayer maxRequests(long maxRequests) {
+        this.maxRequests = maxRequests;
+        return this;
+    }
+
+    public PerformanceTestResult replay(String testName, Stream<RecordedRequest> requests) {
+        try (requests) {
+            return replay(testName, requests.iterator());
+        }
+    }
+
+    public PerformanceTestResult replay(String testName, Iterator<RecordedRequest> requests) {
+        String mode = fixedRate > 0
+                ? String.format("fixed rate %.1f req/s", fixedRate)
+                : String.format("recorded timing at %.1fx", speedFactor);
+        LoggerUtil.info("Starting replay {} against {} - {}, workers: {}", testName, baseUrl, mode, workers);
+
+        ReplayMetrics metrics = new ReplayMetrics();
+        Semaphore inFlight = new Semaphore(workers);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        LocalDateTime startTime = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long firstOffsetMicros = -1;
+        long lastScheduledNanos = 0;
+        long dispatched = 0;
+
+        try {
+            while (dispatched < maxRequests && requests.hasNext()) {
+                RecordedRequest request = requests.next();
+                if (firstOffsetMicros < 0) {
+                    firstOffsetMicros = request.getOffsetMicros();
+                }
+                long scheduledNanos = fixedRate > 0
+                        ? (long) (dispatched * 1_000_000_000.0 / fixedRate)
+                        : (long) ((request.getOffsetMicros() - firstOffsetMicros) * 1000 / speedFactor);
+                lastScheduledNanos = Math.max(lastScheduledNanos, scheduledNanos);
+
+                long sendAt = startNanos + scheduledNanos;
+                long waitNanos;
+                while ((waitNanos = sendAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        send(request, sendAt, metrics);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                dispatched++;
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            LoggerUtil.warn("Replay {} interrupted after {} requests", testName, dispatched);
+        } finally {
+            executor.shutdown();
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        return buildResult(testName, mode, startTime, elapsedNanos, lastScheduledNanos, metrics);
+    }
+
+    private void send(RecordedRequest request, long scheduledNanos, ReplayMetrics metrics) {
+        long sendStart = System.nanoTime();
+        metrics.scheduleLag.record(Math.max(0, sendStart - scheduledNanos) / 1000);
+
+        try {
+            RequestSpecification spec = given()
+                    .noFilters()
+                    .baseUri(baseUrl)
+                    .urlEncodingEnabled(false); // paths were recorded already encoded
+            if (request.getHeaders() != null) {
+                spec.headers(request.getHeaders());
+            }
+            if (request.hasBody()) {
+                spec.body(request.getBody());
+            }
+            Response response = spec.request(request.getMethod(), request.getPath());
+            metrics.latency.record((System.nanoTime() - sendStart) / 1000);
+
+            int status = response.getStatusCode();
+            metrics.statusCodes.computeIfAbsent(status, code -> new LongAdder()).increment();
+            // A recorded 404 from a negative test is the expected outcome, not a failure
+            boolean expected = request.getStatus() > 0 ? status == request.getStatus() : status < 400;
+            (expected ? metrics.succeeded : metrics.failed).increment();
+
+        } catch (RuntimeException e) {
+            metrics.latency.record((System.nanoTime() - sendStart) / 1000);
+            metrics.failed.increment();
+            if (metrics.firstError.compareAndSet(null, request.getMethod() + " " + request.getPath() + ": " + e.getMessage())) {
+                LoggerUtil.warn("First replay error - {}", metrics.firstError.get());
+            }
+        }
+    }
+
+    private PerformanceTestResult buildResult(String testName, String mode, LocalDateTime startTime,
+                                              long elapsedNanos, long intendedNanos, ReplayMetrics metrics) {
+        long succeeded = metrics.succeeded.sum();
+        long failed = metrics.failed.sum();
+        long total = succeeded + failed;
+        LatencyHistogram latency = metrics.latency;
+        LatencyStats scheduleLag = LatencyStats.fromMicros(metrics.scheduleLag);
+
+        Map<Integer, Long> statusCodes = new TreeMap<>();
+        metrics.statusCodes.forEach((status, count) -> statusCodes.put(status, count.sum()));
+
+        Map<String, Object> customMetrics = new LinkedHashMap<>();
+        customMetrics.put("mode", mode);
+        customMetrics.put("workers", workers);
+        customMetrics.put("intendedDurationMillis", TimeUnit.NANOSECONDS.toMillis(intendedNanos));
+        customMetrics.put("achievedDurationMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        // Positive drift: the replay could not keep up with the schedule (or the last responses were slow)
+        customMetrics.put("scheduleDriftMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos - intendedNanos));
+        customMetrics.put("scheduleLag", scheduleLag);
+        customMetrics.put("statusCodes", statusCodes);
+        if (metrics.firstError.get() != null) {
+            customMetrics.put("firstError", metrics.firstError.get());
+        }
+
+        LocalDateTime endTime = LocalDateTime.now();
+        PerformanceTestResult result = PerformanceTestResult.builder()
+                .testName(testName)
+                .testType("REPLAY")
+                .startTime(startTime)
+                .endTime(endTime)
+                .durationSeconds(Duration.between(startTime, endTime).getSeconds())
+                .totalRequests(total)
+                .successfulRequests(succeeded)
+                .failedRequests(failed)
+                .errorRate(total == 0 ? 0.0 : (double) failed / total * 100)
+                .throughput(elapsedNanos == 0 ? 0.0 : total * 1_000_000_000.0 / elapsedNanos)
+                .averageResponseTime(Math.round(latency.getMean() / 1000))
+                .minResponseTime(latency.getMin() / 1000)
+                .maxResponseTime(latency.getMax() / 1000)
+                .p50ResponseTime(latency.getPercentile(50) / 1000)
+                .p90ResponseTime(latency.getPercentile(90) / 1000)
+                .p95ResponseTime(latency.getPercentile(95) / 1000)
+                .p99ResponseTime(latency.getPercentile(99) / 1000)
+                .customMetrics(customMetrics)
+                .build();
+
+        LoggerUtil.info("Replay {} completed - {} requests, {} failed, intended {}ms, achieved {}ms, p95 schedule lag {}ms",
+                testName, total, failed, customMetrics.get("intendedDurationMillis"),
+                customMetrics.get("achievedDurationMillis"), String.format("%.1f", scheduleLag.getP95()));
+        return result;
+    }
+
+    private static class ReplayMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram scheduleLag = new LatencyHistogram();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+    }
+}
@@ -7,10 +7,19 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
 import static io.restassured.RestAssured.given;
 
 public abstract class BaseService {
 
+    private static final int DRAIN_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<byte[]> drainBuffer = ThreadLocal.withInitial(() -> new byte[DRAIN_BUFFER_SIZE]);
+
     protected Configuration config;
     protected RequestSpecification requestSpec;
     protected ResponseSpecification responseSpec;
@@ -61,6 +70,28 @@ public abstract class BaseService {
         return response;
     }
 
+    // Pre-serialized body variants - skip the serializer and only log the payload size
+    protected Response performPost(String endpoint, byte[] body) {
+        LoggerUtil.debug("Performing POST request to: {} with {} byte body", endpoint, body.length);
+
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .post(endpoint)
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response();
+
+        LoggerUtil.logApiRequest("POST", endpoint, response.getStatusCode(), response.getTime());
+        return response;
+    }
+
+    protected Response performPost(String endpoint, ByteBuffer body) {
+        return performPost(endpoint, toByteArray(body));
+    }
+
     protected Response performPut(String endpoint, Object body) {
         LoggerUtil.debug("Performing PUT request to: {} with body: {}", endpoint, body);
 
@@ -78,6 +109,27 @@ public abstract class BaseService {
         return response;
     }
 
+    protected Response performPut(String endpoint, byte[] body) {
+        LoggerUtil.debug("Performing PUT request to: {} with {} byte body", endpoint, body.length);
+
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .put(endpoint)
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response();
+
+        LoggerUtil.logApiRequest("PUT", endpoint, response.getStatusCode(), response.getTime());
+        return response;
+    }
+
+    protected Response performPut(String endpoint, ByteBuffer body) {
+        return performPut(endpoint, toByteArray(body));
+    }
+
     protected Response performPatch(String endpoint, Object body) {
         LoggerUtil.debug("Performing PATCH request to: {} with body: {}", endpoint, body);
 
@@ -95,6 +147,76 @@ public abstract class BaseService {
         return response;
     }
 
+    protected Response performPatch(String endpoint, byte[] body) {
+        LoggerUtil.debug("Performing PATCH request to: {} with {} byte body", endpoint, body.length);
+
+        Response response = given()
+                .spec(requestSpec)
+                .body(body)
+                .when()
+                .patch(endpoint)
+                .then()
+                .spec(responseSpec)
+                .extract()
+                .response();
+
+        LoggerUtil.logApiRequest("PATCH", endpoint, response.getStatusCode(), response.getTime());
+        return response;
+    }
+
+    protected Response performPatch(String endpoint, ByteBuffer body) {
+        return performPatch(endpoint, toByteArray(body));
+    }
+
+    // Load-path GET: the body is streamed through a reusable buffer and discarded, only its
+    // size (and optionally a CRC32C) is kept. Filters are dropped because reporting filters
+    // such as AllureRestAssured would buffer the whole body as a String.
+    protected DiscardedResponse performGetDiscardingBody(String endpoint, boolean computeChecksum) {
+        LoggerUtil.debug("Performing GET request to: {} (discarding body)", endpoint);
+        long startNanos = System.nanoTime();
+
+        Response response = given()
+                .spec(requestSpec)
+                .noFilters()
+                .when()
+                .get(endpoint);
+
+        CRC32C crc = computeChecksum ? new CRC32C() : null;
+        long bodyBytes = 0;
+        byte[] buffer = drainBuffer.get();
+        try (InputStream body = response.asInputStream()) {
+            if (body != null) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    bodyBytes += read;
+                    if (crc != null) {
+                        crc.update(buffer, 0, read);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LoggerUtil.error("Failed to drain response body for: {}", endpoint, e);
+            throw new RuntimeException("Failed to drain response body", e);
+        }
+
+        long totalTime = (System.nanoTime() - startNanos) / 1_000_000;
+        LoggerUtil.logApiRequest("GET", endpoint, response.getStatusCode(), response.getTime());
+
+        return DiscardedResponse.builder()
+                .statusCode(response.getStatusCode())
+                .bodyBytes(bodyBytes)
+                .checksumComputed(crc != null)
+                .checksum(crc != null ? crc.getValue() : 0)
+                .responseTime(response.getTime())
+                .totalTime(totalTime)
+                .build();
+    }
+
+    // Any endpoint relative to the base URL, e.g. large collections such as "/comments" or "/photos"
+    public DiscardedResponse getDiscardingBody(String endpoint, boolean computeChecksum) {
+        return performGetDiscardingBody(endpoint, computeChecksum);
+    }
+
     protected Response performDelete(String endpoint) {
         LoggerUtil.debug("Performing DELETE request to: {}", endpoint);
 
@@ -130,4 +252,20 @@ public abstract class BaseService {
         LoggerUtil.logApiRequest(method.toUpperCase(), endpoint, response.getStatusCode(), response.getTime());
         return response;
     }
+
+    // Hands the backing array straight to RestAssured when the buffer covers all of it,
+    // otherwise copies only the remaining bytes. The buffer position is left untouched.
+    protected static byte[] toByteArray(ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        if (buffer.hasArray()) {
+            int from = buffer.arrayOffset() + buffer.position();
+            return Arrays.copyOfRange(buffer.array(), from, from + buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
 }
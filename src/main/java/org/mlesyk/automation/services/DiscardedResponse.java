@@ -0,0 +1,20 @@
+package org.mlesyk.automation.services;
+
+import lombok.Builder;
+import lombok.Data;
+
+// What is left of a response after its body was streamed and thrown away
+@Data
+@Builder
+public class DiscardedResponse {
+    private int statusCode;
+    private long bodyBytes;
+    private boolean checksumComputed;
+    private long checksum; // CRC32C of the body, 0 when not computed
+    private long responseTime; // ms until headers, as reported by RestAssured
+    private long totalTime; // ms including draining the body
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
@@ -9,6 +9,7 @@ import io.restassured.specification.ResponseSpecification;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public class PostService extends BaseService {
@@ -36,6 +37,15 @@ public class PostService extends BaseService {
         }
     }
 
+    // Load-path variants: status and size only, the body is never materialized
+    public DiscardedResponse getAllPostsDiscardingBody(boolean computeChecksum) {
+        return performGetDiscardingBody(POSTS_ENDPOINT, computeChecksum);
+    }
+
+    public DiscardedResponse getPostCommentsDiscardingBody(int postId, boolean computeChecksum) {
+        return performGetDiscardingBody(POSTS_ENDPOINT + "/" + postId + "/comments", computeChecksum);
+    }
+
     // Get post by ID
     public Response getPostById(int postId) {
         LoggerUtil.info("Getting post with ID: {}", postId);
@@ -58,6 +68,18 @@ public class PostService extends BaseService {
         return performPost(POSTS_ENDPOINT, post);
     }
 
+    // Create post from a pre-serialized JSON body (e.g. rendered from a BodyTemplate)
+    public Response createPost(byte[] serializedPost) {
+        LoggerUtil.info("Creating new post from {} byte body", serializedPost.length);
+        return performPost(POSTS_ENDPOINT, serializedPost);
+    }
+
+    // Create post from a pre-serialized body view, e.g. a record of a PayloadCorpus
+    public Response createPost(ByteBuffer serializedPost) {
+        LoggerUtil.info("Creating new post from {} byte body", serializedPost.remaining());
+        return performPost(POSTS_ENDPOINT, serializedPost);
+    }
+
     public Post createPostAndReturn(Post post) {
         Response response = createPost(post);
         try {
@@ -8,6 +8,7 @@ import io.restassured.specification.ResponseSpecification;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public class UserService extends BaseService {
@@ -35,6 +36,11 @@ public class UserService extends BaseService {
         }
     }
 
+    // Load-path variant: status and size only, the body is never materialized
+    public DiscardedResponse getAllUsersDiscardingBody(boolean computeChecksum) {
+        return performGetDiscardingBody(USERS_ENDPOINT, computeChecksum);
+    }
+
     // Get user by ID
     public Response getUserById(int userId) {
         LoggerUtil.info("Getting user with ID: {}", userId);
@@ -57,6 +63,18 @@ public class UserService extends BaseService {
         return performPost(USERS_ENDPOINT, user);
     }
 
+    // Create user from a pre-serialized JSON body (e.g. rendered from a BodyTemplate)
+    public Response createUser(byte[] serializedUser) {
+        LoggerUtil.info("Creating new user from {} byte body", serializedUser.length);
+        return performPost(USERS_ENDPOINT, serializedUser);
+    }
+
+    // Create user from a pre-serialized body view, e.g. a record of a PayloadCorpus
+    public Response createUser(ByteBuffer serializedUser) {
+        LoggerUtil.info("Creating new user from {} byte body", serializedUser.remaining());
+        return performPost(USERS_ENDPOINT, serializedUser);
+    }
+
     public User createUserAndReturn(User user) {
         Response response = createUser(user);
         try {
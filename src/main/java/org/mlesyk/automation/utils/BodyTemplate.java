@@ -0,0 +1,165 @@
+package org.mlesyk.automation.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Request body compiled once into constant byte segments and named slots.
+// Rendering only encodes the slot values and copies bytes - no serializer on the hot path.
+// Uses the same {{PLACEHOLDER}} syntax as TemplateEngine; quote string slots in the template:
+//   {"title": "{{TITLE}}", "userId": {{USER_ID}}}
+public class BodyTemplate {
+
+    private static final Pattern SLOT_NAME = Pattern.compile("[A-Z0-9_]+");
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{\\{([A-Z0-9_]+)\\}\\}");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] segments;
+    private final String[] slotNames;
+    private final int constantLength;
+
+    private BodyTemplate(byte[][] segments, String[] slotNames) {
+        this.segments = segments;
+        this.slotNames = slotNames;
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.constantLength = length;
+    }
+
+    public static BodyTemplate compile(String template) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(template);
+        int last = 0;
+        while (matcher.find()) {
+            segments.add(template.substring(last, matcher.start()).getBytes(StandardCharsets.UTF_8));
+            slots.add(matcher.group(1));
+            last = matcher.end();
+        }
+        segments.add(template.substring(last).getBytes(StandardCharsets.UTF_8));
+
+        LoggerUtil.debug("Compiled body template with {} slots: {}", slots.size(), slots);
+        return new BodyTemplate(segments.toArray(new byte[0][]), slots.toArray(new String[0]));
+    }
+
+    // Serializes a sample object once and turns the first occurrence of each given
+    // string field into a slot, e.g. fromSample(post, "title", "body") -> slots TITLE and BODY
+    public static BodyTemplate fromSample(Object sample, String... stringFields) {
+        try {
+            String json = objectMapper.writeValueAsString(sample);
+            for (String field : stringFields) {
+                Pattern fieldPattern = Pattern.compile("\"" + Pattern.quote(field) + "\":\"(?:[^\"\\\\]|\\\\.)*\"");
+                Matcher matcher = fieldPattern.matcher(json);
+                if (!matcher.find()) {
+                    throw new IllegalArgumentException("Sample has no string field: " + field);
+                }
+                String slot = field.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+                if (!SLOT_NAME.matcher(slot).matches()) {
+                    throw new IllegalArgumentException("Field " + field + " cannot be a template slot: " + slot);
+                }
+                json = json.substring(0, matcher.start())
+                        + "\"" + field + "\":\"{{" + slot + "}}\""
+                        + json.substring(matcher.end());
+            }
+            return compile(json);
+        } catch (JsonProcessingException e) {
+            LoggerUtil.error("Failed to serialize body template sample", e);
+            throw new RuntimeException("Body template creation failed", e);
+        }
+    }
+
+    public List<String> getSlotNames() {
+        return Arrays.asList(slotNames);
+    }
+
+    // Values in slot order; CharSequences are JSON-escaped, everything else uses toString()
+    public byte[] render(Object... values) {
+        if (values.length != slotNames.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Body template expects %d values %s but got %d",
+                    slotNames.length, Arrays.toString(slotNames), values.length));
+        }
+
+        byte[][] encoded = new byte[values.length][];
+        int length = constantLength;
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = encode(values[i]);
+            length += encoded[i].length;
+        }
+
+        byte[] body = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < segments.length; i++) {
+            System.arraycopy(segments[i], 0, body, offset, segments[i].length);
+            offset += segments[i].length;
+            if (i < encoded.length) {
+                System.arraycopy(encoded[i], 0, body, offset, encoded[i].length);
+                offset += encoded[i].length;
+            }
+        }
+        return body;
+    }
+
+    public byte[] render(Map<String, ?> values) {
+        Object[] ordered = new Object[slotNames.length];
+        for (int i = 0; i < slotNames.length; i++) {
+            if (!values.containsKey(slotNames[i])) {
+                throw new IllegalArgumentException("Missing value for body template slot: " + slotNames[i]);
+            }
+            ordered[i] = values.get(slotNames[i]);
+        }
+        return render(ordered);
+    }
+
+    private static byte[] encode(Object value) {
+        if (value == null) {
+            return "null".getBytes(StandardCharsets.US_ASCII);
+        }
+        if (value instanceof CharSequence text) {
+            return escapeJson(text);
+        }
+        return value.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] escapeJson(CharSequence text) {
+        boolean clean = true;
+        for (int i = 0; i < text.length() && clean; i++) {
+            char c = text.charAt(i);
+            clean = c >= 0x20 && c != '"' && c != '\\';
+        }
+        if (clean) {
+            return text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append("\\u00").append((char) HEX[c >> 4]).append((char) HEX[c & 0xF]);
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
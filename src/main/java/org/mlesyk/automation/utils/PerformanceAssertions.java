@@ -19,6 +19,9 @@ public class PerformanceAssertions {
             case "median":
                 actualResponseTime = result.getP50ResponseTime();
                 break;
+            case "p90":
+                actualResponseTime = result.getP90ResponseTime();
+                break;
             case "p95":
                 actualResponseTime = result.getP95ResponseTime();
                 break;
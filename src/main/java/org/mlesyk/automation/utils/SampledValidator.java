@@ -0,0 +1,183 @@
+package org.mlesyk.automation.utils;
+
+import io.restassured.response.Response;
+import lombok.Builder;
+import lombok.Data;
+import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Applies ValidationUtil rules to a sample of the items seen during a high-volume run.
+// Violations are counted per message with a bounded list of examples instead of failing
+// the calling thread on the first bad response; call assertNoViolations() at the end.
+//  - rate mode: each offered item is validated immediately with the given probability
+//  - reservoir mode: a uniform sample of fixed size is kept (algorithm R) and validated on finish()
+public class SampledValidator<T> {
+
+    private static final int DEFAULT_MAX_EXAMPLES = 10;
+
+    private final String name;
+    private final Consumer<T> rule;
+    private final double sampleRate;
+    private final int reservoirSize;
+    private final int maxExamples;
+
+    private final LongAdder seen = new LongAdder();
+    private final LongAdder validated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Map<String, LongAdder> violationCounts = new ConcurrentHashMap<>();
+    private final List<String> examples = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger exampleSlots = new AtomicInteger();
+
+    private final List<T> reservoir;
+    private long reservoirSeen;
+
+    private SampledValidator(String name, Consumer<T> rule, double sampleRate, int reservoirSize, int maxExamples) {
+        this.name = name;
+        this.rule = rule;
+        this.sampleRate = sampleRate;
+        this.reservoirSize = reservoirSize;
+        this.maxExamples = maxExamples;
+        this.reservoir = reservoirSize > 0 ? new ArrayList<>(reservoirSize) : null;
+    }
+
+    public static <T> SampledValidator<T> ofRate(String name, Consumer<T> rule, double sampleRate) {
+        if (sampleRate <= 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be in (0, 1], got " + sampleRate);
+        }
+        return new SampledValidator<>(name, rule, sampleRate, 0, DEFAULT_MAX_EXAMPLES);
+    }
+
+    public static <T> SampledValidator<T> ofReservoir(String name, Consumer<T> rule, int reservoirSize) {
+        if (reservoirSize < 1) {
+            throw new IllegalArgumentException("Reservoir size must be >= 1, got " + reservoirSize);
+        }
+        return new SampledValidator<>(name, rule, 0, reservoirSize, DEFAULT_MAX_EXAMPLES);
+    }
+
+    // Ready-made validators for the ValidationUtil rules
+    public static SampledValidator<User> users(double sampleRate) {
+        return ofRate("User", ValidationUtil::validateUserStructure, sampleRate);
+    }
+
+    public static SampledValidator<Post> posts(double sampleRate) {
+        return ofRate("Post", ValidationUtil::validatePost, sampleRate);
+    }
+
+    public static SampledValidator<Comment> comments(double sampleRate) {
+        return ofRate("Comment", ValidationUtil::validateComment, sampleRate);
+    }
+
+    public static SampledValidator<Response> successResponses(int expectedStatusCode, double sampleRate) {
+        return ofRate("Response " + expectedStatusCode,
+                response -> ValidationUtil.validateSuccessResponse(response, expectedStatusCode), sampleRate);
+    }
+
+    public void offer(T item) {
+        seen.increment();
+
+        if (reservoir == null) {
+            if (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                check(item);
+            }
+            return;
+        }
+
+        synchronized (reservoir) {
+            reservoirSeen++;
+            if (reservoir.size() < reservoirSize) {
+                reservoir.add(item);
+            } else {
+                long slot = ThreadLocalRandom.current().nextLong(reservoirSeen);
+                if (slot < reservoirSize) {
+                    reservoir.set((int) slot, item);
+                }
+            }
+        }
+    }
+
+    // Validates the reservoir sample (no-op in rate mode) and returns the aggregated report
+    public SamplingReport finish() {
+        if (reservoir != null) {
+            List<T> sample;
+            synchronized (reservoir) {
+                sample = new ArrayList<>(reservoir);
+                reservoir.clear();
+            }
+            sample.forEach(this::check);
+        }
+        return getReport();
+    }
+
+    public SamplingReport getReport() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        violationCounts.forEach((message, count) -> counts.put(message, count.sum()));
+
+        List<String> exampleCopy;
+        synchronized (examples) {
+            exampleCopy = new ArrayList<>(examples);
+        }
+
+        return SamplingReport.builder()
+                .name(name)
+                .seen(seen.sum())
+                .validated(validated.sum())
+                .failed(failed.sum())
+                .violationCounts(counts)
+                .examples(exampleCopy)
+                .build();
+    }
+
+    public void assertNoViolations() {
+        SamplingReport report = finish();
+        if (report.getFailed() > 0) {
+            LoggerUtil.logValidationFail(name + " sampled validation", "0 violations", report.getViolationCounts());
+            throw new AssertionError(String.format("%s: %d of %d sampled items failed validation (%d seen). Violations: %s. Examples: %s",
+                    name, report.getFailed(), report.getValidated(), report.getSeen(),
+                    report.getViolationCounts(), report.getExamples()));
+        }
+        LoggerUtil.logValidationPass(name + " sampled validation",
+                "0 violations", report.getValidated() + " of " + report.getSeen() + " validated");
+    }
+
+    private void check(T item) {
+        validated.increment();
+        try {
+            rule.accept(item);
+        } catch (AssertionError | RuntimeException e) {
+            failed.increment();
+            String message = String.valueOf(e.getMessage());
+            violationCounts.computeIfAbsent(message, m -> new LongAdder()).increment();
+            if (exampleSlots.getAndIncrement() < maxExamples) {
+                examples.add(message + " <- " + item);
+            }
+        }
+    }
+
+    @Data
+    @Builder
+    public static class SamplingReport {
+        private String name;
+        private long seen;
+        private long validated;
+        private long failed;
+        private Map<String, Long> violationCounts;
+        private List<String> examples;
+
+        public double getFailureRate() {
+            if (validated == 0) return 0.0;
+            return (double) failed / validated * 100;
+        }
+    }
+}
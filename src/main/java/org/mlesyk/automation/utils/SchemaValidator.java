@@ -0,0 +1,161 @@
+package org.mlesyk.automation.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JSON schema validation with schemas loaded and compiled once per JVM.
+// Compiled JsonSchema instances are immutable, so the cache is shared by all threads.
+public class SchemaValidator {
+
+    public enum Schema {
+        USER("schemas/user-schema.json"),
+        POST("schemas/post-schema.json"),
+        COMMENT("schemas/comment-schema.json");
+
+        private final String classpathLocation;
+
+        Schema(String classpathLocation) {
+            this.classpathLocation = classpathLocation;
+        }
+
+        public String getClasspathLocation() {
+            return classpathLocation;
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+    private static final Map<String, JsonSchema> compiledSchemas = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> sampleCounters = new ConcurrentHashMap<>();
+
+    public static final Result SKIPPED = new Result(true, false, Collections.emptyList());
+
+    // Compile all built-in schemas up front, outside of any measured window
+    public static void preload() {
+        for (Schema schema : Schema.values()) {
+            getCompiledSchema(schema.getClasspathLocation(), false);
+            getCompiledSchema(schema.getClasspathLocation(), true);
+        }
+        LoggerUtil.info("Preloaded {} JSON schemas", compiledSchemas.size());
+    }
+
+    // Single object body
+    public static Result validate(Schema schema, byte[] body) {
+        return validate(schema.getClasspathLocation(), body, false);
+    }
+
+    // Collection body, every element is validated against the schema
+    public static Result validateArray(Schema schema, byte[] body) {
+        return validate(schema.getClasspathLocation(), body, true);
+    }
+
+    public static Result validate(String classpathLocation, byte[] body, boolean array) {
+        JsonSchema compiled = getCompiledSchema(classpathLocation, array);
+        try {
+            JsonNode instance = objectMapper.readTree(body);
+            ProcessingReport report = compiled.validate(instance);
+            if (report.isSuccess()) {
+                return new Result(true, true, Collections.emptyList());
+            }
+
+            List<String> messages = new ArrayList<>();
+            for (ProcessingMessage message : report) {
+                messages.add(message.getMessage());
+            }
+            return new Result(false, true, messages);
+
+        } catch (IOException e) {
+            return new Result(false, true, List.of("Body is not valid JSON: " + e.getMessage()));
+        } catch (ProcessingException e) {
+            LoggerUtil.error("Schema processing failed for: {}", classpathLocation, e);
+            throw new RuntimeException("Schema validation failed", e);
+        }
+    }
+
+    // Validates only every sampleEvery-th body per schema, the rest return SKIPPED
+    public static Result validateSampled(Schema schema, byte[] body, int sampleEvery) {
+        return validateSampled(schema, body, false, sampleEvery);
+    }
+
+    public static Result validateArraySampled(Schema schema, byte[] body, int sampleEvery) {
+        return validateSampled(schema, body, true, sampleEvery);
+    }
+
+    private static Result validateSampled(Schema schema, byte[] body, boolean array, int sampleEvery) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be >= 1, got " + sampleEvery);
+        }
+        String key = cacheKey(schema.getClasspathLocation(), array);
+        long sequence = sampleCounters.computeIfAbsent(key, k -> new AtomicLong()).getAndIncrement();
+        if (sequence % sampleEvery != 0) {
+            return SKIPPED;
+        }
+        return validate(schema.getClasspathLocation(), body, array);
+    }
+
+    public static void resetSampling() {
+        sampleCounters.clear();
+    }
+
+    private static JsonSchema getCompiledSchema(String classpathLocation, boolean array) {
+        return compiledSchemas.computeIfAbsent(cacheKey(classpathLocation, array),
+                key -> compileSchema(classpathLocation, array));
+    }
+
+    private static JsonSchema compileSchema(String classpathLocation, boolean array) {
+        try (InputStream inputStream = SchemaValidator.class.getClassLoader().getResourceAsStream(classpathLocation)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Schema not found: " + classpathLocation);
+            }
+
+            JsonNode schemaNode = objectMapper.readTree(inputStream);
+            if (array) {
+                ObjectNode itemSchema = (ObjectNode) schemaNode;
+                ObjectNode arraySchema = objectMapper.createObjectNode();
+                if (itemSchema.has("$schema")) {
+                    arraySchema.set("$schema", itemSchema.remove("$schema"));
+                }
+                arraySchema.put("type", "array");
+                arraySchema.set("items", itemSchema);
+                schemaNode = arraySchema;
+            }
+
+            LoggerUtil.debug("Compiled JSON schema: {}{}", classpathLocation, array ? " (array)" : "");
+            return schemaFactory.getJsonSchema(schemaNode);
+
+        } catch (IOException | ProcessingException e) {
+            LoggerUtil.error("Failed to compile JSON schema: {}", classpathLocation, e);
+            throw new RuntimeException("Schema compilation failed", e);
+        }
+    }
+
+    private static String cacheKey(String classpathLocation, boolean array) {
+        return array ? classpathLocation + "[]" : classpathLocation;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Result {
+        private final boolean valid;
+        private final boolean validated; // false when the body was skipped by sampling
+        private final List<String> messages;
+    }
+}
@@ -1,17 +1,50 @@
 package org.mlesyk.automation.utils;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import net.datafaker.Faker;
+import org.mlesyk.automation.data.UniqueIdentityGenerator;
+import org.mlesyk.automation.data.UniqueIdentityGenerator.Identity;
+import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class TestDataUtil {
 
-    private static final Faker faker = new Faker();
+    // One Faker per thread - a shared instance serializes all threads on its Random
+    private static final ThreadLocal<Faker> threadFaker = ThreadLocal.withInitial(Faker::new);
+    private static final ThreadLocal<SeededFaker> threadSeededFaker = ThreadLocal.withInitial(SeededFaker::new);
+
+    // Request bodies leave out null fields (e.g. the id of a model that is about to be created)
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private static final Map<Class<?>, ObjectWriter> jsonWriters = new ConcurrentHashMap<>();
+
+    private static Faker faker() {
+        return threadFaker.get();
+    }
 
     // User data generation
     public static Map<String, Object> generateUserData() {
+        return buildUserData(faker());
+    }
+
+    // Deterministic: the same seed and index always produce the same user, on any thread
+    public static Map<String, Object> generateUserData(long seed, long index) {
+        return buildUserData(seededFaker(seed, index));
+    }
+
+    private static Map<String, Object> buildUserData(Faker faker) {
         Map<String, Object> user = new HashMap<>();
         user.put("name", faker.name().fullName());
         user.put("username", faker.name().username());
@@ -44,8 +77,34 @@ public class TestDataUtil {
         return user;
     }
 
+    // Faker usernames and emails repeat at volume; these keep the Faker base for readability
+    // and append a run/worker/sequence token so every identity is unique
+    public static Map<String, Object> generateUniqueUserData() {
+        Map<String, Object> user = generateUserData();
+        Identity identity = UniqueIdentityGenerator.getDefault().next((String) user.get("username"));
+        user.put("username", identity.getUsername());
+        user.put("email", identity.getEmail());
+        return user;
+    }
+
+    public static User generateUniqueUser() {
+        User user = generateUser();
+        Identity identity = UniqueIdentityGenerator.getDefault().next(user.getUsername());
+        user.setUsername(identity.getUsername());
+        user.setEmail(identity.getEmail());
+        return user;
+    }
+
     // Post data generation
     public static Map<String, Object> generatePostData(int userId) {
+        return buildPostData(faker(), userId);
+    }
+
+    public static Map<String, Object> generatePostData(int userId, long seed, long index) {
+        return buildPostData(seededFaker(seed, index), userId);
+    }
+
+    private static Map<String, Object> buildPostData(Faker faker, int userId) {
         Map<String, Object> post = new HashMap<>();
         post.put("title", faker.lorem().sentence());
         post.put("body", faker.lorem().paragraph());
@@ -55,6 +114,14 @@ public class TestDataUtil {
 
     // Comment data generation
     public static Map<String, Object> generateCommentData(int postId) {
+        return buildCommentData(faker(), postId);
+    }
+
+    public static Map<String, Object> generateCommentData(int postId, long seed, long index) {
+        return buildCommentData(seededFaker(seed, index), postId);
+    }
+
+    private static Map<String, Object> buildCommentData(Faker faker, int postId) {
         Map<String, Object> comment = new HashMap<>();
         comment.put("name", faker.lorem().sentence());
         comment.put("email", faker.internet().emailAddress());
@@ -63,10 +130,118 @@ public class TestDataUtil {
         return comment;
     }
 
+    // Typed model generation - same Faker calls in the same order as the map generators,
+    // so a seeded User serializes to the same JSON as the seeded user map
+    public static User generateUser() {
+        return buildUser(faker());
+    }
+
+    public static User generateUser(long seed, long index) {
+        return buildUser(seededFaker(seed, index));
+    }
+
+    public static Post generatePost(int userId) {
+        return buildPost(faker(), userId);
+    }
+
+    public static Post generatePost(int userId, long seed, long index) {
+        return buildPost(seededFaker(seed, index), userId);
+    }
+
+    public static Comment generateComment(int postId) {
+        return buildComment(faker(), postId);
+    }
+
+    public static Comment generateComment(int postId, long seed, long index) {
+        return buildComment(seededFaker(seed, index), postId);
+    }
+
+    private static User buildUser(Faker faker) {
+        User user = new User();
+        user.setName(faker.name().fullName());
+        user.setUsername(faker.name().username());
+        user.setEmail(faker.internet().emailAddress());
+        user.setPhone(faker.phoneNumber().phoneNumber());
+        user.setWebsite(faker.internet().url());
+
+        User.Address address = new User.Address();
+        address.setStreet(faker.address().streetAddress());
+        address.setSuite(faker.address().secondaryAddress());
+        address.setCity(faker.address().city());
+        address.setZipcode(faker.address().zipCode());
+
+        User.Address.Geo geo = new User.Address.Geo();
+        geo.setLatitude(faker.address().latitude());
+        geo.setLongitude(faker.address().longitude());
+        address.setGeo(geo);
+        user.setAddress(address);
+
+        User.Company company = new User.Company();
+        company.setName(faker.company().name());
+        company.setCatchPhrase(faker.company().catchPhrase());
+        company.setBs(faker.company().bs());
+        user.setCompany(company);
+
+        return user;
+    }
+
+    private static Post buildPost(Faker faker, int userId) {
+        Post post = new Post();
+        post.setTitle(faker.lorem().sentence());
+        post.setBody(faker.lorem().paragraph());
+        post.setUserId(userId);
+        return post;
+    }
+
+    private static Comment buildComment(Faker faker, int postId) {
+        Comment comment = new Comment();
+        comment.setName(faker.lorem().sentence());
+        comment.setEmail(faker.internet().emailAddress());
+        comment.setBody(faker.lorem().paragraph());
+        comment.setPostId(postId);
+        return comment;
+    }
+
+    // JSON serialization through one cached, thread-safe ObjectWriter per type
+    public static byte[] toJsonBytes(Object value) {
+        try {
+            return jsonWriter(value.getClass()).writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            LoggerUtil.error("Failed to serialize test data", e);
+            throw new RuntimeException("Test data serialization failed", e);
+        }
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return jsonWriter(value.getClass()).writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            LoggerUtil.error("Failed to serialize test data", e);
+            throw new RuntimeException("Test data serialization failed", e);
+        }
+    }
+
+    // Generate straight to a request body without an intermediate map
+    public static byte[] generateUserJson(long seed, long index) {
+        return toJsonBytes(generateUser(seed, index));
+    }
+
+    public static byte[] generatePostJson(int userId, long seed, long index) {
+        return toJsonBytes(generatePost(userId, seed, index));
+    }
+
+    public static byte[] generateCommentJson(int postId, long seed, long index) {
+        return toJsonBytes(generateComment(postId, seed, index));
+    }
+
+    private static ObjectWriter jsonWriter(Class<?> type) {
+        return jsonWriters.computeIfAbsent(type, objectMapper::writerFor);
+    }
+
     // Album data generation
     public static Map<String, Object> generateAlbumData(int userId) {
         Map<String, Object> album = new HashMap<>();
-        album.put("title", faker.book().title());
+        album.put("title", faker().book().title());
         album.put("userId", userId);
         return album;
     }
@@ -74,9 +249,9 @@ public class TestDataUtil {
     // Photo data generation
     public static Map<String, Object> generatePhotoData(int albumId) {
         Map<String, Object> photo = new HashMap<>();
-        photo.put("title", faker.lorem().sentence());
-        photo.put("url", faker.internet().image());
-        photo.put("thumbnailUrl", faker.internet().image(150, 150, "thumb"));
+        photo.put("title", faker().lorem().sentence());
+        photo.put("url", faker().internet().image());
+        photo.put("thumbnailUrl", faker().internet().image(150, 150, "thumb"));
         photo.put("albumId", albumId);
         return photo;
     }
@@ -98,12 +273,44 @@ public class TestDataUtil {
         return posts;
     }
 
+    // Seeded bulk data generation - record i always comes from seed + i, so the sequential
+    // and parallel variants produce identical, reproducible lists
+    public static List<Map<String, Object>> generateMultipleUsers(int count, long seed) {
+        List<Map<String, Object>> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(generateUserData(seed, i));
+        }
+        return users;
+    }
+
+    public static List<Map<String, Object>> generateMultipleUsersParallel(int count, long seed) {
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> generateUserData(seed, i))
+                .collect(Collectors.toList());
+    }
+
+    public static List<Map<String, Object>> generateMultiplePosts(int userId, int count, long seed) {
+        List<Map<String, Object>> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            posts.add(generatePostData(userId, seed, i));
+        }
+        return posts;
+    }
+
+    public static List<Map<String, Object>> generateMultiplePostsParallel(int userId, int count, long seed) {
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> generatePostData(userId, seed, i))
+                .collect(Collectors.toList());
+    }
+
     // Authentication test data
     public static Map<String, String> generateLoginCredentials() {
         Map<String, String> credentials = new HashMap<>();
-        credentials.put("username", faker.name().username());
-        credentials.put("password", faker.internet().password(8, 16, true, true, true));
-        credentials.put("email", faker.internet().emailAddress());
+        credentials.put("username", faker().name().username());
+        credentials.put("password", faker().internet().password(8, 16, true, true, true));
+        credentials.put("email", faker().internet().emailAddress());
         return credentials;
     }
 
@@ -111,7 +318,7 @@ public class TestDataUtil {
     public static Map<String, Object> generateInvalidUserData() {
         Map<String, Object> user = new HashMap<>();
         user.put("name", ""); // empty name
-        user.put("username", faker.lorem().characters(100)); // too long username
+        user.put("username", faker().lorem().characters(100)); // too long username
         user.put("email", "invalid-email"); // invalid email format
         user.put("phone", "abc123"); // invalid phone
         user.put("website", "not-a-url"); // invalid URL
@@ -120,18 +327,46 @@ public class TestDataUtil {
 
     // Random data helpers
     public static String getRandomString(int length) {
-        return faker.lorem().characters(length);
+        return faker().lorem().characters(length);
     }
 
     public static int getRandomNumber(int min, int max) {
-        return faker.number().numberBetween(min, max);
+        return faker().number().numberBetween(min, max);
     }
 
     public static String getRandomEmail() {
-        return faker.internet().emailAddress();
+        return faker().internet().emailAddress();
+    }
+
+    public static String getUniqueUsername() {
+        return UniqueIdentityGenerator.getDefault().username(faker().name().username());
+    }
+
+    public static String getUniqueEmail() {
+        return UniqueIdentityGenerator.getDefault().email(faker().name().username());
     }
 
     public static String getRandomPhoneNumber() {
-        return faker.phoneNumber().phoneNumber();
+        return faker().phoneNumber().phoneNumber();
+    }
+
+    // Mixes seed and record index (SplitMix64 finalizer) so neighbouring records get unrelated streams
+    static long recordSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Faker seededFaker(long seed, long index) {
+        SeededFaker seeded = threadSeededFaker.get();
+        seeded.random.setSeed(recordSeed(seed, index));
+        return seeded.faker;
+    }
+
+    // Faker bound to a Random owned by this thread, re-seeded before every record
+    private static class SeededFaker {
+        private final Random random = new Random();
+        private final Faker faker = new Faker(random);
     }
-}
\ No newline at end of file
+}
@@ -90,6 +90,20 @@ public class ValidationUtil {
         LoggerUtil.logValidationPass("Comment object validation", "all required fields present", "validated");
     }
 
+    // Schema validation methods - schemas are compiled once and cached by SchemaValidator
+    public static void validateSchema(Response response, SchemaValidator.Schema schema) {
+        assertSchemaResult(SchemaValidator.validate(schema, response.asByteArray()), schema);
+    }
+
+    public static void validateSchemaArray(Response response, SchemaValidator.Schema schema) {
+        assertSchemaResult(SchemaValidator.validateArray(schema, response.asByteArray()), schema);
+    }
+
+    private static void assertSchemaResult(SchemaValidator.Result result, SchemaValidator.Schema schema) {
+        assertTrue(result.isValid(), schema + " schema validation failed: " + result.getMessages());
+        LoggerUtil.logValidationPass(schema + " schema validation", "valid", "validated");
+    }
+
     // Performance validation methods
     public static void validatePerformance(Response response, long maxResponseTime) {
         long actualResponseTime = response.getTime();
@@ -2,6 +2,7 @@ package org.mlesyk.automation.base;
 
 import org.mlesyk.automation.config.ConfigManager;
 import org.mlesyk.automation.config.Configuration;
+import org.mlesyk.automation.replay.TrafficRecordingFilter;
 import org.mlesyk.automation.utils.LoggerUtil;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
@@ -68,12 +69,18 @@ public class BaseTest {
         LoggerUtil.debug("Base URI set to: {}", config.baseUrl());
 
         // Request specification
-        requestSpec = new RequestSpecBuilder()
+        RequestSpecBuilder requestSpecBuilder = new RequestSpecBuilder()
                 .setContentType(ContentType.JSON)
                 .setAccept(ContentType.JSON)
                 .addHeader("User-Agent", "API-Testing-Framework/1.0")
-                .addFilter(new AllureRestAssured()) // For Allure reporting
-                .build();
+                .addFilter(new AllureRestAssured()); // For Allure reporting
+
+        if (config.trafficRecordEnabled()) {
+            // For replaying functional traffic as load (-Dtraffic.record.enabled=true)
+            requestSpecBuilder.addFilter(TrafficRecordingFilter.getShared(config.trafficRecordFile()));
+            LoggerUtil.debug("Traffic recording enabled: {}", config.trafficRecordFile());
+        }
+        requestSpec = requestSpecBuilder.build();
 
         // Response specification
         responseSpec = new ResponseSpecBuilder()
@@ -3,7 +3,9 @@ package org.mlesyk.automation.tests;
 import org.mlesyk.automation.base.BaseTest;
 import org.mlesyk.automation.models.Post;
 import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.services.DiscardedResponse;
 import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.utils.BodyTemplate;
 import org.mlesyk.automation.utils.LoggerUtil;
 import org.mlesyk.automation.utils.TestDataUtil;
 import io.qameta.allure.*;
@@ -11,8 +13,10 @@ import io.restassured.response.Response;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32C;
 
 import static org.hamcrest.Matchers.*;
 import static org.testng.Assert.*;
@@ -52,6 +56,31 @@ public class PostServiceTest extends BaseTest {
         LoggerUtil.info("Successfully retrieved {} posts", posts.size());
     }
 
+    @Test(description = "Verify discard-body mode reports size and checksum of the full body")
+    @Story("Get Posts")
+    @Severity(SeverityLevel.NORMAL)
+    public void testGetAllPostsDiscardingBody() {
+        LoggerUtil.info("Testing discard-body mode against /posts");
+
+        byte[] bufferedBody = postService.getAllPosts().asByteArray();
+        CRC32C expectedChecksum = new CRC32C();
+        expectedChecksum.update(bufferedBody);
+
+        DiscardedResponse discarded = postService.getAllPostsDiscardingBody(true);
+
+        assertEquals(discarded.getStatusCode(), 200, "Status code should be 200");
+        assertTrue(discarded.isChecksumComputed(), "Checksum should be computed when requested");
+        assertEquals(discarded.getBodyBytes(), (long) bufferedBody.length, "Drained size should match buffered body");
+        assertEquals(discarded.getChecksum(), expectedChecksum.getValue(), "Checksum should match buffered body");
+
+        DiscardedResponse comments = postService.getDiscardingBody("/comments", false);
+        assertEquals(comments.getStatusCode(), 200, "Status code should be 200");
+        assertTrue(comments.getBodyBytes() > 0, "Comments body should not be empty");
+        assertFalse(comments.isChecksumComputed(), "Checksum should be skipped when not requested");
+
+        LoggerUtil.logPerformanceMetric("Discarded /comments body", comments.getBodyBytes(), "bytes");
+    }
+
     @Test(description = "Verify creating a new post")
     @Story("Create Post")
     @Severity(SeverityLevel.CRITICAL)
@@ -83,6 +112,57 @@ public class PostServiceTest extends BaseTest {
         LoggerUtil.info("Successfully created post with ID: {}", createdPost.getId());
     }
 
+    @Test(description = "Verify creating posts from a pre-serialized body template")
+    @Story("Create Post")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCreatePostFromBodyTemplate() {
+        LoggerUtil.info("Testing create post with pre-serialized bodies");
+
+        BodyTemplate template = BodyTemplate.compile(
+                "{\"title\":\"{{TITLE}}\",\"body\":\"{{BODY}}\",\"userId\":{{USER_ID}}}");
+        assertEquals(template.getSlotNames(), List.of("TITLE", "BODY", "USER_ID"), "Slots should follow template order");
+
+        for (int userId = 1; userId <= 3; userId++) {
+            String title = "Templated \"post\" " + userId;
+            byte[] body = template.render(title, "Line one\nLine two", userId);
+
+            Response response = postService.createPost(body);
+
+            assertEquals(response.getStatusCode(), 201, "Status code should be 201 for creation");
+            response.then()
+                    .body("title", equalTo(title))
+                    .body("body", equalTo("Line one\nLine two"))
+                    .body("userId", equalTo(userId))
+                    .body("id", notNullValue());
+        }
+
+        Post sample = new Post(null, "sample title", "sample body", 1);
+        BodyTemplate sampleTemplate = BodyTemplate.fromSample(sample, "title");
+        Response response = postService.createPost(sampleTemplate.render(Map.of("TITLE", "From sample")));
+
+        assertEquals(response.getStatusCode(), 201, "Status code should be 201 for creation");
+        response.then()
+                .body("title", equalTo("From sample"))
+                .body("body", equalTo("sample body"));
+
+        LoggerUtil.info("Successfully created posts from pre-serialized bodies");
+    }
+
+    @Test(description = "Verify template slots derived from field names with digits")
+    @Story("Create Post")
+    @Severity(SeverityLevel.MINOR)
+    public void testBodyTemplateSlotsWithDigits() {
+        BodyTemplate template = BodyTemplate.fromSample(Map.of("address2", "sample", "zip", "00-001"), "address2");
+        assertEquals(template.getSlotNames(), List.of("ADDRESS2"), "Digits should be kept in the slot name");
+
+        String body = new String(template.render(Map.of("ADDRESS2", "Flat 4")), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"address2\":\"Flat 4\""), "The slot should be filled: " + body);
+        assertFalse(body.contains("{{"), "No placeholder should be left in the body: " + body);
+
+        expectThrows(IllegalArgumentException.class,
+                () -> BodyTemplate.fromSample(Map.of("first-name", "sample"), "first-name"));
+    }
+
     @Test(description = "Verify getting post comments")
     @Story("Get Post Comments")
     @Severity(SeverityLevel.NORMAL)
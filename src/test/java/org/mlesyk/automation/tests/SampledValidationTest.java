@@ -0,0 +1,92 @@
+package org.mlesyk.automation.tests;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.SampledValidator;
+import org.mlesyk.automation.utils.SampledValidator.SamplingReport;
+import org.mlesyk.automation.utils.ValidationUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+@Epic("Framework Setup")
+@Feature("Sampled Validation")
+public class SampledValidationTest extends BaseTest {
+
+    private List<Post> posts;
+
+    @BeforeClass
+    public void setUpPosts() {
+        PostService postService = new PostService(requestSpec, responseSpec);
+        posts = postService.getAllPostsAsObjects();
+        LoggerUtil.logFrameworkInfo("Loaded {} posts for sampled validation testing", posts.size());
+    }
+
+    @Test(description = "Verify rate sampling aggregates violations instead of throwing")
+    @Story("Sampled Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRateSamplingAggregatesViolations() {
+        List<Post> mixed = new ArrayList<>(posts);
+        for (int i = 0; i < 15; i++) {
+            mixed.add(new Post(1000 + i, " ", "body", 1)); // blank title
+        }
+
+        SampledValidator<Post> validator = SampledValidator.posts(1.0);
+        mixed.forEach(validator::offer);
+        SamplingReport report = validator.finish();
+
+        assertEquals(report.getSeen(), mixed.size(), "All posts should be counted");
+        assertEquals(report.getValidated(), mixed.size(), "Rate 1.0 should validate every post");
+        assertEquals(report.getFailed(), 15L, "Only the broken posts should fail");
+        assertEquals(report.getViolationCounts().size(), 1, "Violations should be grouped by message");
+        assertEquals(report.getExamples().size(), 10, "Examples should be bounded");
+
+        assertThrows(AssertionError.class, validator::assertNoViolations);
+        LoggerUtil.info("Aggregated violations: {}", report.getViolationCounts());
+    }
+
+    @Test(description = "Verify reservoir sampling validates a bounded sample on finish")
+    @Story("Sampled Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testReservoirSampling() {
+        int reservoirSize = 20;
+        SampledValidator<Post> validator = SampledValidator.ofReservoir("Post", ValidationUtil::validatePost, reservoirSize);
+
+        for (int round = 0; round < 10; round++) {
+            posts.forEach(validator::offer);
+        }
+        assertEquals(validator.getReport().getValidated(), 0L, "Reservoir should defer validation until finish");
+
+        SamplingReport report = validator.finish();
+        assertEquals(report.getSeen(), posts.size() * 10L, "All offered posts should be counted");
+        assertEquals(report.getValidated(), (long) reservoirSize, "Exactly the reservoir should be validated");
+        assertEquals(report.getFailed(), 0L, "Real posts should be valid");
+
+        validator.assertNoViolations();
+    }
+
+    @Test(description = "Verify low sampling rates validate a fraction of items")
+    @Story("Sampled Validation")
+    @Severity(SeverityLevel.MINOR)
+    public void testLowSamplingRate() {
+        SampledValidator<Post> validator = SampledValidator.posts(0.05);
+        int offered = 0;
+        for (int round = 0; round < 100; round++) {
+            posts.forEach(validator::offer);
+            offered += posts.size();
+        }
+
+        SamplingReport report = validator.finish();
+        assertTrue(report.getValidated() > 0, "Some posts should be sampled");
+        assertTrue(report.getValidated() < offered / 5, "Far fewer than all posts should be validated");
+
+        LoggerUtil.logPerformanceMetric("Sampled posts", report.getValidated(), "of " + offered);
+    }
+}
@@ -0,0 +1,88 @@
+package org.mlesyk.automation.tests;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.SchemaValidator;
+import org.mlesyk.automation.utils.SchemaValidator.Schema;
+import org.mlesyk.automation.utils.ValidationUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.testng.Assert.*;
+
+@Epic("Framework Setup")
+@Feature("Schema Validation")
+public class SchemaValidationTest extends BaseTest {
+
+    private UserService userService;
+    private PostService postService;
+
+    @BeforeClass
+    public void setUpServices() {
+        userService = new UserService(requestSpec, responseSpec);
+        postService = new PostService(requestSpec, responseSpec);
+        SchemaValidator.preload();
+        LoggerUtil.logFrameworkInfo("Services initialized for schema validation testing");
+    }
+
+    @Test(description = "Verify single resources match their cached schemas")
+    @Story("Schema Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSingleResourceSchemas() {
+        ValidationUtil.validateSchema(userService.getUserById(1), Schema.USER);
+        ValidationUtil.validateSchema(postService.getPostById(1), Schema.POST);
+    }
+
+    @Test(description = "Verify collection responses match their cached item schemas")
+    @Story("Schema Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCollectionSchemas() {
+        ValidationUtil.validateSchemaArray(userService.getAllUsers(), Schema.USER);
+        ValidationUtil.validateSchemaArray(postService.getAllPosts(), Schema.POST);
+        ValidationUtil.validateSchemaArray(postService.getPostComments(1), Schema.COMMENT);
+    }
+
+    @Test(description = "Verify schema violations are reported instead of thrown")
+    @Story("Schema Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSchemaViolationReported() {
+        byte[] invalidPost = "{\"id\":\"one\",\"title\":\"t\"}".getBytes(StandardCharsets.UTF_8);
+
+        SchemaValidator.Result result = SchemaValidator.validate(Schema.POST, invalidPost);
+
+        assertTrue(result.isValidated(), "Body should be validated");
+        assertFalse(result.isValid(), "Post with wrong id type and missing fields should be invalid");
+        assertFalse(result.getMessages().isEmpty(), "Violation messages should be reported");
+        LoggerUtil.info("Reported schema violations: {}", result.getMessages());
+
+        SchemaValidator.Result garbage = SchemaValidator.validate(Schema.POST, "not json".getBytes(StandardCharsets.UTF_8));
+        assertFalse(garbage.isValid(), "Malformed body should be invalid");
+    }
+
+    @Test(description = "Verify sampling mode validates exactly one in N bodies")
+    @Story("Schema Validation")
+    @Severity(SeverityLevel.MINOR)
+    public void testSampledValidation() {
+        byte[] commentBody = postService.getPostComments(1).asByteArray();
+        int sampleEvery = 5;
+        int iterations = 50;
+
+        SchemaValidator.resetSampling();
+        int validated = 0;
+        for (int i = 0; i < iterations; i++) {
+            SchemaValidator.Result result = SchemaValidator.validateArraySampled(Schema.COMMENT, commentBody, sampleEvery);
+            assertTrue(result.isValid(), "Sampled comment bodies should be valid");
+            if (result.isValidated()) {
+                validated++;
+            }
+        }
+
+        assertEquals(validated, iterations / sampleEvery, "Exactly one in " + sampleEvery + " bodies should be validated");
+        LoggerUtil.logPerformanceMetric("Sampled schema validations", validated, "of " + iterations);
+    }
+}
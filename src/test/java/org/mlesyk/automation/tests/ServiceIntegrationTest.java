@@ -4,6 +4,8 @@ import org.mlesyk.automation.base.BaseTest;
 import org.mlesyk.automation.models.User;
 import org.mlesyk.automation.models.Post;
 import org.mlesyk.automation.models.Comment;
+import org.mlesyk.automation.performance.WorkflowTrace;
+import org.mlesyk.automation.performance.WorkflowTrace.CriticalPathReport;
 import org.mlesyk.automation.services.UserService;
 import org.mlesyk.automation.services.PostService;
 import org.mlesyk.automation.utils.LoggerUtil;
@@ -14,6 +16,7 @@ import org.testng.annotations.Test;
 
 import java.util.List;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 @Epic("Service Integration")
@@ -98,19 +101,21 @@ public class ServiceIntegrationTest extends BaseTest {
         LoggerUtil.info("Testing complete user content workflow");
 
         int userId = 1;
+        WorkflowTrace trace = WorkflowTrace.start("complete-user-content");
 
         // Step 1: Get user details
-        User user = userService.getUserByIdAsObject(userId);
+        User user = trace.call("get-user", () -> userService.getUserByIdAsObject(userId));
         ValidationUtil.validateUserStructure(user);
 
-        // Step 2: Get all user's posts
-        List<Post> userPosts = postService.getPostsByUserIdAsObjects(userId);
+        // Step 2: Get all user's posts - only needs the user id, not the user
+        List<Post> userPosts = trace.call("get-user-posts", () -> postService.getPostsByUserIdAsObjects(userId));
         ValidationUtil.validateListNotEmpty(userPosts, "User posts");
 
         // Step 3: For each post, get its comments
         int totalComments = 0;
         for (Post post : userPosts) {
-            List<Comment> postComments = postService.getPostCommentsAsObjects(post.getId());
+            List<Comment> postComments = trace.call("get-comments-" + post.getId(),
+                    () -> postService.getPostCommentsAsObjects(post.getId()), "get-user-posts");
             totalComments += postComments.size();
 
             // Validate relationships
@@ -124,6 +129,12 @@ public class ServiceIntegrationTest extends BaseTest {
         LoggerUtil.logPerformanceMetric("Total API Calls", userPosts.size() + 2, "calls");
         LoggerUtil.logPerformanceMetric("Average Comments per Post",
                 totalComments / userPosts.size(), "comments");
+
+        // Dependency analysis: the comment calls only depend on the post list
+        CriticalPathReport report = trace.analyze();
+        assertEquals(report.getCallCount(), userPosts.size() + 2, "Every API call should be traced");
+        assertTrue(report.getCriticalPathMillis() <= report.getActualMillis(),
+                "Critical path cannot be longer than the sequential workflow");
     }
 
     @Test(description = "Verify service error handling integration")
@@ -0,0 +1,93 @@
+package org.mlesyk.automation.tests.data;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.data.DataPool;
+import org.mlesyk.automation.data.DataPool.DataPoolStats;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.*;
+
+@Epic("Test Data")
+@Feature("Data Pools")
+public class DataPoolTest extends BaseTest {
+
+    @Test(description = "Verify pool pre-fills in the background and serves generated users")
+    @Story("Data Pool Prefill")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPoolPrefillsAndServesUsers() {
+        try (DataPool<Map<String, Object>> pool = DataPool.users(256).start()) {
+            assertTrue(pool.awaitFilled(30, TimeUnit.SECONDS), "Pool should fill before the run");
+            assertEquals(pool.size(), pool.capacity(), "Filled pool should be at capacity");
+
+            for (int i = 0; i < 100; i++) {
+                Map<String, Object> user = pool.next();
+                assertNotNull(user.get("username"), "Pooled user should have a username");
+                assertNotNull(user.get("address"), "Pooled user should have an address");
+            }
+
+            DataPoolStats stats = pool.getStats();
+            assertEquals(stats.getServed(), 100L, "All served records should be counted");
+            assertEquals(stats.getStarvations(), 0L, "Pre-filled pool should not starve");
+            LoggerUtil.info("User pool stats: {}", stats);
+        }
+    }
+
+    @Test(description = "Verify concurrent consumers each get distinct records")
+    @Story("Data Pool Concurrency")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConcurrentConsumersGetDistinctRecords() throws InterruptedException {
+        AtomicInteger sequence = new AtomicInteger();
+        int consumers = 8;
+        int perConsumer = 5_000;
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+
+        try (DataPool<Integer> pool = new DataPool<>("sequence", sequence::incrementAndGet, 1024).start()) {
+            pool.awaitFilled(10, TimeUnit.SECONDS);
+
+            ExecutorService executor = Executors.newFixedThreadPool(consumers);
+            for (int c = 0; c < consumers; c++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perConsumer; i++) {
+                        seen.add(pool.next());
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Consumers should finish");
+
+            DataPoolStats stats = pool.getStats();
+            assertEquals(seen.size(), consumers * perConsumer, "Every record should be served exactly once");
+            assertEquals(stats.getServed(), (long) consumers * perConsumer, "Served count should match consumption");
+
+            LoggerUtil.logPerformanceMetric("Pool starvations", stats.getStarvations(), "misses");
+            LoggerUtil.logPerformanceMetric("Pool lowest level", stats.getLowestLevel(), "records");
+        }
+    }
+
+    @Test(description = "Verify starvation is reported when the pool cannot keep up")
+    @Story("Data Pool Starvation")
+    @Severity(SeverityLevel.MINOR)
+    public void testStarvationIsReported() {
+        try (DataPool<Map<String, Object>> pool = DataPool.posts(1, 16)) {
+            // Not started: every request has to be generated inline
+            for (int i = 0; i < 10; i++) {
+                assertNotNull(pool.next(), "Starved pool should still return a record");
+            }
+            assertNull(pool.poll(), "poll() should not generate inline");
+
+            DataPoolStats stats = pool.getStats();
+            assertEquals(stats.getStarvations(), 10L, "Each inline generation should count as a starvation");
+            assertEquals(stats.getStarvationRate(), 100.0, "Starvation rate should be 100%");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.mlesyk.automation.tests.data;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.data.DataStreams;
+import org.mlesyk.automation.data.DataStreams.FeedResult;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.testng.Assert.*;
+
+@Epic("Test Data")
+@Feature("Streaming Generation")
+public class DataStreamTest extends BaseTest {
+
+    private static final long SEED = 7L;
+
+    @Test(description = "Verify streams generate records lazily")
+    @Story("Lazy Generation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStreamsAreLazy() {
+        AtomicInteger generated = new AtomicInteger();
+
+        List<User> firstThree = DataStreams.users(1_000_000, SEED)
+                .peek(user -> generated.incrementAndGet())
+                .limit(3)
+                .collect(Collectors.toList());
+
+        assertEquals(firstThree.size(), 3, "Three users should be taken");
+        assertEquals(generated.get(), 3, "Only the consumed users should be generated");
+        assertEquals(firstThree.get(2), TestDataUtil.generateUser(SEED, 2), "Seeded stream should match seeded generator");
+    }
+
+    @Test(description = "Verify batching groups records into fixed-size chunks")
+    @Story("Lazy Generation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testBatching() {
+        List<List<Post>> batches = DataStreams.batched(DataStreams.posts(1, 25, SEED), 10)
+                .collect(Collectors.toList());
+
+        assertEquals(batches.size(), 3, "25 posts in batches of 10 should give 3 batches");
+        assertEquals(batches.get(0).size(), 10, "Full batch should hold 10 posts");
+        assertEquals(batches.get(2).size(), 5, "Last batch should hold the remainder");
+    }
+
+    @Test(description = "Verify concurrent feeding applies backpressure")
+    @Story("Concurrent Feeding")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConcurrentFeedBoundsInFlightRecords() {
+        int concurrency = 4;
+        int count = 400;
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+
+        FeedResult result = DataStreams.feedConcurrently(
+                DataStreams.posts(1, count, SEED).peek(post -> {
+                    int ahead = generated.incrementAndGet() - consumed.get();
+                    maxAhead.accumulateAndGet(ahead, Math::max);
+                }),
+                concurrency,
+                post -> {
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    consumed.incrementAndGet();
+                });
+
+        assertEquals(result.getSubmitted(), (long) count, "All records should be submitted");
+        assertEquals(result.getSucceeded(), (long) count, "All records should be processed");
+        assertEquals(result.getFailed(), 0L, "No record should fail");
+        assertTrue(maxAhead.get() <= concurrency * 2 + 1,
+                "Generation should stay within the in-flight bound, was " + maxAhead.get());
+
+        LoggerUtil.logPerformanceMetric("Feed throughput", result.getThroughput(), "records/s");
+    }
+}
@@ -0,0 +1,101 @@
+package org.mlesyk.automation.tests.data;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.data.PayloadCorpus;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.*;
+
+@Epic("Test Data")
+@Feature("Payload Corpus")
+public class PayloadCorpusTest extends BaseTest {
+
+    private static final long SEED = 42L;
+    private static final Path CORPUS_DIR = Paths.get("target/test-data");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test(description = "Verify generated corpus records match the seeded generator")
+    @Story("Payload Corpus")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCorpusRoundTrip() throws IOException {
+        int count = 500;
+        Path corpusFile = PayloadCorpus.generateUsers(CORPUS_DIR.resolve("users.corpus"), count, SEED);
+        assertTrue(Files.size(corpusFile) > 0, "Corpus file should be written");
+
+        try (PayloadCorpus corpus = PayloadCorpus.open(corpusFile)) {
+            assertEquals(corpus.size(), count, "Corpus should contain every generated record");
+
+            for (int index : new int[]{0, 1, count / 2, count - 1}) {
+                Map<String, Object> record = objectMapper.readValue(corpus.getBytes(index),
+                        new TypeReference<Map<String, Object>>() {});
+                assertEquals(record, TestDataUtil.generateUserData(SEED, index),
+                        "Corpus record " + index + " should match the seeded user");
+            }
+
+            ByteBuffer view = corpus.get(3);
+            assertTrue(view.isReadOnly(), "Record views should be read-only");
+            assertEquals(view.remaining(), corpus.getBytes(3).length, "View and copy should have the same length");
+
+            ByteBuffer first = corpus.next();
+            corpus.next();
+            assertEquals(first, corpus.get(0), "Sequential access should start at the first record");
+            assertNotNull(corpus.random(), "Random access should return a record");
+        }
+    }
+
+    @Test(description = "Verify a corpus whose writer failed cannot be opened")
+    @Story("Payload Corpus")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFailedWriteRejected() throws IOException {
+        Path corpusFile = CORPUS_DIR.resolve("failed.corpus");
+        PayloadCorpus.Writer writer = PayloadCorpus.writer(corpusFile);
+        writer.append(TestDataUtil.toJsonBytes(TestDataUtil.generateUser(SEED, 0)));
+        expectThrows(NullPointerException.class, () -> writer.append(null));
+        expectThrows(IllegalStateException.class, () -> writer.append(new byte[]{1}));
+        writer.close();
+
+        IllegalArgumentException error = expectThrows(IllegalArgumentException.class,
+                () -> PayloadCorpus.open(corpusFile));
+        assertTrue(error.getMessage().contains("Not a payload corpus file"), error.getMessage());
+    }
+
+    @Test(description = "Verify corpus records can be posted without re-serialization")
+    @Story("Payload Corpus")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPostFromCorpus() {
+        PostService postService = new PostService(requestSpec, responseSpec);
+        Path corpusFile = PayloadCorpus.generatePosts(CORPUS_DIR.resolve("posts.corpus"), 1, 20, SEED);
+
+        try (PayloadCorpus corpus = PayloadCorpus.open(corpusFile)) {
+            for (int i = 0; i < 5; i++) {
+                Map<String, Object> expected = TestDataUtil.generatePostData(1, SEED, i);
+
+                Response response = postService.createPost(corpus.next());
+
+                assertEquals(response.getStatusCode(), 201, "Status code should be 201 for creation");
+                response.then()
+                        .body("title", equalTo(expected.get("title")))
+                        .body("userId", equalTo(1))
+                        .body("id", notNullValue());
+            }
+        }
+
+        LoggerUtil.info("Posted corpus records successfully");
+    }
+}
@@ -0,0 +1,123 @@
+package org.mlesyk.automation.tests.data;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.models.User;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Epic("Test Data")
+@Feature("Test Data Generation")
+public class TestDataGenerationTest extends BaseTest {
+
+    private static final long SEED = 20240101L;
+
+    @Test(description = "Verify seeded generation is reproducible")
+    @Story("Seeded Generation")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testSeededGenerationIsReproducible() {
+        List<Map<String, Object>> first = TestDataUtil.generateMultipleUsers(50, SEED);
+        List<Map<String, Object>> second = TestDataUtil.generateMultipleUsers(50, SEED);
+        List<Map<String, Object>> otherSeed = TestDataUtil.generateMultipleUsers(50, SEED + 1);
+
+        assertEquals(second, first, "Same seed should produce identical users");
+        assertNotEquals(otherSeed, first, "Different seed should produce different users");
+        assertEquals(TestDataUtil.generateUserData(SEED, 7), first.get(7), "Single record should match its bulk position");
+    }
+
+    @Test(description = "Verify parallel bulk generation matches single-threaded output")
+    @Story("Parallel Generation")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testParallelGenerationMatchesSequential() {
+        int count = 2_000;
+
+        long sequentialStart = System.currentTimeMillis();
+        List<Map<String, Object>> sequential = TestDataUtil.generateMultipleUsers(count, SEED);
+        long sequentialTime = System.currentTimeMillis() - sequentialStart;
+
+        long parallelStart = System.currentTimeMillis();
+        List<Map<String, Object>> parallel = TestDataUtil.generateMultipleUsersParallel(count, SEED);
+        long parallelTime = System.currentTimeMillis() - parallelStart;
+
+        assertEquals(parallel, sequential, "Parallel users should be identical to sequential users");
+        assertEquals(TestDataUtil.generateMultiplePostsParallel(3, count, SEED),
+                TestDataUtil.generateMultiplePosts(3, count, SEED),
+                "Parallel posts should be identical to sequential posts");
+
+        LoggerUtil.logPerformanceMetric("Sequential user generation", sequentialTime, "ms");
+        LoggerUtil.logPerformanceMetric("Parallel user generation", parallelTime, "ms");
+    }
+
+    @Test(description = "Verify unseeded generation is safe from many threads")
+    @Story("Thread Safety")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConcurrentUnseededGeneration() throws InterruptedException {
+        int threads = 8;
+        int perThread = 200;
+        Set<Object> emails = ConcurrentHashMap.newKeySet();
+        Set<Throwable> failures = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                try {
+                    for (int i = 0; i < perThread; i++) {
+                        Map<String, Object> user = TestDataUtil.generateUserData();
+                        assertNotNull(user.get("email"), "Generated user should have an email");
+                        emails.add(user.get("email"));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Generators should finish");
+
+        assertTrue(failures.isEmpty(), "Concurrent generation should not fail: " + failures);
+        assertTrue(emails.size() > 1, "Threads should generate varied data");
+    }
+
+    @Test(description = "Verify typed generators produce the same data as the map generators")
+    @Story("Typed Generation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testTypedGenerationMatchesMaps() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        for (int index = 0; index < 20; index++) {
+            User user = TestDataUtil.generateUser(SEED, index);
+            assertNull(user.getId(), "Generated user should not have an id yet");
+            assertNotNull(user.getAddress().getGeo().getLatitude(), "Generated user should have geo data");
+
+            Map<String, Object> userJson = objectMapper.readValue(TestDataUtil.generateUserJson(SEED, index),
+                    new TypeReference<Map<String, Object>>() {});
+            assertEquals(userJson, TestDataUtil.generateUserData(SEED, index),
+                    "Typed user JSON should match the user map");
+
+            Post post = TestDataUtil.generatePost(5, SEED, index);
+            Map<String, Object> postData = TestDataUtil.generatePostData(5, SEED, index);
+            assertEquals(post.getTitle(), postData.get("title"), "Typed post title should match the map");
+            assertEquals(post.getBody(), postData.get("body"), "Typed post body should match the map");
+            assertEquals(post.getUserId(), Integer.valueOf(5), "Typed post should keep the user id");
+        }
+
+        String json = TestDataUtil.toJson(TestDataUtil.generateComment(1));
+        assertFalse(json.contains("\"id\""), "Null ids should be left out of request bodies");
+        assertTrue(json.contains("\"postId\":1"), "Comment JSON should contain the post id");
+    }
+}
@@ -0,0 +1,89 @@
+package org.mlesyk.automation.tests.data;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.data.UniqueIdentityGenerator;
+import org.mlesyk.automation.data.UniqueIdentityGenerator.Identity;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Epic("Test Data")
+@Feature("Unique Identities")
+public class UniqueIdentityTest extends BaseTest {
+
+    @Test(description = "Verify identities stay unique across many concurrent workers")
+    @Story("Unique Identities")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testConcurrentIdentitiesAreUnique() throws InterruptedException {
+        UniqueIdentityGenerator generator = new UniqueIdentityGenerator("testrun", 1);
+        int threads = 8;
+        int perThread = 25_000;
+        Set<String> usernames = ConcurrentHashMap.newKeySet();
+        Set<String> emails = ConcurrentHashMap.newKeySet();
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    // Same base for every identity - uniqueness must come from the token alone
+                    Identity identity = generator.next("jane.doe");
+                    usernames.add(identity.getUsername());
+                    emails.add(identity.getEmail());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Workers should finish");
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        assertEquals(usernames.size(), threads * perThread, "Every username should be unique");
+        assertEquals(emails.size(), threads * perThread, "Every email should be unique");
+
+        LoggerUtil.logPerformanceMetric("Unique identities generated", threads * perThread, "identities");
+        LoggerUtil.logPerformanceMetric("Unique identity generation time", elapsed, "ms");
+    }
+
+    @Test(description = "Verify identities are readable and well-formed")
+    @Story("Unique Identities")
+    @Severity(SeverityLevel.NORMAL)
+    public void testIdentityFormat() {
+        UniqueIdentityGenerator generator = new UniqueIdentityGenerator("testrun", 2);
+
+        Identity identity = generator.next("Mr. John O'Neil");
+        assertTrue(identity.getUsername().startsWith("mr.johnoneil_testrun-2-"), "Username should keep a readable base");
+        assertTrue(identity.getEmail().matches("mr\\.johnoneil\\+testrun-2-[0-9a-z]+-[0-9a-z]+@example\\.com"),
+                "Email should be plus-addressed: " + identity.getEmail());
+        assertEquals(generator.next(null).getUsername().substring(0, 5), "user_", "Missing base should fall back to 'user'");
+        assertNotEquals(generator.nextId(), generator.nextId(), "Consecutive tokens should differ");
+
+        assertThrows(IllegalArgumentException.class, () -> new UniqueIdentityGenerator("Run-1", 0));
+    }
+
+    @Test(description = "Verify unique user data keeps the rest of the generated user")
+    @Story("Unique Identities")
+    @Severity(SeverityLevel.NORMAL)
+    public void testUniqueUserData() {
+        String runId = UniqueIdentityGenerator.getDefault().getRunId();
+
+        Map<String, Object> user = TestDataUtil.generateUniqueUserData();
+        assertTrue(((String) user.get("username")).contains(runId), "Username should carry the run id");
+        assertTrue(((String) user.get("email")).contains(runId), "Email should carry the run id");
+        assertNotNull(user.get("address"), "Other generated fields should be kept");
+
+        assertNotEquals(TestDataUtil.generateUniqueUser().getEmail(), TestDataUtil.generateUniqueUser().getEmail(),
+                "Unique users should have different emails");
+        assertNotEquals(TestDataUtil.getUniqueUsername(), TestDataUtil.getUniqueUsername(),
+                "Unique usernames should differ");
+    }
+}
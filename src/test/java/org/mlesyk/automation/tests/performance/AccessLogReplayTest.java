@@ -0,0 +1,104 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.replay.AccessLogFormat;
+import org.mlesyk.automation.replay.AccessLogReader;
+import org.mlesyk.automation.replay.RecordedRequest;
+import org.mlesyk.automation.replay.TrafficReplayer;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Traffic Replay")
+public class AccessLogReplayTest extends PerformanceBaseTest {
+
+    private static final Path ACCESS_LOG = Paths.get("target/traffic/access.log");
+
+    @BeforeClass
+    public void writeAccessLog() throws IOException {
+        Files.createDirectories(ACCESS_LOG.getParent());
+        Files.write(ACCESS_LOG, List.of(
+                "10.0.0.1 - - [10/Oct/2023:13:55:36 +0000] \"GET /posts/1 HTTP/1.1\" 200 292 \"-\" \"curl/8.0\"",
+                "10.0.0.2 - - [10/Oct/2023:13:55:36 +0000] \"GET /users/1 HTTP/1.1\" 200 509 \"-\" \"curl/8.0\"",
+                "not a request line",
+                "10.0.0.3 - - [10/Oct/2023:13:55:37 +0000] \"GET https://api.production.example.com/posts?userId=1 HTTP/1.1\" 200 2720",
+                "",
+                "10.0.0.1 - - [10/Oct/2023:13:55:38 +0000] \"GET /posts/1/comments HTTP/1.1\" 200 1508 \"-\" \"curl/8.0\""),
+                StandardCharsets.UTF_8);
+    }
+
+    @Test(description = "Parse a combined access log into relative, rebased requests")
+    @Story("Access Log Replay - Ingestion")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testCombinedLogIngestion() {
+        List<RecordedRequest> requests;
+        try (Stream<RecordedRequest> stream = AccessLogReader.read(ACCESS_LOG, AccessLogFormat.COMBINED)) {
+            requests = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(requests.size(), 4, "Unparseable and blank lines should be skipped");
+        assertEquals(requests.get(0).getOffsetMicros(), 0L, "Offsets should start at the first request");
+        assertEquals(requests.get(1).getOffsetMicros(), 0L, "Requests in the same second share an offset");
+        assertEquals(requests.get(2).getOffsetMicros(), 1_000_000L, "Inter-arrival time should be preserved");
+        assertEquals(requests.get(3).getOffsetMicros(), 2_000_000L, "Inter-arrival time should be preserved");
+        assertEquals(requests.get(2).getPath(), "/posts?userId=1", "Absolute URLs should lose their host");
+        assertEquals(requests.get(3).getStatus(), 200, "Status should be parsed");
+    }
+
+    @Test(description = "Parse a custom format with sub-second epoch timestamps")
+    @Story("Access Log Replay - Custom Format")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCustomFormat() throws IOException {
+        Path log = Paths.get("target/traffic/access-msec.log");
+        Files.write(log, List.of(
+                "1697000000.125 GET /posts/1 200",
+                "1697000000.375 POST /posts 201",
+                "1697000001.000 GET /users/2"), StandardCharsets.UTF_8);
+        AccessLogFormat format = AccessLogFormat.regex(
+                "(?<time>\\S+) (?<method>[A-Z]+) (?<path>\\S+)(?: (?<status>\\d{3}))?", null);
+
+        List<RecordedRequest> requests;
+        try (Stream<RecordedRequest> stream = AccessLogReader.read(log, format)) {
+            requests = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(requests.size(), 3, "All lines should be parsed");
+        assertEquals(requests.get(1).getOffsetMicros(), 250_000L, "Millisecond timestamps should be kept");
+        assertEquals(requests.get(1).getMethod(), "POST", "Method should be parsed");
+        assertEquals(requests.get(2).getOffsetMicros(), 875_000L, "Offsets should be relative to the first request");
+        assertEquals(requests.get(2).getStatus(), 0, "Missing status should be unknown");
+    }
+
+    @Test(description = "Replay an access log against base.url with time scaling",
+            dependsOnMethods = "testCombinedLogIngestion")
+    @Story("Access Log Replay - Time Scaling")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testScaledReplay() {
+        TrafficReplayer replayer = new TrafficReplayer(targetBaseUrl).workers(4).speed(10);
+
+        PerformanceTestResult result = performanceManager.runAccessLogReplay(ACCESS_LOG, AccessLogFormat.COMBINED, replayer);
+
+        assertEquals(result.getTotalRequests(), 4L, "Every logged request should be replayed");
+        assertEquals(result.getFailedRequests(), 0L, "Replayed requests should get the logged status: "
+                + result.getCustomMetrics().get("firstError"));
+        assertEquals(result.getCustomMetrics().get("intendedDurationMillis"), 200L,
+                "Two seconds of traffic at 10x should be scheduled over 200ms");
+        assertTrue((Long) result.getCustomMetrics().get("achievedDurationMillis") >= 200L,
+                "Replay cannot finish before its schedule");
+
+        LoggerUtil.logPerformanceMetric("Access Log Replay Drift", result.getCustomMetrics().get("scheduleDriftMillis"), "ms");
+    }
+}
@@ -0,0 +1,53 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.distributed.LoadCoordinator;
+import org.mlesyk.automation.distributed.Workload;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Distributed Load")
+public class DistributedLoadTest extends PerformanceBaseTest {
+
+    @Test(description = "Load from several worker JVMs with a synchronized start")
+    @Story("Distributed Load - In-Process Engine")
+    @Severity(SeverityLevel.CRITICAL)
+    @SuppressWarnings("unchecked")
+    public void testDistributedHttpLoad() {
+        int workers = performanceConfig.distributedWorkers();
+        Workload workload = Workload.builder()
+                .engine(Workload.Engine.HTTP)
+                .baseUrl(targetBaseUrl)
+                .paths(List.of("/posts/1", "/users/1", "/comments/1"))
+                .virtualUsers(2)
+                .durationMillis(10_000)
+                .build();
+
+        PerformanceTestResult result = performanceManager.runDistributedTest(workload, workers);
+
+        assertEquals(result.getTestType(), "DISTRIBUTED", "Test type should be DISTRIBUTED");
+        assertTrue(result.getTotalRequests() > 0, "Total requests should be greater than 0");
+
+        Map<Integer, Long> workerRequests = (Map<Integer, Long>) result.getCustomMetrics().get("workerRequests");
+        assertEquals(workerRequests.size(), workers, "Every worker should report");
+        assertTrue(workerRequests.values().stream().allMatch(requests -> requests > 0), "Every worker should generate load");
+        assertEquals(workerRequests.values().stream().mapToLong(Long::longValue).sum(), result.getTotalRequests(),
+                "Merged requests should be the sum of all workers");
+
+        List<LoadCoordinator.LiveSample> liveSamples =
+                (List<LoadCoordinator.LiveSample>) result.getCustomMetrics().get("liveSamples");
+        assertFalse(liveSamples.isEmpty(), "Snapshots should be merged live during the run");
+        assertTrue(liveSamples.get(liveSamples.size() - 1).getRequests() <= result.getTotalRequests(),
+                "Live samples cannot exceed the final result");
+
+        LoggerUtil.logPerformanceMetric("Distributed Throughput", result.getThroughput(), "req/s");
+        LoggerUtil.logPerformanceMetric("Distributed P95", result.getP95ResponseTime(), "ms");
+    }
+}
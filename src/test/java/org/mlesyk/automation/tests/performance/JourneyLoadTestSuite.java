@@ -0,0 +1,109 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.performance.JourneyContext;
+import org.mlesyk.automation.performance.JourneyLoadResult;
+import org.mlesyk.automation.performance.JourneyLoadResult.JourneyStats;
+import org.mlesyk.automation.performance.JourneyLoadResult.StepStats;
+import org.mlesyk.automation.performance.JourneyLoadRunner;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.performance.UserJourney;
+import org.mlesyk.automation.performance.UserJourneys;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Journey Load Testing")
+public class JourneyLoadTestSuite extends PerformanceBaseTest {
+
+    private UserService userService;
+    private PostService postService;
+
+    @BeforeClass
+    public void setUpServices() {
+        userService = new UserService(requestSpec, responseSpec);
+        postService = new PostService(requestSpec, responseSpec);
+    }
+
+    @Test(description = "Verify a journey passes data between its steps")
+    @Story("Journey Load - Data Passing")
+    @Severity(SeverityLevel.NORMAL)
+    public void testJourneyPassesDataBetweenSteps() {
+        JourneyContext context = UserJourneys.userContent(userService, postService).runOnce();
+
+        assertTrue(context.contains("user"), "First step should store the user");
+        assertFalse(context.getList("posts", Object.class).isEmpty(), "Second step should store the user's posts");
+        assertTrue(context.get("totalComments", Integer.class) > 0, "Third step should count the comments of every post");
+    }
+
+    @Test(description = "Weighted journeys run by concurrent virtual users")
+    @Story("Journey Load - Mixed Traffic")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testWeightedJourneyLoad() {
+        int virtualUsers = 5;
+        int iterations = 4;
+
+        JourneyLoadResult result = new JourneyLoadRunner()
+                .addJourney(UserJourneys.userContent(userService, postService), 1)
+                .addJourney(UserJourneys.postComments(postService), 3)
+                .runIterations(virtualUsers, iterations);
+
+        assertEquals(result.getStartedJourneys(), (long) virtualUsers * iterations, "Every iteration should run a journey");
+        assertEquals(result.getFailedJourneys(), 0L, "Journeys should not fail: " + result.getFirstError());
+
+        for (JourneyStats journey : result.getJourneys().values()) {
+            assertEquals(journey.getEndToEnd().getCount(), journey.getCompleted(),
+                    "End-to-end latency should be recorded for every completed journey");
+            for (StepStats step : journey.getSteps().values()) {
+                assertEquals(step.getExecutions(), journey.getStarted(), "Each step should run once per journey");
+                assertTrue(step.getLatency().getP95() <= journey.getEndToEnd().getMax(),
+                        "A step cannot be slower than its whole journey");
+            }
+            LoggerUtil.logPerformanceMetric(journey.getName() + " P95", journey.getEndToEnd().getP95(), "ms");
+        }
+    }
+
+    @Test(description = "Verify a failing step ends the journey and is attributed to that step")
+    @Story("Journey Load - Failures")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFailingStepIsAttributed() {
+        UserJourney journey = UserJourney.named("failing")
+                .step("ok", context -> context.put("value", 1))
+                .step("fails", context -> { throw new IllegalStateException("boom"); })
+                .step("never-runs", context -> fail("Steps after a failure should not run"));
+
+        JourneyLoadResult result = new JourneyLoadRunner().addJourney(journey).runIterations(2, 3);
+
+        JourneyStats stats = result.getJourneys().get("failing");
+        assertEquals(stats.getFailed(), 6L, "Every iteration should fail");
+        assertEquals(stats.getSteps().get("fails").getFailures(), 6L, "Failures should be attributed to the failing step");
+        assertEquals(stats.getSteps().get("never-runs").getExecutions(), 0L, "Later steps should be skipped");
+        assertTrue(result.getFirstError().contains("failing/fails"), "First error should name the journey and step");
+    }
+
+    @Test(description = "Journey load test through the performance manager")
+    @Story("Journey Load - Timed")
+    @Severity(SeverityLevel.NORMAL)
+    public void testTimedJourneyLoad() {
+        JourneyLoadRunner runner = new JourneyLoadRunner()
+                .addJourney(UserJourneys.postComments(postService), 3)
+                .addJourney(UserJourneys.userContent(userService, postService), 1)
+                .rampUp(Duration.ofSeconds(2))
+                .thinkTime(Duration.ofMillis(200));
+
+        PerformanceTestResult result = performanceManager.runJourneyTest(runner, performanceConfig.loadTestUsers(), 10);
+
+        assertEquals(result.getTestType(), "JOURNEY", "Test type should be JOURNEY");
+        assertTrue(result.getSuccessfulRequests() > 0, "Journeys should complete");
+        assertNotNull(result.getCustomMetrics().get("journeys"), "Per-journey stats should be reported");
+
+        LoggerUtil.logPerformanceMetric("Journey Throughput", result.getThroughput(), "journeys/s");
+    }
+}
@@ -0,0 +1,111 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.K6AbortPolicy;
+import org.mlesyk.automation.performance.K6LiveMonitor;
+import org.mlesyk.automation.performance.K6LiveSnapshot;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Live Metrics")
+public class K6LiveMonitorTest extends BaseTest {
+
+    private static final K6AbortPolicy POLICY = K6AbortPolicy.builder()
+            .maxErrorRate(20.0)
+            .maxP95ResponseTime(1000)
+            .sustainMillis(1000)
+            .minWindowRequests(10)
+            .build();
+
+    @Test(description = "A sustained error rate above the limit aborts the run within seconds")
+    @Story("k6 Live Metrics - Early Abort")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testAbortOnSustainedErrors() throws Exception {
+        Path output = newOutputFile("failing");
+        CountDownLatch aborted = new CountDownLatch(1);
+        K6LiveMonitor monitor = new K6LiveMonitor(output, Duration.ofSeconds(2), Duration.ofMillis(200))
+                .abortPolicy(POLICY, aborted::countDown);
+        monitor.start();
+
+        long startNanos = System.nanoTime();
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            // Half of the requests fail; stands in for a k6 process writing its stream
+            for (int i = 0; i < 300 && aborted.getCount() > 0; i++) {
+                writeRequest(writer, 50, i % 2 == 0);
+                Thread.sleep(20);
+            }
+        }
+        assertTrue(aborted.await(2, TimeUnit.SECONDS), "Sustained failures should trigger the abort action");
+        monitor.stop();
+        long abortMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertTrue(monitor.isAborted(), "Monitor should report the abort");
+        assertTrue(monitor.getAbortReason().startsWith("error rate"), monitor.getAbortReason());
+        assertTrue(abortMillis < 5000, "Abort should follow the sustain period, took " + abortMillis + "ms");
+        LoggerUtil.logPerformanceMetric("Early Abort After", abortMillis, "ms");
+    }
+
+    @Test(description = "Listeners get rolling-window metrics and healthy runs are not aborted")
+    @Story("k6 Live Metrics - Rolling Window")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRollingWindow() throws Exception {
+        Path output = newOutputFile("healthy");
+        List<K6LiveSnapshot> received = new CopyOnWriteArrayList<>();
+        K6LiveMonitor monitor = new K6LiveMonitor(output, Duration.ofSeconds(1), Duration.ofMillis(250))
+                .abortPolicy(POLICY, () -> { })
+                .listener(received::add);
+        monitor.start();
+
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            // One slow phase, then fast requests: the window has to forget the slow phase
+            for (int i = 0; i < 100; i++) {
+                writeRequest(writer, i < 20 ? 900 : 10, false);
+                Thread.sleep(25);
+            }
+        }
+        monitor.stop();
+
+        assertFalse(received.isEmpty(), "Listeners should get snapshots while the run is in progress");
+        assertFalse(monitor.isAborted(), "Healthy run should not be aborted");
+        assertEquals(monitor.getTotals().getRequests(), 100L, "Totals should cover the whole stream after stop");
+
+        K6LiveSnapshot last = received.get(received.size() - 1);
+        assertTrue(last.getWindowRequests() < last.getTotalRequests(), "Window should only cover recent requests");
+        assertTrue(last.getWindowP95ResponseTime() < 100,
+                "Window p95 should reflect recent requests, got " + last.getWindowP95ResponseTime() + "ms");
+        assertEquals(last.getWindowErrorRate(), 0.0, "No request failed");
+    }
+
+    private static void writeRequest(Writer writer, double durationMillis, boolean failed) throws IOException {
+        writer.write(point("http_reqs", 1));
+        writer.write(point("http_req_duration", durationMillis));
+        writer.write(point("http_req_failed", failed ? 1 : 0));
+        writer.flush();
+    }
+
+    private static String point(String metric, double value) {
+        return "{\"type\":\"Point\",\"data\":{\"time\":\"2024-01-01T10:00:00.000000Z\",\"value\":" + value
+                + ",\"tags\":{\"method\":\"GET\",\"status\":\"200\"}},\"metric\":\"" + metric + "\"}\n";
+    }
+
+    private Path newOutputFile(String name) throws IOException {
+        Path directory = Files.createDirectories(Paths.get("target/test-data/k6-live"));
+        return directory.resolve(name + "-" + System.nanoTime() + ".json");
+    }
+}
@@ -0,0 +1,69 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.K6Metrics;
+import org.mlesyk.automation.performance.LatencyHistogram;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Sharding")
+public class K6MetricsTest extends BaseTest {
+
+    @Test(description = "Merged shard metrics give the percentiles of all requests")
+    @Story("k6 Sharding - Merged Percentiles")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testMergedPercentiles() {
+        Random random = new Random(7);
+        LatencyHistogram all = new LatencyHistogram();
+        K6Metrics merged = new K6Metrics();
+
+        // A fast and a slow shard: averaging their p95s would be far off the real p95
+        for (int shard = 0; shard < 2; shard++) {
+            K6Metrics metrics = new K6Metrics();
+            for (int i = 0; i < 5_000; i++) {
+                double durationMillis = (shard == 0 ? 20 : 400) + random.nextDouble() * 50;
+                boolean failed = i % 100 == 0;
+                metrics.accept(point("http_reqs", 1));
+                metrics.accept(point("http_req_duration", durationMillis));
+                metrics.accept(point("http_req_failed", failed ? 1 : 0));
+                all.record(Math.round(durationMillis * 1000));
+            }
+            assertEquals(metrics.getRequests(), 5_000L, "Every request of the shard should be counted");
+            merged.add(metrics);
+        }
+
+        assertEquals(merged.getRequests(), 10_000L, "Requests of all shards should be summed");
+        assertEquals(merged.getFailedRequests(), 100L, "Failures of all shards should be summed");
+        for (double percentile : new double[]{50, 95, 99}) {
+            assertEquals(merged.getDurations().getPercentile(percentile), all.getPercentile(percentile),
+                    "Merged p" + percentile + " should match a single histogram of all requests");
+        }
+    }
+
+    @Test(description = "Only request points of the metric stream are used")
+    @Story("k6 Sharding - Metric Stream")
+    @Severity(SeverityLevel.NORMAL)
+    public void testIgnoresOtherLines() {
+        K6Metrics metrics = new K6Metrics();
+        metrics.accept("{\"type\":\"Metric\",\"data\":{\"name\":\"http_reqs\",\"type\":\"counter\"},\"metric\":\"http_reqs\"}");
+        metrics.accept(point("vus", 10));
+        metrics.accept(point("iteration_duration", 1200));
+        metrics.accept(point("http_reqs", 1));
+        metrics.accept(point("errors", 1));
+        metrics.accept("{\"type\":\"Point\",\"metric\":\"http_reqs\",\"data\":{\"val");
+
+        assertEquals(metrics.getRequests(), 1L, "Only complete http_reqs points should be counted");
+        assertEquals(metrics.getFailedRequests(), 1L, "Failed checks count when k6 reports no http_req_failed");
+        assertEquals(metrics.getDurations().getCount(), 0L, "Other metrics should not be recorded as durations");
+    }
+
+    private static String point(String metric, double value) {
+        return "{\"type\":\"Point\",\"data\":{\"time\":\"2024-01-01T10:00:00.000000Z\",\"value\":" + value
+                + ",\"tags\":{\"method\":\"GET\",\"name\":\"GET /posts\",\"status\":\"200\"}},\"metric\":\"" + metric + "\"}";
+    }
+}
@@ -0,0 +1,115 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.K6ScriptCache;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Script Cache")
+public class K6ScriptCacheTest extends BaseTest {
+
+    @Test(description = "Same content reuses one script, different content gets its own")
+    @Story("k6 Script Cache - Content Addressing")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testContentAddressing() throws IOException {
+        K6ScriptCache cache = new K6ScriptCache(newCacheDirectory("addressing"), 100, Duration.ofDays(1));
+
+        Path first = cache.store("load_test", "export default function() {} // 10 users");
+        Path again = cache.store("load_test", "export default function() {} // 10 users");
+        Path other = cache.store("load_test", "export default function() {} // 20 users");
+
+        assertEquals(again, first, "Identical scripts should share one file");
+        assertNotEquals(other, first, "Different parameters should not overwrite each other");
+        assertTrue(first.getFileName().toString().matches("load_test-[0-9a-f]{16}\\.js"), first.toString());
+        assertEquals(Files.readString(first), "export default function() {} // 10 users", "Content should be intact");
+        assertEquals(countScripts(cache.getDirectory()), 2L, "Only distinct scripts should be stored");
+    }
+
+    @Test(description = "Concurrent runs store scripts without clobbering each other")
+    @Story("k6 Script Cache - Concurrency")
+    @Severity(SeverityLevel.NORMAL)
+    public void testConcurrentStores() throws Exception {
+        K6ScriptCache cache = new K6ScriptCache(newCacheDirectory("concurrent"), 100, Duration.ofDays(1));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Path> paths = ConcurrentHashMap.newKeySet();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads * 4; i++) {
+                String content = "// scenario " + (i % 4) + "\n" + "x".repeat(64 * 1024);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    paths.add(cache.store("stress_test", content));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(paths.size(), 4, "Each distinct script should map to exactly one file");
+        for (Path path : paths) {
+            assertEquals(Files.size(path), Files.readString(path).length(), "Script should be fully written");
+            assertTrue(Files.readString(path).startsWith("// scenario "), "Script content should be intact");
+        }
+        assertEquals(countScripts(cache.getDirectory()), 4L, "No temporary files should be left behind");
+    }
+
+    @Test(description = "Old and least recently used scripts are garbage-collected")
+    @Story("k6 Script Cache - Garbage Collection")
+    @Severity(SeverityLevel.NORMAL)
+    public void testGarbageCollection() throws IOException {
+        K6ScriptCache cache = new K6ScriptCache(newCacheDirectory("gc"), 2, Duration.ofDays(7));
+        long now = System.currentTimeMillis();
+
+        Path expired = cache.store("spike_test", "// expired");
+        Path leastRecent = cache.store("spike_test", "// least recent");
+        Path recent = cache.store("spike_test", "// recent");
+        Path fresh = cache.store("spike_test", "// fresh");
+        Files.setLastModifiedTime(expired, FileTime.fromMillis(now - Duration.ofDays(8).toMillis()));
+        Files.setLastModifiedTime(leastRecent, FileTime.fromMillis(now - Duration.ofDays(3).toMillis()));
+        Files.setLastModifiedTime(recent, FileTime.fromMillis(now - Duration.ofDays(1).toMillis()));
+
+        assertEquals(cache.collectGarbage(), 2, "Expired and excess scripts should be removed");
+        assertFalse(Files.exists(expired), "Scripts older than the maximum age should be removed");
+        assertFalse(Files.exists(leastRecent), "Scripts beyond the maximum count should be removed");
+        assertTrue(Files.exists(recent), "Recently used scripts should be kept");
+        assertTrue(Files.exists(fresh), "Freshly stored scripts should be kept");
+    }
+
+    private Path newCacheDirectory(String name) throws IOException {
+        Path directory = Paths.get("target/test-data/k6-script-cache", name + "-" + System.nanoTime());
+        return Files.createDirectories(directory);
+    }
+
+    private long countScripts(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
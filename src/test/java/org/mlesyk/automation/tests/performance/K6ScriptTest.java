@@ -0,0 +1,101 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.performance.K6Scenario;
+import org.mlesyk.automation.performance.K6Script;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Scenarios")
+public class K6ScriptTest extends PerformanceBaseTest {
+
+    @Test(description = "Render weighted open and closed model scenarios")
+    @Story("k6 Scenarios - Rendering")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testRenderMixedScenarios() {
+        String js = mixedTrafficScript(Duration.ofMinutes(1)).render();
+
+        assertTrue(js.contains("executor: 'ramping-arrival-rate'"), "Open model executor should be rendered");
+        assertTrue(js.contains("executor: 'constant-vus'"), "Closed model executor should be rendered");
+        assertTrue(js.contains("exec: 'browse'") && js.contains("export function browse()"),
+                "Each scenario should get its own exec function");
+        assertTrue(js.contains("let roll = Math.random() * 4;"), "Requests should be picked by weight");
+        assertTrue(js.contains("(Math.floor(Math.random() * 100) + 1)"), "Random path ids should be expanded");
+        assertTrue(js.contains("'p(95)<" + performanceConfig.responseTimeP95Threshold() + "'"),
+                "P95 threshold should come from the performance config");
+        assertTrue(js.contains("{ threshold: 'p(99)<3000', abortOnFail: true }"),
+                "Abort-on-fail thresholds should be rendered as objects");
+        assertTrue(js.contains("tags: { 'testType': 'mixed' }"), "Global tags should be rendered");
+
+        LoggerUtil.logPerformanceMetric("Rendered k6 Script Size", js.length(), "chars");
+    }
+
+    @Test(description = "The stress workload sends all its requests as one batch per iteration")
+    @Story("k6 Scenarios - Rendering")
+    @Severity(SeverityLevel.NORMAL)
+    public void testRenderBatchScenario() {
+        String js = performanceManager.stressTestScript(targetBaseUrl, 10, 60).render();
+
+        assertTrue(js.contains("let responses = http.batch(["), "Stress requests should be sent as a batch");
+        assertTrue(js.contains("['GET', BASE_URL + '/posts'") && js.contains("['GET', BASE_URL + '/users'")
+                && js.contains("['GET', BASE_URL + '/comments'"), "Every stress request should be in the batch");
+        assertTrue(js.contains("let expected = [200, 200, 200];"), "Each batch response should be checked");
+        assertFalse(js.contains("Math.random() * 3;"), "A batch should not pick a request by weight");
+
+        String loadJs = performanceManager.loadTestScript(targetBaseUrl, 10, 60).render();
+        assertFalse(loadJs.contains("p(99)"), "The load test should only enforce the p95 limit");
+    }
+
+    @Test(description = "Invalid scripts are rejected before k6 runs")
+    @Story("k6 Scenarios - Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testValidation() {
+        K6Script script = K6Script.forBaseUrl(targetBaseUrl)
+                .scenario(K6Scenario.rampingVus("ramp-up", 0).get("posts"))
+                .scenario(K6Scenario.constantArrivalRate("burst", 10, Duration.ofSeconds(30), 20, 5).get("/posts"))
+                .threshold("http_req_duration", "p95 < 2000");
+
+        IllegalStateException error = expectThrows(IllegalStateException.class, script::render);
+
+        assertTrue(error.getMessage().contains("name must be a JavaScript identifier"), error.getMessage());
+        assertTrue(error.getMessage().contains("ramping-vus needs at least one stage"), error.getMessage());
+        assertTrue(error.getMessage().contains("path must start with '/'"), error.getMessage());
+        assertTrue(error.getMessage().contains("maxVUs must be >= preAllocatedVUs"), error.getMessage());
+        assertTrue(error.getMessage().contains("Invalid threshold for http_req_duration"), error.getMessage());
+    }
+
+    @Test(description = "Mixed open-model traffic run through k6")
+    @Story("k6 Scenarios - Mixed Traffic")
+    @Severity(SeverityLevel.NORMAL)
+    public void testMixedTrafficLoad() {
+        K6Script script = mixedTrafficScript(Duration.ofSeconds(performanceConfig.loadTestDurationSeconds()));
+
+        PerformanceTestResult result = performanceManager.runK6Script(script, "mixed_traffic", "LOAD");
+
+        assertNotNull(result, "Test result should not be null");
+        assertEquals(result.getTestType(), "LOAD", "Test type should be LOAD");
+        assertTrue(result.getTotalRequests() > 0, "Total requests should be greater than 0");
+    }
+
+    private K6Script mixedTrafficScript(Duration duration) {
+        return K6Script.forBaseUrl(targetBaseUrl)
+                .scenario(K6Scenario.rampingArrivalRate("browse", 1, 5, 50)
+                        .stage(Duration.ofSeconds(10), 10)
+                        .stage(duration, 10)
+                        .get("/posts", 3)
+                        .get("/posts/{rand:100}", 1)
+                        .tag("flow", "browse"))
+                .scenario(K6Scenario.constantVus("publish", 2, duration)
+                        .post("/posts", "{\"title\":\"k6\",\"body\":\"load\",\"userId\":1}", 1)
+                        .thinkTime(1))
+                .thresholdsFrom(performanceConfig)
+                .threshold("http_req_duration{scenario:publish}", "p(99)<3000", true)
+                .tag("testType", "mixed");
+    }
+}
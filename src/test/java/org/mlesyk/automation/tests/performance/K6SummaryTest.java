@@ -0,0 +1,73 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.K6Summary;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Summary-Only Mode")
+public class K6SummaryTest extends BaseTest {
+
+    @Test(description = "Request metrics are read from the k6 summary export")
+    @Story("k6 Summary-Only Mode - Summary Export")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testSummaryExport() throws IOException {
+        Path summaryExport = writeSummary("full", "{\n"
+                + "  \"state\": {\"isStdOutTTY\": false, \"testRunDurationMs\": 10012.5},\n"
+                + "  \"metrics\": {\n"
+                + "    \"http_req_duration\": {\"avg\": 23.41, \"min\": 10.2, \"med\": 20.1, \"max\": 310.7,\n"
+                + "      \"p(90)\": 35.2, \"p(95)\": 48.9, \"p(99)\": 120.3, \"thresholds\": {\"p(95)<2000\": false}},\n"
+                + "    \"http_reqs\": {\"count\": 1200, \"rate\": 119.85},\n"
+                + "    \"http_req_failed\": {\"passes\": 12, \"fails\": 1188, \"value\": 0.01},\n"
+                + "    \"errors\": {\"passes\": 30, \"fails\": 1170, \"value\": 0.025},\n"
+                + "    \"data_received\": {\"count\": 5242880, \"rate\": 523651.2},\n"
+                + "    \"data_sent\": {\"count\": 102400, \"rate\": 10227.3},\n"
+                + "    \"vus_max\": {\"value\": 10, \"min\": 10, \"max\": 10}\n"
+                + "  }\n"
+                + "}");
+
+        K6Summary summary = K6Summary.fromSummaryExport(summaryExport);
+
+        assertEquals(summary.getRequests(), 1200L, "Requests should come from http_reqs count");
+        assertEquals(summary.getFailedRequests(), 12L, "Failures should be the passes of http_req_failed");
+        assertEquals(summary.getRequestRate(), 119.85, 0.001, "Rate should come from http_reqs");
+        assertEquals(summary.getAverageDuration(), 23.41, 0.001);
+        assertEquals(summary.getMinDuration(), 10.2, 0.001);
+        assertEquals(summary.getMedianDuration(), 20.1, 0.001);
+        assertEquals(summary.getMaxDuration(), 310.7, 0.001);
+        assertEquals(summary.getP90Duration(), 35.2, 0.001);
+        assertEquals(summary.getP95Duration(), 48.9, 0.001);
+        assertEquals(summary.getP99Duration(), 120.3, 0.001);
+        assertEquals(summary.getDataReceivedBytes(), 5242880L);
+        assertEquals(summary.getMaxVus(), 10L);
+    }
+
+    @Test(description = "Summaries without http_req_failed fall back to the errors rate")
+    @Story("k6 Summary-Only Mode - Older k6")
+    @Severity(SeverityLevel.NORMAL)
+    public void testErrorsRateFallback() throws IOException {
+        Path summaryExport = writeSummary("fallback", "{\"metrics\": {"
+                + "\"http_req_duration\": {\"avg\": 50, \"min\": 5, \"med\": 40, \"max\": 900, \"p(90)\": 80, \"p(95)\": 120},"
+                + "\"http_reqs\": {\"count\": 40, \"rate\": 4.0},"
+                + "\"errors\": {\"passes\": 4, \"fails\": 36, \"value\": 0.1}}}");
+
+        K6Summary summary = K6Summary.fromSummaryExport(summaryExport);
+
+        assertEquals(summary.getFailedRequests(), 4L, "Failed checks should count when http_req_failed is missing");
+        assertEquals(summary.getP95Duration(), 120.0, 0.001);
+        assertEquals(summary.getP99Duration(), 0.0, "Trend stats not exported by k6 should read as 0");
+    }
+
+    private Path writeSummary(String name, String content) throws IOException {
+        Path directory = Files.createDirectories(Paths.get("target/test-data/k6-summary"));
+        return Files.writeString(directory.resolve(name + "-" + System.nanoTime() + ".json"), content);
+    }
+}
@@ -0,0 +1,88 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.LatencyHistogram;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Latency Histogram")
+public class LatencyHistogramTest extends BaseTest {
+
+    @Test(description = "Verify histogram percentiles stay within the bucket precision")
+    @Story("Latency Histogram")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPercentilesAreAccurate() {
+        Random random = new Random(1);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextGaussian() * 1.5 + 8);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{50, 90, 95, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long approximate = histogram.getPercentile(percentile);
+            assertTrue(Math.abs(approximate - exact) <= exact / 50 + 1,
+                    "p" + percentile + " should be within 2%: exact " + exact + ", histogram " + approximate);
+        }
+        assertEquals(histogram.getMin(), values[0], "Min should be exact");
+        assertEquals(histogram.getMax(), values[values.length - 1], "Max should be exact");
+        assertEquals(histogram.getCount(), values.length, "Every value should be counted");
+    }
+
+    @Test(description = "Verify merged histograms report the same percentiles as one histogram")
+    @Story("Latency Histogram")
+    @Severity(SeverityLevel.NORMAL)
+    public void testMergedPercentiles() {
+        LatencyHistogram fast = new LatencyHistogram();
+        LatencyHistogram slow = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            fast.record(i);
+            slow.record(i * 100L);
+            all.record(i);
+            all.record(i * 100L);
+        }
+
+        LatencyHistogram merged = fast.copy().add(slow);
+        for (double percentile : new double[]{50, 95, 99}) {
+            assertEquals(merged.getPercentile(percentile), all.getPercentile(percentile),
+                    "Merged p" + percentile + " should match the combined histogram");
+        }
+        assertEquals(LatencyHistogram.fromBuckets(merged.toBuckets()).getPercentile(95), merged.getPercentile(95),
+                "Bucket snapshot should preserve percentiles");
+    }
+
+    @Test(description = "Verify a histogram sent over a stream keeps its counts and percentiles")
+    @Story("Latency Histogram")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStreamRoundTrip() throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 5000; i++) {
+            histogram.record(i * 37L % 100_000);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        histogram.writeTo(new DataOutputStream(bytes));
+        LatencyHistogram received = LatencyHistogram.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(received.getCount(), histogram.getCount(), "Every value should be received");
+        for (double percentile : new double[]{50, 95, 99}) {
+            assertEquals(received.getPercentile(percentile), histogram.getPercentile(percentile),
+                    "p" + percentile + " should survive the round trip");
+        }
+    }
+}
@@ -6,6 +6,8 @@ import io.qameta.allure.*;
 import org.mlesyk.automation.utils.PerformanceAssertions;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 import static org.testng.Assert.*;
 
 @Epic("Performance Testing")
@@ -131,4 +133,30 @@ public class LoadTestSuite extends PerformanceBaseTest {
 
         LoggerUtil.info("Load test baseline established successfully");
     }
-}
\ No newline at end of file
+
+    @Test(description = "Load test split across several k6 processes")
+    @Story("Load Test - Sharded")
+    @Severity(SeverityLevel.NORMAL)
+    public void testShardedLoadTest() {
+        LoggerUtil.info("Starting sharded load test");
+
+        int users = performanceConfig.loadTestUsers() * 2;
+        int duration = performanceConfig.loadTestDurationSeconds();
+        int shards = performanceConfig.k6Shards();
+
+        PerformanceTestResult result = performanceManager.runShardedLoadTest(targetBaseUrl, users, duration, shards);
+
+        assertNotNull(result, "Test result should not be null");
+        assertEquals(result.getTestType(), "LOAD", "Test type should be LOAD");
+        assertEquals(result.getCustomMetrics().get("shards"), shards, "Every shard should be reported");
+
+        @SuppressWarnings("unchecked")
+        List<Long> shardRequests = (List<Long>) result.getCustomMetrics().get("shardRequests");
+        assertEquals(shardRequests.stream().mapToLong(Long::longValue).sum(), result.getTotalRequests(),
+                "Merged requests should be the sum of all shards");
+        assertTrue(shardRequests.stream().allMatch(requests -> requests > 0), "Every shard should generate load");
+
+        PerformanceAssertions.assertPerformanceThresholds(result, performanceConfig);
+        LoggerUtil.logPerformanceMetric("Sharded Test Throughput", result.getThroughput(), "req/s");
+    }
+}
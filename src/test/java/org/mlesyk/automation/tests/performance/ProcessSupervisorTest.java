@@ -0,0 +1,119 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.ProcessSample;
+import org.mlesyk.automation.performance.ProcessSupervisor;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("k6 Process Supervision")
+public class ProcessSupervisorTest extends BaseTest {
+
+    // Stand-in for k6, started with the single-file source launcher of the running JDK
+    private static final String CHILD = """
+            public class Child {
+                public static void main(String[] args) throws Exception {
+                    if (args[0].equals("ignore-term")) {
+                        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                            try { Thread.sleep(60_000); } catch (InterruptedException e) { }
+                        }));
+                    }
+                    System.out.println("ready");
+                    System.out.flush();
+                    long end = System.nanoTime() + 60_000_000_000L;
+                    long sum = 0;
+                    while (System.nanoTime() < end) {
+                        if (args[0].equals("spin")) { sum += System.nanoTime() % 7; } else { Thread.sleep(100); }
+                    }
+                    System.out.println(sum);
+                }
+            }
+            """;
+
+    @Test(description = "A hung process is stopped gracefully at the deadline")
+    @Story("k6 Process Supervision - Deadline")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testDeadlineStopsHungProcess() throws Exception {
+        ProcessSupervisor supervisor = new ProcessSupervisor(startChild("sleep"), "hung child")
+                .maxDuration(Duration.ofSeconds(1))
+                .gracePeriod(Duration.ofSeconds(10))
+                .sampleInterval(Duration.ofMillis(200));
+
+        long startNanos = System.nanoTime();
+        supervisor.waitFor();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertTrue(supervisor.isTimedOut(), "Deadline should have been reached");
+        assertFalse(supervisor.isKilled(), "Process should have stopped on the graceful signal");
+        assertTrue(waitedMillis < 5000, "Waiting should end shortly after the deadline, took " + waitedMillis + "ms");
+        LoggerUtil.logPerformanceMetric("Hung Process Stopped After", waitedMillis, "ms");
+    }
+
+    @Test(description = "A cancelled process that ignores the stop signal is killed after the grace period")
+    @Story("k6 Process Supervision - Cancellation")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testForcedKillAfterGracePeriod() throws Exception {
+        ProcessSupervisor supervisor = new ProcessSupervisor(startChild("ignore-term"), "stubborn child")
+                .gracePeriod(Duration.ofSeconds(1))
+                .sampleInterval(Duration.ofMillis(200));
+
+        supervisor.stop("cancelled");
+        long startNanos = System.nanoTime();
+        supervisor.waitFor();
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertEquals(supervisor.getStopReason(), "cancelled", "First stop reason should be kept");
+        assertFalse(supervisor.isTimedOut(), "Cancellation is not a timeout");
+        assertTrue(supervisor.isKilled(), "Process ignoring the graceful stop should be killed");
+        assertTrue(waitedMillis >= 1000 && waitedMillis < 5000,
+                "Kill should follow the grace period, took " + waitedMillis + "ms");
+    }
+
+    @Test(description = "CPU time and memory of the process are sampled while waiting")
+    @Story("k6 Process Supervision - Resource Sampling")
+    @Severity(SeverityLevel.NORMAL)
+    public void testResourceSampling() throws Exception {
+        ProcessSupervisor supervisor = new ProcessSupervisor(startChild("spin"), "busy child")
+                .maxDuration(Duration.ofSeconds(2))
+                .gracePeriod(Duration.ofSeconds(5))
+                .sampleInterval(Duration.ofMillis(250));
+        supervisor.waitFor();
+
+        List<ProcessSample> samples = supervisor.getSamples();
+        assertTrue(samples.size() >= 4, "Process should be sampled every interval, got " + samples.size());
+        assertTrue(supervisor.getPeakCpuPercent() > 50,
+                "A spinning process should use most of a core, got " + supervisor.getPeakCpuPercent() + "%");
+        if (Files.exists(Paths.get("/proc/self/status"))) {
+            assertTrue(supervisor.getPeakRssBytes() > 0, "Resident memory should be sampled on Linux");
+        }
+        LoggerUtil.logPerformanceMetric("Busy Process Average CPU", supervisor.getAverageCpuPercent(), "%");
+        LoggerUtil.logPerformanceMetric("Busy Process Peak RSS", supervisor.getPeakRssBytes() / (1024 * 1024), "MB");
+    }
+
+    // Returns once the child is running its main loop
+    private Process startChild(String mode) throws IOException {
+        Path source = Files.createDirectories(Paths.get("target/test-data/process-supervisor")).resolve("Child.java");
+        Files.writeString(source, CHILD);
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, source.toString(), mode).redirectErrorStream(true).start();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        assertEquals(reader.readLine(), "ready", "Child process should start");
+        return process;
+    }
+}
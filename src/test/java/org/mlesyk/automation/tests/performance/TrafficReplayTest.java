@@ -0,0 +1,100 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.models.Post;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.replay.RecordedRequest;
+import org.mlesyk.automation.replay.TrafficLog;
+import org.mlesyk.automation.replay.TrafficRecordingFilter;
+import org.mlesyk.automation.replay.TrafficReplayer;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import org.mlesyk.automation.utils.TestDataUtil;
+import io.qameta.allure.*;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Traffic Replay")
+public class TrafficReplayTest extends PerformanceBaseTest {
+
+    private static final Path TRAFFIC_LOG = Paths.get("target/traffic/replay-test.traffic");
+
+    @Test(description = "Record functional traffic and replay it as load")
+    @Story("Traffic Replay - Recorded Timing")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testRecordAndReplay() throws IOException {
+        recordFunctionalTraffic();
+
+        List<RecordedRequest> recorded;
+        try (Stream<RecordedRequest> records = TrafficLog.read(TRAFFIC_LOG)) {
+            recorded = records.collect(Collectors.toList());
+        }
+        assertEquals(recorded.size(), 5, "Every request should be recorded");
+        assertEquals(recorded.get(0).getMethod(), "GET", "Method should be recorded");
+        assertEquals(recorded.get(0).getPath(), "/posts/1", "Path should be relative to the base URL");
+        assertEquals(recorded.get(0).getStatus(), 200, "Status should be recorded");
+        assertEquals(recorded.get(3).getStatus(), 201, "Creation status should be recorded");
+        assertTrue(new String(recorded.get(3).getBody(), StandardCharsets.UTF_8).contains("\"title\""),
+                "Request body should be recorded");
+        assertEquals(recorded.get(4).getPath(), "/posts?userId=1", "Query should be recorded");
+        assertTrue(recorded.get(4).getOffsetMicros() >= recorded.get(0).getOffsetMicros(),
+                "Offsets should follow the recording order");
+
+        TrafficReplayer replayer = new TrafficReplayer(targetBaseUrl).workers(4).speed(10);
+        PerformanceTestResult result = performanceManager.runTrafficReplay(TRAFFIC_LOG, replayer);
+
+        assertEquals(result.getTestType(), "REPLAY", "Test type should be REPLAY");
+        assertEquals(result.getTotalRequests(), 5L, "Every recorded request should be replayed");
+        assertEquals(result.getFailedRequests(), 0L, "Replayed requests should get the recorded status: "
+                + result.getCustomMetrics().get("firstError"));
+        assertNotNull(result.getCustomMetrics().get("scheduleLag"), "Schedule lag should be reported");
+
+        LoggerUtil.logPerformanceMetric("Replay P95", result.getP95ResponseTime(), "ms");
+    }
+
+    @Test(description = "Replay recorded traffic at a fixed rate", dependsOnMethods = "testRecordAndReplay")
+    @Story("Traffic Replay - Fixed Rate")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFixedRateReplay() {
+        TrafficReplayer replayer = new TrafficReplayer(targetBaseUrl).workers(8).fixedRate(10).maxRequests(4);
+
+        PerformanceTestResult result;
+        try (Stream<RecordedRequest> records = TrafficLog.read(TRAFFIC_LOG)) {
+            result = replayer.replay("fixed_rate_replay", records);
+        }
+
+        assertEquals(result.getTotalRequests(), 4L, "Replay should stop at the request limit");
+        assertEquals(result.getCustomMetrics().get("intendedDurationMillis"), 300L,
+                "Four requests at 10 req/s should be scheduled over 300ms");
+        assertTrue((Long) result.getCustomMetrics().get("achievedDurationMillis") >= 300L,
+                "Replay cannot finish before its schedule");
+    }
+
+    private void recordFunctionalTraffic() throws IOException {
+        try (TrafficLog.Writer writer = TrafficLog.writer(TRAFFIC_LOG)) {
+            RequestSpecification recordingSpec = new RequestSpecBuilder()
+                    .addRequestSpecification(requestSpec)
+                    .addFilter(new TrafficRecordingFilter(writer))
+                    .build();
+            PostService postService = new PostService(recordingSpec, responseSpec);
+
+            for (int postId = 1; postId <= 3; postId++) {
+                postService.getPostById(postId);
+            }
+            Post post = TestDataUtil.generatePost(1);
+            postService.createPost(post);
+            postService.getPostsByUserId(1);
+        }
+    }
+}
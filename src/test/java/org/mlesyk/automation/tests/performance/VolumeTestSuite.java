@@ -0,0 +1,54 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.performance.VolumePhaseResult;
+import org.mlesyk.automation.services.PostService;
+import org.mlesyk.automation.services.UserService;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Volume Testing")
+public class VolumeTestSuite extends PerformanceBaseTest {
+
+    @Test(description = "Volume test seeding, reading back and deleting entities")
+    @Story("Volume Test - Seed and Teardown")
+    @Severity(SeverityLevel.CRITICAL)
+    @SuppressWarnings("unchecked")
+    public void testVolumeSeedAndTeardown() {
+        LoggerUtil.info("Starting volume test");
+
+        UserService userService = new UserService(requestSpec, responseSpec);
+        PostService postService = new PostService(requestSpec, responseSpec);
+        int entities = Math.min(performanceConfig.volumeTestEntities(), 50);
+        int concurrency = performanceConfig.volumeTestConcurrency();
+
+        PerformanceTestResult result = performanceManager.runVolumeTest(userService, postService, entities, concurrency, 10);
+
+        assertNotNull(result, "Test result should not be null");
+        assertEquals(result.getTestType(), "VOLUME", "Test type should be VOLUME");
+        assertTrue(result.getTotalRequests() > 0, "Total requests should be greater than 0");
+
+        Map<String, VolumePhaseResult> phases = (Map<String, VolumePhaseResult>) result.getCustomMetrics().get("phases");
+        assertEquals(phases.keySet().toString(), "[create, read, delete]", "All phases should be reported");
+
+        VolumePhaseResult create = phases.get("create");
+        assertEquals(create.getOperations(), (long) entities * 2, "Each entity should create a user and a post");
+        assertEquals(create.getFailedOperations(), 0L, "Bulk creation should not fail");
+        assertEquals(create.getP95ByDatasetSize().size(), 10, "Create latency should be tracked per growth segment");
+        assertTrue(create.getP95ByDatasetSize().containsKey((long) entities), "Last segment should cover the full dataset");
+
+        long operations = phases.values().stream().mapToLong(VolumePhaseResult::getOperations).sum();
+        assertEquals(result.getTotalRequests(), operations, "Totals should add up the phases");
+
+        LoggerUtil.info("Volume test completed");
+        LoggerUtil.logPerformanceMetric("Create Throughput", create.getThroughput(), "ops/s");
+        LoggerUtil.logPerformanceMetric("Read Error Rate", phases.get("read").getErrorRate(), "%");
+        LoggerUtil.logPerformanceMetric("Delete Throughput", phases.get("delete").getThroughput(), "ops/s");
+    }
+}
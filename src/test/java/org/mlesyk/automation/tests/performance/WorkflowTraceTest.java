@@ -0,0 +1,61 @@
+package org.mlesyk.automation.tests.performance;
+
+import org.mlesyk.automation.base.BaseTest;
+import org.mlesyk.automation.performance.WorkflowTrace;
+import org.mlesyk.automation.performance.WorkflowTrace.CriticalPathReport;
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("Workflow Analysis")
+public class WorkflowTraceTest extends BaseTest {
+
+    @Test(description = "Verify the critical path and speedup of a traced workflow")
+    @Story("Critical Path")
+    @Severity(SeverityLevel.NORMAL)
+    public void testCriticalPathOfSequentialWorkflow() {
+        WorkflowTrace trace = WorkflowTrace.start("fan-out");
+
+        trace.run("root", () -> pause(50));
+        trace.run("slow-branch", () -> pause(120), "root");
+        trace.run("fast-branch-1", () -> pause(30), "root");
+        trace.run("fast-branch-2", () -> pause(30), "root");
+        trace.run("join", () -> pause(20), "slow-branch", "fast-branch-1", "fast-branch-2");
+
+        CriticalPathReport report = trace.analyze();
+
+        assertEquals(report.getCallCount(), 5, "All calls should be recorded");
+        assertEquals(report.getCriticalPath(), List.of("root", "slow-branch", "join"),
+                "Critical path should go through the slowest branch");
+        assertEquals(report.getMaxParallelism(), 3, "The three branches could run concurrently");
+        assertTrue(report.getCriticalPathMillis() < report.getActualMillis(),
+                "Critical path should be shorter than the sequential run");
+        assertTrue(report.getPotentialSpeedup() > 1.2, "Running the branches concurrently should pay off");
+        assertEquals(report.getHints().size(), 1, "The independent branches should be reported");
+        assertTrue(report.getHints().get(0).startsWith("3 calls depending only on [root]"),
+                "Hint should name the shared dependency: " + report.getHints().get(0));
+    }
+
+    @Test(description = "Verify dependencies must refer to recorded calls")
+    @Story("Critical Path")
+    @Severity(SeverityLevel.MINOR)
+    public void testUnknownDependencyIsRejected() {
+        WorkflowTrace trace = WorkflowTrace.start("invalid");
+        trace.call("first", () -> 1);
+
+        assertThrows(IllegalArgumentException.class, () -> trace.call("second", () -> 2, "missing"));
+        assertThrows(IllegalArgumentException.class, () -> trace.call("first", () -> 3));
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
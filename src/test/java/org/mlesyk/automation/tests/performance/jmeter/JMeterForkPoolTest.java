@@ -0,0 +1,109 @@
+package org.mlesyk.automation.tests.performance.jmeter;
+
+import org.mlesyk.automation.performance.JMeterTestRunner;
+import org.mlesyk.automation.performance.K6Scenario;
+import org.mlesyk.automation.performance.K6Script;
+import org.mlesyk.automation.performance.PerformanceTestResult;
+import org.mlesyk.automation.tests.performance.PerformanceBaseTest;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("JMeter Forked Execution")
+public class JMeterForkPoolTest extends PerformanceBaseTest {
+
+    private static final int RUN_SECONDS = 5;
+
+    private JMeterTestRunner parallelRunner;
+    private JMeterTestRunner reusedRunner;
+
+    @BeforeClass
+    public void setUpForks() {
+        parallelRunner = new JMeterTestRunner(performanceConfig).forked(2);
+        reusedRunner = new JMeterTestRunner(performanceConfig).forked(1);
+        // Fork startup is paid here, outside the measured runs
+        parallelRunner.warmUp();
+        reusedRunner.warmUp();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDownForks() {
+        if (parallelRunner != null) {
+            parallelRunner.close();
+        }
+        if (reusedRunner != null) {
+            reusedRunner.close();
+        }
+    }
+
+    @Test(description = "Two plans run at the same time in separate forks")
+    @Story("JMeter Forked Execution - Parallel Runs")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testParallelRuns() {
+        long startNanos = System.nanoTime();
+        CompletableFuture<PerformanceTestResult> posts = CompletableFuture.supplyAsync(
+                () -> parallelRunner.runWorkload(workload("posts", "/posts"), "jmeter_fork_posts"));
+        CompletableFuture<PerformanceTestResult> users = CompletableFuture.supplyAsync(
+                () -> parallelRunner.runWorkload(workload("users", "/users"), "jmeter_fork_users"));
+        PerformanceTestResult postsResult = posts.join();
+        PerformanceTestResult usersResult = users.join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+        assertTrue(postsResult.getTotalRequests() > 0, "Posts plan should have sent requests");
+        assertTrue(usersResult.getTotalRequests() > 0, "Users plan should have sent requests");
+        assertNotEquals(postsResult.getCustomMetrics().get("fork"), usersResult.getCustomMetrics().get("fork"),
+                "Concurrent runs should use different forks");
+        assertTrue(elapsedMillis < 2 * RUN_SECONDS * 1000,
+                "Runs should overlap instead of running one after the other, took " + elapsedMillis + "ms");
+
+        LoggerUtil.logPerformanceMetric("JMeter Parallel Forked Runs", elapsedMillis, "ms");
+        LoggerUtil.logPerformanceMetric("JMeter Fork Posts Throughput", postsResult.getThroughput(), "req/s");
+    }
+
+    @Test(description = "A warm fork is reused for the next run")
+    @Story("JMeter Forked Execution - Warm Reuse")
+    @Severity(SeverityLevel.NORMAL)
+    public void testForkReused() {
+        PerformanceTestResult first = reusedRunner.runWorkload(workload("first", "/posts"), "jmeter_fork_first");
+        PerformanceTestResult second = reusedRunner.runWorkload(workload("second", "/posts"), "jmeter_fork_second");
+
+        assertEquals(second.getCustomMetrics().get("fork"), first.getCustomMetrics().get("fork"),
+                "The second run should use the same warm fork");
+        assertEquals(second.getCustomMetrics().get("forkRun"), (int) first.getCustomMetrics().get("forkRun") + 1,
+                "The fork should count its runs");
+        assertTrue(second.getTotalRequests() > 0, "The reused fork should have sent requests");
+    }
+
+    @Test(description = "A forked run without samples reports an empty, failed result")
+    @Story("JMeter Forked Execution - Empty Runs")
+    @Severity(SeverityLevel.NORMAL)
+    public void testForkedRunWithoutSamples() {
+        // Zero VUs throughout: the plan has no thread groups and sends nothing
+        K6Script idle = K6Script.forBaseUrl(targetBaseUrl)
+                .scenario(K6Scenario.rampingVus("idle", 0)
+                        .stage(Duration.ofSeconds(1), 0)
+                        .get("/posts"));
+
+        PerformanceTestResult result = reusedRunner.runWorkload(idle, "jmeter_fork_idle");
+
+        assertEquals(result.getTotalRequests(), 0L, "No requests should have been sent");
+        assertFalse(result.isPassed(), "A run without samples should not pass");
+        assertNotNull(result.getCustomMetrics().get("fork"), "The fork should still be reported");
+    }
+
+    private K6Script workload(String name, String path) {
+        return K6Script.forBaseUrl(targetBaseUrl)
+                .scenario(K6Scenario.constantVus(name, 2, Duration.ofSeconds(RUN_SECONDS))
+                        .get(path)
+                        .thinkTime(0.5));
+    }
+}
@@ -0,0 +1,143 @@
+package org.mlesyk.automation.tests.performance.jmeter;
+
+import org.mlesyk.automation.performance.JMeterPlanBuilder;
+import org.mlesyk.automation.performance.JMeterTestRunner;
+import org.mlesyk.automation.performance.K6Scenario;
+import org.mlesyk.automation.performance.K6Script;
+import org.mlesyk.automation.tests.performance.PerformanceBaseTest;
+import io.qameta.allure.*;
+import org.apache.jmeter.assertions.ResponseAssertion;
+import org.apache.jmeter.control.RandomController;
+import org.apache.jmeter.protocol.http.sampler.HTTPSamplerProxy;
+import org.apache.jmeter.threads.ThreadGroup;
+import org.apache.jmeter.threads.openmodel.OpenModelThreadGroup;
+import org.apache.jmeter.timers.ConstantTimer;
+import org.apache.jmeter.timers.UniformRandomTimer;
+import org.apache.jorphan.collections.HashTree;
+import org.apache.jorphan.collections.SearchByClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("JMeter Integration")
+public class JMeterPlanBuilderTest extends PerformanceBaseTest {
+
+    @BeforeClass
+    public void setUpJMeter() {
+        new JMeterTestRunner(performanceConfig).warmUp();
+    }
+
+    @Test(description = "The load test workload becomes one ramping thread group with the same request")
+    @Story("JMeter Plan Builder - Closed Model")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testLoadTestWorkload() {
+        HashTree plan = JMeterPlanBuilder.build(performanceManager.loadTestScript("https://api.example.com/v1", 10, 60));
+
+        List<ThreadGroup> threadGroups = find(plan, ThreadGroup.class);
+        assertEquals(threadGroups.size(), 1, "All VUs start in the same ramp-up stage");
+        ThreadGroup threadGroup = threadGroups.get(0);
+        assertEquals(threadGroup.getNumThreads(), 10);
+        assertEquals(threadGroup.getRampUp(), 30, "Ramp-up should be the first stage");
+        assertEquals(threadGroup.getDelay(), 0L);
+        assertEquals(threadGroup.getDuration(), 105L, "VUs should stop halfway through the ramp-down stage");
+
+        HTTPSamplerProxy sampler = find(plan, HTTPSamplerProxy.class).get(0);
+        assertEquals(sampler.getProtocol(), "https");
+        assertEquals(sampler.getDomain(), "api.example.com");
+        assertEquals(sampler.getPath(), "/v1/posts", "Base URL path should prefix the request path");
+        assertEquals(sampler.getMethod(), "GET");
+        assertEquals(find(plan, ResponseAssertion.class).size(), 1, "The expected status should be asserted");
+        assertEquals(find(plan, ConstantTimer.class).get(0).getDelay(), "1000", "Think time should be 1s");
+    }
+
+    @Test(description = "The stress workload sends every request on each iteration with one think time")
+    @Story("JMeter Plan Builder - Batch Requests")
+    @Severity(SeverityLevel.NORMAL)
+    public void testStressWorkloadBatch() {
+        HashTree plan = JMeterPlanBuilder.build(performanceManager.stressTestScript("http://localhost:8080", 20, 60));
+
+        List<String> paths = new ArrayList<>();
+        find(plan, HTTPSamplerProxy.class).forEach(sampler -> paths.add(sampler.getPath()));
+        assertEquals(paths, List.of("/posts", "/users", "/comments"), "Every batch request should be sampled");
+        assertTrue(find(plan, RandomController.class).isEmpty(), "A batch should not pick a request by weight");
+        assertEquals(find(plan, UniformRandomTimer.class).size(), 1, "Think time should apply once per iteration");
+    }
+
+    @Test(description = "A spike profile becomes layered thread groups stopped by the ramp-down stages")
+    @Story("JMeter Plan Builder - Ramping Stages")
+    @Severity(SeverityLevel.NORMAL)
+    public void testSpikeWorkload() {
+        HashTree plan = JMeterPlanBuilder.build(performanceManager.spikeTestScript("http://localhost:8080", 50, 30));
+
+        List<ThreadGroup> threadGroups = find(plan, ThreadGroup.class);
+        assertEquals(threadGroups.size(), 2, "Normal load and spike VUs should be separate thread groups");
+
+        // 0-10 VUs over the first 10s, running until halfway through the final ramp-down
+        assertThreadGroup(threadGroups.get(0), 10, 0, 10, 65);
+        // 10-50 VUs over the next 10s, stopped halfway through the ramp back to normal
+        assertThreadGroup(threadGroups.get(1), 40, 10, 10, 45);
+    }
+
+    @Test(description = "Arrival-rate scenarios use an open model schedule and weighted requests")
+    @Story("JMeter Plan Builder - Open Model")
+    @Severity(SeverityLevel.NORMAL)
+    public void testArrivalRateWorkload() {
+        K6Script script = K6Script.forBaseUrl("http://localhost:8080")
+                .scenario(K6Scenario.rampingArrivalRate("browse", 5, 20, 100)
+                        .stage(Duration.ofSeconds(30), 50)
+                        .stage(Duration.ofMinutes(2), 50)
+                        .get("/posts", 3)
+                        .get("/posts/{rand:100}", 1))
+                .scenario(K6Scenario.constantArrivalRate("publish", 2, Duration.ofMinutes(1), 5, 10)
+                        .post("/posts", "{\"title\":\"t\"}", 1)
+                        .startTime(Duration.ofSeconds(15)));
+
+        HashTree plan = JMeterPlanBuilder.build(script);
+
+        List<OpenModelThreadGroup> threadGroups = find(plan, OpenModelThreadGroup.class);
+        assertEquals(threadGroups.size(), 2);
+        assertEquals(threadGroups.get(0).getScheduleString(),
+                "rate(5/sec) even_arrivals(30 sec) rate(50/sec) even_arrivals(120 sec) rate(50/sec)");
+        assertEquals(threadGroups.get(1).getScheduleString(),
+                "pause(15 sec) rate(2/sec) even_arrivals(60 sec) rate(2/sec)");
+
+        assertEquals(find(plan, RandomController.class).size(), 1, "Weighted requests need a random pick");
+        List<String> paths = new ArrayList<>();
+        find(plan, HTTPSamplerProxy.class).forEach(sampler -> paths.add(sampler.getPath()));
+        assertEquals(paths, List.of("/posts", "/posts", "/posts", "/posts/${__Random(1,100)}", "/posts"),
+                "Requests should be repeated by weight");
+    }
+
+    @Test(description = "Invalid workloads are rejected before JMeter runs")
+    @Story("JMeter Plan Builder - Validation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testInvalidWorkloadRejected() {
+        K6Script script = K6Script.forBaseUrl("localhost")
+                .scenario(K6Scenario.rampingVus("empty", 0));
+
+        IllegalStateException error = expectThrows(IllegalStateException.class, () -> JMeterPlanBuilder.build(script));
+        assertTrue(error.getMessage().contains("Base URL"), error.getMessage());
+        assertTrue(error.getMessage().contains("no requests"), error.getMessage());
+    }
+
+    private static void assertThreadGroup(ThreadGroup threadGroup, int threads, long delay, int rampUp, long duration) {
+        assertEquals(threadGroup.getNumThreads(), threads, threadGroup.getName() + " threads");
+        assertEquals(threadGroup.getDelay(), delay, threadGroup.getName() + " delay");
+        assertEquals(threadGroup.getRampUp(), rampUp, threadGroup.getName() + " ramp-up");
+        assertEquals(threadGroup.getDuration(), duration, threadGroup.getName() + " duration");
+    }
+
+    private static <T> List<T> find(HashTree plan, Class<T> type) {
+        SearchByClass<T> search = new SearchByClass<>(type);
+        plan.traverse(search);
+        Collection<T> results = search.getSearchResults();
+        return new ArrayList<>(results);
+    }
+}
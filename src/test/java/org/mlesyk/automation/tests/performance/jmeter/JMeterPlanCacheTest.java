@@ -0,0 +1,75 @@
+package org.mlesyk.automation.tests.performance.jmeter;
+
+import org.mlesyk.automation.performance.JMeterPlanCache;
+import org.mlesyk.automation.performance.JMeterTestRunner;
+import org.mlesyk.automation.tests.performance.PerformanceBaseTest;
+import org.mlesyk.automation.utils.LoggerUtil;
+import io.qameta.allure.*;
+import org.apache.jorphan.collections.HashTree;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.testng.Assert.*;
+
+@Epic("Performance Testing")
+@Feature("JMeter Integration")
+public class JMeterPlanCacheTest extends PerformanceBaseTest {
+
+    private static final Path SOURCE_PLAN = Paths.get("src/test/resources/jmeter/api-load-test.jmx");
+
+    @BeforeClass
+    public void setUpJMeter() {
+        new JMeterTestRunner(performanceConfig).warmUp();
+    }
+
+    @Test(description = "A plan is parsed once and every load gets its own copy")
+    @Story("JMeter Plan Cache - Reuse")
+    @Severity(SeverityLevel.NORMAL)
+    public void testPlanParsedOnce() throws Exception {
+        File plan = copyPlan("reuse").toFile();
+        JMeterPlanCache cache = new JMeterPlanCache();
+
+        long startNanos = System.nanoTime();
+        HashTree first = cache.load(plan);
+        long parseMicros = (System.nanoTime() - startNanos) / 1000;
+        startNanos = System.nanoTime();
+        HashTree second = cache.load(plan);
+        long cachedMicros = (System.nanoTime() - startNanos) / 1000;
+
+        assertEquals(cache.getParses(), 1L, "Unchanged plan should be parsed only once");
+        assertEquals(second.list().size(), first.list().size(), "Copies should have the same structure");
+        assertNotSame(second.getArray()[0], first.getArray()[0], "Runs should not share test elements");
+
+        LoggerUtil.logPerformanceMetric("JMeter Plan Parse", parseMicros, "us");
+        LoggerUtil.logPerformanceMetric("JMeter Plan Cached Load", cachedMicros, "us");
+    }
+
+    @Test(description = "An edited plan is parsed again")
+    @Story("JMeter Plan Cache - Invalidation")
+    @Severity(SeverityLevel.NORMAL)
+    public void testEditedPlanReparsed() throws Exception {
+        Path plan = copyPlan("edited");
+        JMeterPlanCache cache = new JMeterPlanCache();
+        cache.load(plan.toFile());
+
+        Files.writeString(plan, "\n", StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(plan, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        cache.load(plan.toFile());
+
+        assertEquals(cache.getParses(), 2L, "A plan with a new modification time should be parsed again");
+    }
+
+    private Path copyPlan(String name) throws Exception {
+        Path directory = Files.createDirectories(Paths.get("target/test-data/jmeter-plan-cache"));
+        return Files.copy(SOURCE_PLAN, directory.resolve(name + "-" + System.nanoTime() + ".jmx"),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -1,6 +1,7 @@
 package org.mlesyk.automation.tests.performance.jmeter;
 
 import org.mlesyk.automation.performance.JMeterTestRunner;
+import org.mlesyk.automation.performance.K6Script;
 import org.mlesyk.automation.performance.PerformanceTestResult;
 import org.mlesyk.automation.tests.performance.PerformanceBaseTest;
 import org.mlesyk.automation.utils.LoggerUtil;
@@ -9,9 +10,6 @@ import io.qameta.allure.*;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import java.io.File;
-import java.util.Properties;
-
 import static org.testng.Assert.*;
 
 @Epic("Performance Testing")
@@ -19,21 +17,14 @@ import static org.testng.Assert.*;
 public class JMeterTestSuite extends PerformanceBaseTest {
 
     private JMeterTestRunner jmeterRunner;
-    private String testPlanPath;
 
     @BeforeClass
     public void setUpJMeter() {
         jmeterRunner = new JMeterTestRunner(performanceConfig);
 
-        // Set up test plan path
-        testPlanPath = "src/test/jmeter/api-load-test.jmx";
-
-        // Verify test plan exists
-        File testPlanFile = new File(testPlanPath);
-        if (!testPlanFile.exists()) {
-            LoggerUtil.warn("JMeter test plan not found: {}", testPlanPath);
-            LoggerUtil.info("Create the test plan file or skip JMeter tests");
-        }
+        // Initialize JMeter before the first measured test; the plans are built in code from
+        // the same workloads the k6 tests run
+        jmeterRunner.warmUp();
 
         LoggerUtil.logFrameworkInfo("JMeter test suite initialized");
     }
@@ -44,22 +35,13 @@ public class JMeterTestSuite extends PerformanceBaseTest {
     public void testJMeterLoadTest() {
         LoggerUtil.info("Starting JMeter load test");
 
-        // Skip if test plan doesn't exist
-        File testPlanFile = new File(testPlanPath);
-        if (!testPlanFile.exists()) {
-            LoggerUtil.warn("Skipping JMeter test - test plan not found: {}", testPlanPath);
-            return;
-        }
-
-        // Create test properties
-        Properties testProps = JMeterTestRunner.createTestProperties(
+        // Run JMeter test with the k6 load test workload
+        K6Script workload = performanceManager.loadTestScript(
                 targetBaseUrl,
                 performanceConfig.loadTestUsers(),
                 performanceConfig.loadTestDurationSeconds()
         );
-
-        // Run JMeter test
-        PerformanceTestResult result = jmeterRunner.runTestPlan(testPlanPath, "jmeter_load_test", testProps);
+        PerformanceTestResult result = jmeterRunner.runWorkload(workload, "jmeter_load_test");
 
         // Validate results
         assertNotNull(result, "JMeter result should not be null");
@@ -83,26 +65,15 @@ public class JMeterTestSuite extends PerformanceBaseTest {
     public void testJMeterStressTest() {
         LoggerUtil.info("Starting JMeter stress test");
 
-        // Skip if test plan doesn't exist
-        File testPlanFile = new File(testPlanPath);
-        if (!testPlanFile.exists()) {
-            LoggerUtil.warn("Skipping JMeter stress test - test plan not found: {}", testPlanPath);
-            return;
-        }
-
-        // Create stress test properties
-        Properties stressProps = JMeterTestRunner.createTestProperties(
+        // Stress workload: 60s ramp-up and random think time, as in the k6 stress test
+        K6Script workload = performanceManager.stressTestScript(
                 targetBaseUrl,
                 performanceConfig.stressTestUsers(),
-                performanceConfig.stressTestDurationSeconds(),
-                60 // ramp-up time
+                performanceConfig.stressTestDurationSeconds()
         );
 
-        // Add additional stress test properties
-        stressProps.setProperty("think.time", "500"); // Shorter think time for stress
-
         // Run JMeter stress test
-        PerformanceTestResult result = jmeterRunner.runTestPlan(testPlanPath, "jmeter_stress_test", stressProps);
+        PerformanceTestResult result = jmeterRunner.runWorkload(workload, "jmeter_stress_test");
 
         // Validate results with relaxed thresholds for stress test
         assertNotNull(result, "JMeter stress result should not be null");
@@ -122,23 +93,15 @@ public class JMeterTestSuite extends PerformanceBaseTest {
     public void testJMeterBaseline() {
         LoggerUtil.info("Establishing JMeter baseline");
 
-        // Skip if test plan doesn't exist
-        File testPlanFile = new File(testPlanPath);
-        if (!testPlanFile.exists()) {
-            LoggerUtil.warn("Skipping JMeter baseline test - test plan not found: {}", testPlanPath);
-            return;
-        }
-
-        // Conservative baseline properties
-        Properties baselineProps = JMeterTestRunner.createTestProperties(
+        // Conservative baseline workload with a gradual 30s ramp-up
+        K6Script workload = performanceManager.loadTestScript(
                 targetBaseUrl,
                 5, // Conservative user count
-                120, // Longer duration for stable baseline
-                30 // Gradual ramp-up
+                120 // Longer duration for stable baseline
         );
 
         // Run baseline test
-        PerformanceTestResult baseline = jmeterRunner.runTestPlan(testPlanPath, "jmeter_baseline", baselineProps);
+        PerformanceTestResult baseline = jmeterRunner.runWorkload(workload, "jmeter_baseline");
 
         // Validate baseline with strict thresholds
         assertNotNull(baseline, "JMeter baseline result should not be null");
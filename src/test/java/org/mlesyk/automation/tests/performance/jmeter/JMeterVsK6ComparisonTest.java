@@ -1,6 +1,7 @@
 package org.mlesyk.automation.tests.performance.jmeter;
 
 import org.mlesyk.automation.performance.JMeterTestRunner;
+import org.mlesyk.automation.performance.K6Script;
 import org.mlesyk.automation.performance.PerformanceTestResult;
 import org.mlesyk.automation.performance.PerformanceTestSummary;
 import org.mlesyk.automation.performance.PerformanceReportGenerator;
@@ -11,9 +12,7 @@ import io.qameta.allure.*;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
-import java.io.File;
 import java.util.Arrays;
-import java.util.Properties;
 
 import static org.testng.Assert.*;
 
@@ -22,12 +21,11 @@ import static org.testng.Assert.*;
 public class JMeterVsK6ComparisonTest extends PerformanceBaseTest {
 
     private JMeterTestRunner jmeterRunner;
-    private String testPlanPath;
 
     @BeforeClass
     public void setUpComparison() {
         jmeterRunner = new JMeterTestRunner(performanceConfig);
-        testPlanPath = "src/test/jmeter/api-load-test.jmx";
+        jmeterRunner.warmUp();
 
         LoggerUtil.logFrameworkInfo("JMeter vs k6 comparison test suite initialized");
     }
@@ -45,20 +43,10 @@ public class JMeterVsK6ComparisonTest extends PerformanceBaseTest {
         LoggerUtil.info("Running k6 load test for comparison");
         PerformanceTestResult k6Result = performanceManager.runLoadTest(targetBaseUrl, users, duration);
 
-        // Run JMeter test (if test plan exists)
-        PerformanceTestResult jmeterResult = null;
-        File testPlanFile = new File(testPlanPath);
-
-        if (testPlanFile.exists()) {
-            LoggerUtil.info("Running JMeter load test for comparison");
-            Properties testProps = JMeterTestRunner.createTestProperties(targetBaseUrl, users, duration);
-            jmeterResult = jmeterRunner.runTestPlan(testPlanPath, "comparison_jmeter", testProps);
-        } else {
-            LoggerUtil.warn("JMeter test plan not found, skipping JMeter comparison");
-
-            // Create mock JMeter result for demonstration
-            jmeterResult = createMockJMeterResult("comparison_jmeter", users, duration);
-        }
+        // Run JMeter test with the same workload the k6 load test generated
+        LoggerUtil.info("Running JMeter load test for comparison");
+        K6Script workload = performanceManager.loadTestScript(targetBaseUrl, users, duration);
+        PerformanceTestResult jmeterResult = jmeterRunner.runWorkload(workload, "comparison_jmeter");
 
         // Compare results
         LoggerUtil.info("=== TOOL COMPARISON RESULTS ===");
@@ -125,30 +113,6 @@ public class JMeterVsK6ComparisonTest extends PerformanceBaseTest {
         assertTrue(true, "Tool selection guidance provided");
     }
 
-    private PerformanceTestResult createMockJMeterResult(String testName, int users, int duration) {
-        // Create a realistic mock result for demonstration
-        return PerformanceTestResult.builder()
-                .testName(testName)
-                .testType("JMETER")
-                .startTime(java.time.LocalDateTime.now().minusSeconds(duration))
-                .endTime(java.time.LocalDateTime.now())
-                .durationSeconds(duration)
-                .totalRequests((long)(users * duration * 0.8)) // Slightly different from k6
-                .successfulRequests((long)(users * duration * 0.8 * 0.98))
-                .failedRequests((long)(users * duration * 0.8 * 0.02))
-                .errorRate(2.0)
-                .throughput(users * 0.8) // Slightly different throughput
-                .averageResponseTime(520L) // Slightly different timing
-                .minResponseTime(150L)
-                .maxResponseTime(1800L)
-                .p50ResponseTime(480L)
-                .p95ResponseTime(1150L)
-                .p99ResponseTime(1600L)
-                .reportPath("mock_jmeter_results.jtl")
-                .passed(true)
-                .build();
-    }
-
     private void generateComparisonReport(PerformanceTestResult k6Result, PerformanceTestResult jmeterResult) {
         try {
             // Create comparison summary